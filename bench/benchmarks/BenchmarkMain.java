@@ -0,0 +1,29 @@
+package benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * BenchmarkMain runs the benchmarks with the GC profiler attached, the same as passing
+ * -prof gc to the JMH jar, so every result comes with gc.alloc.rate.norm, the bytes
+ * allocated per operation, next to its time.
+ * Usage: BenchmarkMain [regex], where regex picks benchmarks by name, all by default.
+ */
+public final class BenchmarkMain {
+  private BenchmarkMain() {
+  }
+
+  /**
+   * Runs the benchmarks whose names match the first argument, or all of them.
+   */
+  public static void main(String[] args) throws RunnerException {
+    Options options = new OptionsBuilder()
+            .include((args.length > 0) ? args[0] : "benchmarks\\..*")
+            .addProfiler(GCProfiler.class)
+            .build();
+    new Runner(options).run();
+  }
+}
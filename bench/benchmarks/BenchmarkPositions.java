@@ -0,0 +1,60 @@
+package benchmarks;
+
+import java.util.Random;
+
+import model.MoveGenerator;
+import model.ReversiModel;
+
+/**
+ * BenchmarkPositions builds the fixed positions the benchmarks run on. A position is
+ * reached by playing random legal moves from a fixed seed, so every run and every model
+ * implementation measures exactly the same boards.
+ */
+public final class BenchmarkPositions {
+  /**
+   * The seed every benchmark position is played from.
+   */
+  public static final long SEED = 42;
+
+  private BenchmarkPositions() {
+  }
+
+  /**
+   * Starts a game on a model and plays random legal moves into the middle game, about
+   * a third of the board's width in moves per player, stopping early if the game ends.
+   *
+   * @param model the model to play on
+   * @param size  the board size
+   * @return the model, in the middle game position
+   */
+  public static ReversiModel midGame(ReversiModel model, int size) {
+    model.startGame(size);
+    return playRandom(model, size, 2 * Math.max(2, size / 3));
+  }
+
+  /**
+   * Starts a game on a model, plays random legal moves until the game is over and takes
+   * back the last plies, leaving a position a few moves from the end.
+   *
+   * @param model the model to play on
+   * @param size  the board size
+   * @param plies how many moves to take back from the end
+   * @return the model, in the end game position
+   */
+  public static ReversiModel endGame(ReversiModel model, int size, int plies) {
+    model.startGame(size);
+    playRandom(model, size, Integer.MAX_VALUE);
+    model.unmakeMove(Math.max(0, model.getHistoryMark() - plies));
+    return model;
+  }
+
+  private static ReversiModel playRandom(ReversiModel model, int size, int plies) {
+    Random random = new Random(SEED);
+    int[] moves = new int[size * size];
+    for (int ply = 0; ply < plies && !model.isGameOver(); ply++) {
+      int cell = moves[random.nextInt(model.getLegalMoves(model.currentTurn(), moves))];
+      model.makeMove(MoveGenerator.unpackX(cell, size), MoveGenerator.unpackY(cell, size));
+    }
+    return model;
+  }
+}
@@ -0,0 +1,122 @@
+package benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import discs.Disc;
+import discs.DiscColor;
+import model.BoardUtils;
+import model.MoveGenerator;
+import model.ReversiBitboardModel;
+import model.ReversiHexModel;
+import model.ReversiModel;
+import player.PlayerTurn;
+
+/**
+ * ModelBenchmarks measures the model operations every strategy and view leans on, for
+ * both model implementations and several board sizes. Everything but startGame runs on
+ * the same fixed middle game position from BenchmarkPositions, and makeAndUndoMove
+ * takes its move back so the position never drifts between invocations.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModelBenchmarks {
+  @Param({"5", "7", "11", "15"})
+  public int size;
+
+  @Param({"hex", "bitboard"})
+  public String implementation;
+
+  private ReversiModel midGame;
+  private int[] moves;
+  private int moveX;
+  private int moveY;
+
+  /**
+   * Builds the middle game position and picks the move makeAndUndoMove plays.
+   */
+  @Setup(Level.Trial)
+  public void setUp() {
+    this.midGame = BenchmarkPositions.midGame(this.newModel(), this.size);
+    this.moves = new int[this.size * this.size];
+    int count = this.midGame.getLegalMoves(this.midGame.currentTurn(), this.moves);
+    if (count == 0) {
+      throw new IllegalStateException("The benchmark position has no legal move");
+    }
+    this.moveX = MoveGenerator.unpackX(this.moves[count / 2], this.size);
+    this.moveY = MoveGenerator.unpackY(this.moves[count / 2], this.size);
+  }
+
+  private ReversiModel newModel() {
+    return this.implementation.equals("hex") ? new ReversiHexModel() : new ReversiBitboardModel();
+  }
+
+  @Benchmark
+  public ReversiModel startGame() {
+    ReversiModel model = this.newModel();
+    model.startGame(this.size);
+    return model;
+  }
+
+  @Benchmark
+  public int legalMoves() {
+    return this.midGame.getLegalMoves(this.midGame.currentTurn(), this.moves);
+  }
+
+  // every capture BoardUtils.bfs finds from every facedown cell, the walk the older
+  // strategies make once per candidate move.
+  @Benchmark
+  public int bfsFromEveryFacedownCell() {
+    int found = 0;
+    for (int y = 0; y < this.size; y++) {
+      for (int x = 0; x < this.size; x++) {
+        if (this.midGame.checkValidCoordinates(x, y)
+                && this.midGame.getDiscAt(x, y).getColor() == DiscColor.FACEDOWN) {
+          List<List<List<Integer>>> captures = BoardUtils.bfs(this.midGame, x, y);
+          found += captures.size();
+        }
+      }
+    }
+    return found;
+  }
+
+  @Benchmark
+  public int makeAndUndoMove() {
+    this.midGame.makeMove(this.moveX, this.moveY);
+    int mark = this.midGame.getHistoryMark();
+    this.midGame.undoMove();
+    return mark;
+  }
+
+  @Benchmark
+  public boolean isGameOver() {
+    return this.midGame.isGameOver();
+  }
+
+  @Benchmark
+  public int getScore() {
+    return this.midGame.getScore(PlayerTurn.PLAYER1) + this.midGame.getScore(PlayerTurn.PLAYER2);
+  }
+
+  @Benchmark
+  public Disc[][] getCurrentBoardState() {
+    return this.midGame.getCurrentBoardState();
+  }
+}
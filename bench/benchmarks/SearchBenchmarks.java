@@ -0,0 +1,97 @@
+package benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import model.ReversiBitboardModel;
+import model.ReversiModel;
+import strategy.AlphaBetaStrategy;
+import strategy.EndgameSolverStrategy;
+import strategy.IStrategy;
+import strategy.MaximizeCaptureStrategy;
+import strategy.MonteCarloStrategy;
+
+/**
+ * SearchBenchmarks measures executeStrategy of the searching strategies. They keep a
+ * transposition table or a tree between calls, which would turn every call after the
+ * first into a lookup, so each invocation gets a fresh strategy. Their calls take
+ * milliseconds, which keeps the per invocation setup out of the measurement.
+ * Alpha-beta is given a fixed time budget, so its score shows how far it overruns the
+ * budget; Monte Carlo runs a fixed number of playouts from a fixed seed, and the
+ * endgame solver solves a position a few moves before the end of a game.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SearchBenchmarks {
+  private static final long ALPHABETA_BUDGET_MILLIS = 20;
+  private static final int MCTS_PLAYOUTS = 2000;
+  private static final int ENDGAME_PLIES = 8;
+
+  @Param({"7", "11"})
+  public int size;
+
+  @Param({"alphabeta", "mcts", "endgame"})
+  public String strategy;
+
+  private ReversiModel position;
+  private IStrategy player;
+
+  /**
+   * Builds the position the strategy searches from.
+   */
+  @Setup(Level.Trial)
+  public void setUpPosition() {
+    if (this.strategy.equals("endgame")) {
+      this.position = BenchmarkPositions.endGame(new ReversiBitboardModel(), this.size,
+              ENDGAME_PLIES);
+    } else {
+      this.position = BenchmarkPositions.midGame(new ReversiBitboardModel(), this.size);
+    }
+  }
+
+  /**
+   * Builds a fresh strategy for the player to move.
+   */
+  @Setup(Level.Invocation)
+  public void setUpStrategy() {
+    switch (this.strategy) {
+      case "alphabeta":
+        this.player = new AlphaBetaStrategy(this.position, this.position.currentTurn(),
+                ALPHABETA_BUDGET_MILLIS);
+        break;
+      case "mcts":
+        this.player = new MonteCarloStrategy(this.position, this.position.currentTurn(),
+                MCTS_PLAYOUTS, false, 1, BenchmarkPositions.SEED);
+        break;
+      case "endgame":
+        this.player = new EndgameSolverStrategy(this.position, this.position.currentTurn(),
+                new MaximizeCaptureStrategy(this.position, this.position.currentTurn()),
+                Integer.MAX_VALUE);
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown strategy: " + this.strategy);
+    }
+  }
+
+  @Benchmark
+  public List<Integer> executeStrategy() {
+    return this.player.executeStrategy();
+  }
+}
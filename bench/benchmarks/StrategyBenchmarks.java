@@ -0,0 +1,72 @@
+package benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import model.ReversiHexModel;
+import model.ReversiModel;
+import strategy.CornersStrategy;
+import strategy.IStrategy;
+import strategy.MaximizeCaptureStrategy;
+
+/**
+ * StrategyBenchmarks measures executeStrategy of the greedy strategies on a fixed middle
+ * game position. These strategies keep nothing between calls, so one strategy serves
+ * every invocation. The searching strategies are in SearchBenchmarks. MiniMaxStrategy is
+ * left out, as it reads the game history that only ReversiHexModelAI keeps, and that
+ * model plays the AI's moves by itself.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StrategyBenchmarks {
+  @Param({"7", "11"})
+  public int size;
+
+  @Param({"maximize", "avoidcorner", "goforcorner"})
+  public String strategy;
+
+  private IStrategy player;
+
+  /**
+   * Builds the middle game position and the strategy of the player to move.
+   */
+  @Setup(Level.Trial)
+  public void setUp() {
+    ReversiModel model = BenchmarkPositions.midGame(new ReversiHexModel(), this.size);
+    switch (this.strategy) {
+      case "maximize":
+        this.player = new MaximizeCaptureStrategy(model, model.currentTurn());
+        break;
+      case "avoidcorner":
+        this.player = new CornersStrategy(model, model.currentTurn(), true);
+        break;
+      case "goforcorner":
+        this.player = new CornersStrategy(model, model.currentTurn(), false);
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown strategy: " + this.strategy);
+    }
+  }
+
+  @Benchmark
+  public List<Integer> executeStrategy() {
+    return this.player.executeStrategy();
+  }
+}
@@ -5,6 +5,8 @@ import model.ReversiModel;
 import player.Player;
 import player.PlayerTurn;
 import strategy.StrategyType;
+import view.InteractiveReversiView;
+import view.ReversiCanvasGUI;
 import view.ReversiGUI;
 
 import javax.swing.JOptionPane;
@@ -13,6 +15,9 @@ import javax.swing.JOptionPane;
  * The `Main` class represents a driver for our Interactive Reversi Game.
  */
 public class Main {
+  // the largest board the button grid of a ReversiGUI is used for.
+  private static final int MAX_BUTTON_GRID_SIZE = 15;
+
   /**
    * Main Method that drives the program.
    */
@@ -38,13 +43,19 @@ public class Main {
     if (param1.equalsIgnoreCase("human") && (param2.equalsIgnoreCase("strategy1") ||
             param2.equalsIgnoreCase("strategy2")
             || param2.equalsIgnoreCase("strategy3")
-            || param2.equalsIgnoreCase("strategy4"))) {
+            || param2.equalsIgnoreCase("strategy4")
+            || param2.equalsIgnoreCase("strategy5")
+            || param2.equalsIgnoreCase("strategy6")
+            || param2.equalsIgnoreCase("strategy7"))) {
       StrategyType st = getStrategyType(param2);
       makeGame(boardsize, true, st);
     } else if (param2.equalsIgnoreCase("human") && (param1.equalsIgnoreCase("strategy1")
             || param1.equalsIgnoreCase("strategy2")
             || param1.equalsIgnoreCase("strategy3")
-            || param1.equalsIgnoreCase("strategy4"))) {
+            || param1.equalsIgnoreCase("strategy4")
+            || param1.equalsIgnoreCase("strategy5")
+            || param1.equalsIgnoreCase("strategy6")
+            || param1.equalsIgnoreCase("strategy7"))) {
       StrategyType st = getStrategyType(param1);
       makeGame(boardsize, true, st);
     } else {
@@ -67,6 +78,15 @@ public class Main {
       case "strategy4":
         st = StrategyType.MINIMAX;
         break;
+      case "strategy5":
+        st = StrategyType.ALPHABETA;
+        break;
+      case "strategy6":
+        st = StrategyType.MCTS;
+        break;
+      case "strategy7":
+        st = StrategyType.ENDGAME;
+        break;
       default:
         st = StrategyType.MAXIMIZE;
         break;
@@ -82,8 +102,8 @@ public class Main {
       model = new ReversiHexModel();
     }
     model.startGame(boardsize);
-    ReversiGUI viewPlayer1 = new ReversiGUI(model);
-    ReversiGUI viewPlayer2 = new ReversiGUI(model);
+    InteractiveReversiView viewPlayer1 = makeView(model);
+    InteractiveReversiView viewPlayer2 = makeView(model);
     Player player1 = new Player(PlayerTurn.PLAYER1);
     Player player2 = new Player(PlayerTurn.PLAYER2);
     ReversiController controller1 = new ReversiController(model, viewPlayer1, player1);
@@ -104,8 +124,16 @@ public class Main {
     }
   }
 
-  private static void endScreen(ReversiModel model, ReversiGUI viewPlayer1,
-                                ReversiGUI viewPlayer2) {
+  // bigger boards are drawn on a single canvas, which stays quick at any size.
+  private static InteractiveReversiView makeView(ReversiModel model) {
+    if (model.getDimensions() > MAX_BUTTON_GRID_SIZE) {
+      return new ReversiCanvasGUI(model);
+    }
+    return new ReversiGUI(model);
+  }
+
+  private static void endScreen(ReversiModel model, InteractiveReversiView viewPlayer1,
+                                InteractiveReversiView viewPlayer2) {
     switch (model.getCurrentGameState()) {
       case PLAYER2WIN:
         viewPlayer1.showPopup("You Lost: Try Using A Strategy" +
@@ -0,0 +1,215 @@
+package controller;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * An EventChannel is a bounded, thread-safe queue of events between the thread that
+ * publishes them, like the Swing thread of a view or a model applying a move, and the
+ * threads that wait for them. A reader can block in take, wait a bounded time in poll,
+ * or ask for a CompletableFuture of the next event, and none of them spends any CPU
+ * while nothing is published.
+ * Publishing never blocks: once the channel holds its capacity of events the oldest one
+ * is dropped, so a listener nobody reads from keeps a fixed amount of memory however long
+ * the session runs. Events handed to a waiting future skip the queue.
+ *
+ * @param <E> the type of event carried
+ */
+public final class EventChannel<E> {
+  private final int capacity;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition notEmpty = this.lock.newCondition();
+  private final Deque<E> events = new ArrayDeque<>();
+  private final Deque<CompletableFuture<E>> subscribers = new ArrayDeque<>();
+  private E latest;
+  private long dropped;
+
+  /**
+   * Constructor for an empty channel.
+   *
+   * @param capacity how many unread events the channel keeps
+   * @throws IllegalArgumentException if the capacity isn't positive
+   */
+  public EventChannel(int capacity) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Capacity must be positive");
+    }
+    this.capacity = capacity;
+  }
+
+  /**
+   * Publishes an event: completes the oldest waiting future with it, or else queues it,
+   * dropping the oldest unread event if the channel is full.
+   *
+   * @param event the event, which can't be null
+   * @throws IllegalArgumentException if the event is null
+   */
+  public void publish(E event) {
+    if (event == null) {
+      throw new IllegalArgumentException("Event can't be null");
+    }
+    CompletableFuture<E> subscriber;
+    this.lock.lock();
+    try {
+      this.latest = event;
+      subscriber = this.subscribers.pollFirst();
+      if (subscriber == null) {
+        if (this.events.size() == this.capacity) {
+          this.events.pollFirst();
+          this.dropped++;
+        }
+        this.events.addLast(event);
+        this.notEmpty.signal();
+      }
+    } finally {
+      this.lock.unlock();
+    }
+    // futures complete outside the lock, so their callbacks can't stall publishers;
+    // a subscriber cancelled in the meantime leaves the event for the next reader.
+    if (subscriber != null && !subscriber.complete(event)) {
+      this.publish(event);
+    }
+  }
+
+  /**
+   * Removes the oldest unread event, waiting for one to be published if there is none.
+   *
+   * @return the event
+   * @throws InterruptedException if the thread is interrupted while waiting
+   */
+  public E take() throws InterruptedException {
+    this.lock.lockInterruptibly();
+    try {
+      while (this.events.isEmpty()) {
+        this.notEmpty.await();
+      }
+      return this.events.pollFirst();
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Removes the oldest unread event, waiting up to a timeout for one to be published.
+   *
+   * @param timeout how long to wait
+   * @param unit    the unit of the timeout
+   * @return the event, or null if none was published in time
+   * @throws InterruptedException if the thread is interrupted while waiting
+   */
+  public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+    long nanos = unit.toNanos(timeout);
+    this.lock.lockInterruptibly();
+    try {
+      while (this.events.isEmpty()) {
+        if (nanos <= 0) {
+          return null;
+        }
+        nanos = this.notEmpty.awaitNanos(nanos);
+      }
+      return this.events.pollFirst();
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Waits for at least one unread event, then returns the newest one and discards the
+   * rest, for readers that only care about the last thing that happened.
+   *
+   * @return the newest event
+   * @throws InterruptedException if the thread is interrupted while waiting
+   */
+  public E takeLatest() throws InterruptedException {
+    this.lock.lockInterruptibly();
+    try {
+      while (this.events.isEmpty()) {
+        this.notEmpty.await();
+      }
+      E newest = this.events.peekLast();
+      this.events.clear();
+      this.latest = null;
+      return newest;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Subscribes to the next event. If an unread event is waiting the future completes
+   * with it at once, and otherwise with the next event published; either way the event
+   * is consumed, as if by take. Cancelling the future gives up the subscription.
+   *
+   * @return a future of the next event
+   */
+  public CompletableFuture<E> next() {
+    this.lock.lock();
+    try {
+      E event = this.events.pollFirst();
+      if (event != null) {
+        return CompletableFuture.completedFuture(event);
+      }
+      this.subscribers.removeIf(CompletableFuture::isDone);
+      CompletableFuture<E> subscriber = new CompletableFuture<>();
+      this.subscribers.addLast(subscriber);
+      return subscriber;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Gets the most recently published event without consuming anything.
+   *
+   * @return the newest event published since the channel was last cleared, or null
+   */
+  public E getLatest() {
+    this.lock.lock();
+    try {
+      return this.latest;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Discards every unread event.
+   */
+  public void clear() {
+    this.lock.lock();
+    try {
+      this.events.clear();
+      this.latest = null;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Gets how many unread events the channel holds.
+   */
+  public int size() {
+    this.lock.lock();
+    try {
+      return this.events.size();
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Gets how many unread events have been dropped to stay within the capacity.
+   */
+  public long getDropped() {
+    this.lock.lock();
+    try {
+      return this.dropped;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+}
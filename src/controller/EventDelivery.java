@@ -0,0 +1,22 @@
+package controller;
+
+/**
+ * An enum representing how a ModelEventBus hands batches of events to a subscriber.
+ */
+public enum EventDelivery {
+  /**
+   * Every batch is delivered on the thread that changed the model, before the change
+   * returns.
+   */
+  SYNCHRONOUS,
+  /**
+   * Every batch is delivered in order on an executor, so the model never waits for the
+   * subscriber.
+   */
+  ASYNCHRONOUS,
+  /**
+   * Only the newest batch is delivered on an executor; batches a busy subscriber hasn't
+   * got to yet are replaced, for subscribers like views that only need the latest state.
+   */
+  COALESCING
+}
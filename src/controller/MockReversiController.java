@@ -50,6 +50,9 @@ public class MockReversiController implements ControllerListener {
       if (modelsPlayerTurn == PlayerTurn.PLAYER1 && controllersPlayerTurn == PlayerTurn.PLAYER1) {
         // listen for a PlayerListener move
         PlayerEvent playerEvent = getNextPlayerAction();
+        if (playerEvent == null) {
+          return;
+        }
         if (playerEvent.getExecutingPlayer() == PlayerTurn.PLAYER1) {
           handlePlayerEvent(playerEvent);
           this.reversiView.render();
@@ -69,6 +72,9 @@ public class MockReversiController implements ControllerListener {
       if (modelsPlayerTurn == PlayerTurn.PLAYER2 && controllersPlayerTurn == PlayerTurn.PLAYER2) {
         // listen for a PlayerListener move
         PlayerEvent playerEvent = getNextPlayerAction();
+        if (playerEvent == null) {
+          return;
+        }
         System.out.println(playerEvent.getPlayerEventType());
         if (playerEvent.getExecutingPlayer() == PlayerTurn.PLAYER2) {
           handlePlayerEvent(playerEvent);
@@ -84,13 +90,14 @@ public class MockReversiController implements ControllerListener {
     }
   }
 
+  // blocks until the player acts, or returns null if the thread is interrupted first.
   private PlayerEvent getNextPlayerAction() {
-    PlayerEvent nextPlayerAction = null;
-    while (nextPlayerAction == null) {
-      nextPlayerAction = this.playerListener.getMostRecentEvent();
+    try {
+      return this.playerListener.takeMostRecentEvent();
+    } catch (InterruptedException ie) {
+      Thread.currentThread().interrupt();
+      return null;
     }
-    this.playerListener.resetPlayerActions();
-    return nextPlayerAction;
   }
 
   private void handlePlayerEvent(PlayerEvent playerEvent) {
@@ -2,10 +2,16 @@ package controller;
 
 /**
  * A Class that represents a singular ModelEvent.
+ * An event for a change to the board also carries the packed
+ * cells, y * size + x, whose discs changed, so a view can
+ * repaint just those.
  */
 public class ModelEvent {
+  private static final int[] NO_CELLS = new int[0];
+
   private final ModelEventType modelEventType;
   private final String message;
+  private final int[] changedCells;
 
   /**
    * A constructor for a ModelEvent.
@@ -13,8 +19,19 @@ public class ModelEvent {
    * @param message a Message
    */
   public ModelEvent(ModelEventType modelEventType, String message) {
+    this(modelEventType, message, NO_CELLS);
+  }
+
+  /**
+   * A constructor for a ModelEvent that changed some cells.
+   * @param modelEventType a ModelEventType
+   * @param message a Message
+   * @param changedCells the packed cells whose discs changed, copied
+   */
+  public ModelEvent(ModelEventType modelEventType, String message, int[] changedCells) {
     this.modelEventType = modelEventType;
     this.message = message;
+    this.changedCells = (changedCells.length == 0) ? NO_CELLS : changedCells.clone();
   }
 
   /**
@@ -30,4 +47,19 @@ public class ModelEvent {
   public ModelEventType getModelEventType() {
     return this.modelEventType;
   }
+
+  /**
+   * A getter that gets how many cells the event changed.
+   */
+  public int getChangedCellCount() {
+    return this.changedCells.length;
+  }
+
+  /**
+   * A getter that gets one of the packed cells the event changed.
+   * @param index which changed cell, from 0 to getChangedCellCount() - 1
+   */
+  public int getChangedCell(int index) {
+    return this.changedCells[index];
+  }
 }
@@ -0,0 +1,183 @@
+package controller;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A ModelEventBus carries the events of one model to its subscribers. A model opens a
+ * batch around each operation, so everything one move or pass produces, like an illegal
+ * move followed by whose turn it still is, reaches each subscriber as one dispatch once
+ * the operation is done.
+ * Each subscriber picks its EventDelivery. Synchronous subscribers run on the model's
+ * thread, the way ModelListeners always have; asynchronous and coalescing ones only cost
+ * the model's thread a queue operation, so a slow view or hundreds of spectators can't
+ * hold up the next move. Deliveries to one subscriber never overlap and keep their order.
+ * Batching belongs to the thread that changes the model; subscribing and unsubscribing
+ * can happen from any thread.
+ */
+public final class ModelEventBus {
+  private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+  private final List<ModelEvent> pending = new ArrayList<>();
+  private int batchDepth;
+
+  /**
+   * Subscribes to every batch, delivered synchronously.
+   * @param subscriber the subscriber
+   * @throws IllegalArgumentException if the subscriber is null
+   */
+  public void subscribe(ModelEventSubscriber subscriber) {
+    this.subscribe(subscriber, EventDelivery.SYNCHRONOUS, null);
+  }
+
+  /**
+   * Subscribes to every batch with the given delivery.
+   * @param subscriber the subscriber
+   * @param delivery how batches reach the subscriber
+   * @param executor where asynchronous and coalescing deliveries run, ignored for
+   *                 synchronous ones
+   * @throws IllegalArgumentException if the subscriber or delivery is null, or the
+   *                                  delivery needs an executor and none is given
+   */
+  public void subscribe(ModelEventSubscriber subscriber, EventDelivery delivery,
+                        Executor executor) {
+    if (subscriber == null || delivery == null) {
+      throw new IllegalArgumentException("Subscriber and delivery can't be null");
+    }
+    if (delivery != EventDelivery.SYNCHRONOUS && executor == null) {
+      throw new IllegalArgumentException(delivery + " delivery needs an executor");
+    }
+    this.subscriptions.add(new Subscription(subscriber, delivery, executor));
+  }
+
+  /**
+   * Stops delivering to a subscriber. Deliveries already handed to an executor may
+   * still arrive.
+   * @param subscriber the subscriber
+   * @return whether the subscriber was subscribed
+   */
+  public boolean unsubscribe(ModelEventSubscriber subscriber) {
+    return this.subscriptions.removeIf(subscription -> subscription.subscriber == subscriber);
+  }
+
+  /**
+   * Gets whether anyone is subscribed.
+   */
+  public boolean hasSubscribers() {
+    return !this.subscriptions.isEmpty();
+  }
+
+  /**
+   * Opens a batch: events published until the matching endBatch are dispatched together
+   * when it closes. Batches nest, and only the outermost one dispatches.
+   */
+  public void beginBatch() {
+    this.batchDepth++;
+  }
+
+  /**
+   * Closes the batch opened by the matching beginBatch, dispatching its events if it is
+   * the outermost one.
+   * @throws IllegalStateException if no batch is open
+   */
+  public void endBatch() {
+    if (this.batchDepth == 0) {
+      throw new IllegalStateException("No batch is open");
+    }
+    this.batchDepth--;
+    if (this.batchDepth == 0 && !this.pending.isEmpty()) {
+      List<ModelEvent> batch = Collections.unmodifiableList(new ArrayList<>(this.pending));
+      this.pending.clear();
+      this.dispatch(batch);
+    }
+  }
+
+  /**
+   * Publishes an event, as part of the open batch or on its own if there is none.
+   * @param modelEvent the event
+   */
+  public void publish(ModelEvent modelEvent) {
+    // searches make and unmake moves on models nobody listens to.
+    if (this.subscriptions.isEmpty()) {
+      return;
+    }
+    if (this.batchDepth > 0) {
+      this.pending.add(modelEvent);
+    } else {
+      this.dispatch(Collections.singletonList(modelEvent));
+    }
+  }
+
+  private void dispatch(List<ModelEvent> batch) {
+    for (Subscription subscription : this.subscriptions) {
+      subscription.deliver(batch);
+    }
+  }
+
+  // one subscriber, and for executor deliveries, the batches it hasn't been handed yet.
+  private static final class Subscription {
+    private final ModelEventSubscriber subscriber;
+    private final EventDelivery delivery;
+    private final Executor executor;
+    private final Queue<List<ModelEvent>> queued = new ConcurrentLinkedQueue<>();
+    private final AtomicReference<List<ModelEvent>> newest = new AtomicReference<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    private Subscription(ModelEventSubscriber subscriber, EventDelivery delivery,
+                         Executor executor) {
+      this.subscriber = subscriber;
+      this.delivery = delivery;
+      this.executor = executor;
+    }
+
+    private void deliver(List<ModelEvent> batch) {
+      switch (this.delivery) {
+        case SYNCHRONOUS:
+          this.subscriber.onEvents(batch);
+          return;
+        case ASYNCHRONOUS:
+          this.queued.add(batch);
+          break;
+        default:
+          this.newest.set(batch);
+          break;
+      }
+      if (this.scheduled.compareAndSet(false, true)) {
+        this.executor.execute(this::drain);
+      }
+    }
+
+    // runs on the executor, one drain per subscription at a time.
+    private void drain() {
+      try {
+        List<ModelEvent> batch;
+        while ((batch = this.next()) != null) {
+          this.subscriber.onEvents(batch);
+        }
+      } finally {
+        this.scheduled.set(false);
+        // a batch that arrived after the last next() but before the flag was cleared
+        // found the drain still scheduled, so it is picked up here.
+        if (this.hasNext() && this.scheduled.compareAndSet(false, true)) {
+          this.executor.execute(this::drain);
+        }
+      }
+    }
+
+    private List<ModelEvent> next() {
+      return (this.delivery == EventDelivery.ASYNCHRONOUS)
+              ? this.queued.poll() : this.newest.getAndSet(null);
+    }
+
+    private boolean hasNext() {
+      return (this.delivery == EventDelivery.ASYNCHRONOUS)
+              ? !this.queued.isEmpty() : this.newest.get() != null;
+    }
+  }
+}
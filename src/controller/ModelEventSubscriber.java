@@ -0,0 +1,15 @@
+package controller;
+
+import java.util.List;
+
+/**
+ * A ModelEventSubscriber receives the events of a model from a ModelEventBus,
+ * a whole batch at a time.
+ */
+public interface ModelEventSubscriber {
+  /**
+   * Handles the events one model operation produced, in the order they happened.
+   * @param modelEvents the events, which can't be modified
+   */
+  void onEvents(List<ModelEvent> modelEvents);
+}
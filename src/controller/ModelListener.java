@@ -1,31 +1,88 @@
 package controller;
 
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
- * A class that listens for incoming events and stores
- * all events in a model.
+ * A class that listens for incoming events of a model
+ * and keeps the most recent ones in a bounded event channel.
+ * The newest event is always available, and older unread
+ * ones are dropped once the channel is full.
  */
-public class ModelListener {
-  private List<ModelEvent> modeleventlog =
-          new ArrayList(Arrays.asList(new ModelEvent(ModelEventType.PLAYER1TURN,
-                  "It's Your Turn Player 1")));
+public class ModelListener implements ModelEventSubscriber {
+  /**
+   * How many unread model events a listener keeps by default.
+   */
+  public static final int DEFAULT_CAPACITY = 64;
+
+  private final EventChannel<ModelEvent> modelEvents;
+
+  /**
+   * A constructor for a ModelListener that keeps the default number of events.
+   */
+  public ModelListener() {
+    this(DEFAULT_CAPACITY);
+  }
 
   /**
-   * A method that updates the model event log.
+   * A constructor for a ModelListener. Like a new game, it starts
+   * with an event saying it is player 1's turn.
+   * @param capacity how many unread events to keep
+   * @throws IllegalArgumentException if the capacity isn't positive
+   */
+  public ModelListener(int capacity) {
+    this.modelEvents = new EventChannel<>(capacity);
+    this.modelEvents.publish(new ModelEvent(ModelEventType.PLAYER1TURN,
+            "It's Your Turn Player 1"));
+  }
+
+  /**
+   * A method that publishes a model event to the listener.
    * @param modelEvent a modelEvent
    */
   public void update(ModelEvent modelEvent) {
-    this.modeleventlog.add(modelEvent);
+    this.modelEvents.publish(modelEvent);
+  }
+
+  @Override
+  public void onEvents(List<ModelEvent> modelEvents) {
+    for (ModelEvent modelEvent : modelEvents) {
+      this.update(modelEvent);
+    }
   }
 
   /**
-   * A method that gets the most recent model event from the model event log.
+   * A method that gets the most recent model event.
    */
   public ModelEvent getMostRecentEvent() {
-    ModelEvent mostRecentEvent = modeleventlog.get(modeleventlog.size() - 1);
-    return mostRecentEvent;
+    return this.modelEvents.getLatest();
+  }
+
+  /**
+   * A method that removes the oldest unread model event, blocking until there is one.
+   * @throws InterruptedException if the thread is interrupted while waiting
+   */
+  public ModelEvent take() throws InterruptedException {
+    return this.modelEvents.take();
+  }
+
+  /**
+   * A method that removes the oldest unread model event, waiting up to a timeout.
+   * @param timeout how long to wait
+   * @param unit the unit of the timeout
+   * @return the event, or null if the model didn't change in time
+   * @throws InterruptedException if the thread is interrupted while waiting
+   */
+  public ModelEvent poll(long timeout, TimeUnit unit) throws InterruptedException {
+    return this.modelEvents.poll(timeout, unit);
+  }
+
+  /**
+   * A method that subscribes to the model's next event.
+   * @return a future that completes with the next model event
+   */
+  public CompletableFuture<ModelEvent> nextEvent() {
+    return this.modelEvents.next();
   }
 }
@@ -1,36 +1,90 @@
 package controller;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * A class that listens for incoming events of a player
- * and stores all player events in a log.
+ * and keeps the most recent ones in a bounded event channel,
+ * so a controller can wait for the player's next action
+ * without polling.
  */
 public class PlayerListener {
-  private List<PlayerEvent> playereventlog = new ArrayList();
+  /**
+   * How many unread player events a listener keeps by default.
+   */
+  public static final int DEFAULT_CAPACITY = 16;
+
+  private final EventChannel<PlayerEvent> playerEvents;
+
+  /**
+   * A constructor for a PlayerListener that keeps the default number of events.
+   */
+  public PlayerListener() {
+    this(DEFAULT_CAPACITY);
+  }
 
   /**
-   * A method that updates the model event log.
+   * A constructor for a PlayerListener.
+   * @param capacity how many unread events to keep
+   * @throws IllegalArgumentException if the capacity isn't positive
+   */
+  public PlayerListener(int capacity) {
+    this.playerEvents = new EventChannel<>(capacity);
+  }
+
+  /**
+   * A method that publishes a player event to the listener.
    * @param playerEvent a playerEvent
    */
   public void update(PlayerEvent playerEvent) {
-    this.playereventlog.add(playerEvent);
+    this.playerEvents.publish(playerEvent);
   }
 
   /**
-   * A method that gets the most recent model event from the player event log.
+   * A method that gets the most recent player event since the actions were last reset.
    */
   public PlayerEvent getMostRecentEvent() {
-    try {
-      PlayerEvent mostRecentEvent = playereventlog.get(playereventlog.size() - 1);
-      return mostRecentEvent;
-    } catch (Exception e) {
-      return null;
-    }
+    return this.playerEvents.getLatest();
+  }
+
+  /**
+   * A method that blocks until the player acts, then returns the player's most recent
+   * action and resets the rest.
+   * @throws InterruptedException if the thread is interrupted while waiting
+   */
+  public PlayerEvent takeMostRecentEvent() throws InterruptedException {
+    return this.playerEvents.takeLatest();
+  }
+
+  /**
+   * A method that removes the oldest unread player event, blocking until there is one.
+   * @throws InterruptedException if the thread is interrupted while waiting
+   */
+  public PlayerEvent take() throws InterruptedException {
+    return this.playerEvents.take();
+  }
+
+  /**
+   * A method that removes the oldest unread player event, waiting up to a timeout.
+   * @param timeout how long to wait
+   * @param unit the unit of the timeout
+   * @return the event, or null if the player didn't act in time
+   * @throws InterruptedException if the thread is interrupted while waiting
+   */
+  public PlayerEvent poll(long timeout, TimeUnit unit) throws InterruptedException {
+    return this.playerEvents.poll(timeout, unit);
+  }
+
+  /**
+   * A method that subscribes to the player's next event.
+   * @return a future that completes with the next player event
+   */
+  public CompletableFuture<PlayerEvent> nextEvent() {
+    return this.playerEvents.next();
   }
 
   public void resetPlayerActions() {
-    this.playereventlog.clear();
+    this.playerEvents.clear();
   }
 }
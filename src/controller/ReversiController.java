@@ -3,7 +3,7 @@ package controller;
 import model.ReversiModel;
 import player.Player;
 import player.PlayerTurn;
-import view.ReversiGUI;
+import view.InteractiveReversiView;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -15,7 +15,7 @@ import java.util.List;
 public class ReversiController implements ControllerListener {
 
   private final ReversiModel reversiModel;
-  private final ReversiGUI reversiView;
+  private final InteractiveReversiView reversiView;
 
   private final Player player;
 
@@ -29,12 +29,15 @@ public class ReversiController implements ControllerListener {
    * @param reversiView a reversiView
    * @param player a player
    */
-  public ReversiController(ReversiModel reversiModel, ReversiGUI reversiView, Player player) {
+  public ReversiController(ReversiModel reversiModel, InteractiveReversiView reversiView,
+                           Player player) {
     this.reversiModel = reversiModel;
     this.reversiView = reversiView;
     this.player = player;
     this.modelListener = new ModelListener();
     this.reversiModel.addListener(modelListener);
+    // the view repaints the cells each move changes as the model reports them.
+    this.reversiModel.getEventBus().subscribe(this.reversiView);
     this.playerListener = new PlayerListener();
     this.reversiView.addListener(this.playerListener);
   }
@@ -51,9 +54,11 @@ public class ReversiController implements ControllerListener {
       if (modelsPlayerTurn == PlayerTurn.PLAYER1 && controllersPlayerTurn == PlayerTurn.PLAYER1) {
         // listen for a PlayerListener move
         PlayerEvent playerEvent = getNextPlayerAction();
+        if (playerEvent == null) {
+          return;
+        }
         if (playerEvent.getExecutingPlayer() == PlayerTurn.PLAYER1) {
           handlePlayerEvent(playerEvent);
-          this.reversiView.render();
           this.notifyListeners();
         } else {
           // display pane illegal move not your turn
@@ -68,10 +73,12 @@ public class ReversiController implements ControllerListener {
       if (modelsPlayerTurn == PlayerTurn.PLAYER2 && controllersPlayerTurn == PlayerTurn.PLAYER2) {
         // listen for a PlayerListener move
         PlayerEvent playerEvent = getNextPlayerAction();
+        if (playerEvent == null) {
+          return;
+        }
         System.out.println(playerEvent.getPlayerEventType());
         if (playerEvent.getExecutingPlayer() == PlayerTurn.PLAYER2) {
           handlePlayerEvent(playerEvent);
-          this.reversiView.render();
           this.notifyListeners();
         } else {
           this.reversiView.showPopup(modelEvent.getMessage());
@@ -82,13 +89,14 @@ public class ReversiController implements ControllerListener {
     }
   }
 
+  // blocks until the player acts, or returns null if the thread is interrupted first.
   private PlayerEvent getNextPlayerAction() {
-    PlayerEvent nextPlayerAction = null;
-    while (nextPlayerAction == null) {
-      nextPlayerAction = this.playerListener.getMostRecentEvent();
+    try {
+      return this.playerListener.takeMostRecentEvent();
+    } catch (InterruptedException ie) {
+      Thread.currentThread().interrupt();
+      return null;
     }
-    this.playerListener.resetPlayerActions();
-    return nextPlayerAction;
   }
 
   private void handlePlayerEvent(PlayerEvent playerEvent) {
@@ -122,6 +130,6 @@ public class ReversiController implements ControllerListener {
 
   @Override
   public void handleEvent() {
-    this.reversiView.render();
+    // every view follows the model's events, so a peer's move is already on screen.
   }
 }
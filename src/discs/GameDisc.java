@@ -1,5 +1,7 @@
 package discs;
 
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -7,14 +9,42 @@ import java.util.Objects;
  * When Implemented it has a color and a type
  */
 public class GameDisc implements Disc {
+  private static final Map<DiscType, Map<DiscColor, GameDisc>> FLYWEIGHTS = createFlyweights();
+
   private final DiscType type;
-  private DiscColor color;
+  private final DiscColor color;
 
   public GameDisc(DiscType type, DiscColor tileColor) {
     this.type = type;
     this.color = tileColor;
   }
 
+  /**
+   * Returns the shared GameDisc for a type and color. GameDiscs are immutable, so
+   * a board can hold the same instance in every cell of that color instead of
+   * allocating a new disc on every flip.
+   *
+   * @param type  the type of the disc
+   * @param color the color of the disc
+   * @return the shared GameDisc with the given type and color
+   */
+  public static GameDisc of(DiscType type, DiscColor color) {
+    return FLYWEIGHTS.get(type).get(color);
+  }
+
+  // builds one disc for every (type, color) pair.
+  private static Map<DiscType, Map<DiscColor, GameDisc>> createFlyweights() {
+    Map<DiscType, Map<DiscColor, GameDisc>> res = new EnumMap<>(DiscType.class);
+    for (DiscType type : DiscType.values()) {
+      Map<DiscColor, GameDisc> byColor = new EnumMap<>(DiscColor.class);
+      for (DiscColor color : DiscColor.values()) {
+        byColor.put(color, new GameDisc(type, color));
+      }
+      res.put(type, byColor);
+    }
+    return res;
+  }
+
   @Override
   public DiscColor getColor() {
     return this.color;
@@ -37,4 +67,4 @@ public class GameDisc implements Disc {
   public int hashCode() {
     return Objects.hash(this.color, this.type);
   }
-}
\ No newline at end of file
+}
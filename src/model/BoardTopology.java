@@ -0,0 +1,189 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A BoardTopology holds the geometry of a hexagonal board of one size as flat index
+ * arrays: which cells of the size x size grid are playable, each cell's neighbour in
+ * every MoveDirection, and the full ray from each cell to the edge of the board in
+ * every MoveDirection. Cells are packed as in MoveGenerator.pack, and cells outside
+ * the hexagon never appear as a neighbour or inside a ray.
+ * Topologies are immutable and cached, so the geometry of each size is computed once
+ * and shared by the model, the strategies and the views.
+ */
+public final class BoardTopology {
+  private static final Map<Integer, BoardTopology> TOPOLOGIES = new ConcurrentHashMap<>();
+
+  private final int size;
+  private final boolean[] playable;
+  private final int[] playableCells;
+  private final int[][] neighbours;
+  private final int[] rayStart;
+  private final int[] rayLength;
+  private final int[] rayCells;
+  private final int[] corners;
+
+  private BoardTopology(int size) {
+    this.size = size;
+    int cells = size * size;
+    this.playable = new boolean[cells];
+    int middle = size / 2;
+    int centerQ = middle - (middle - (middle & 1)) / 2;
+    int count = 0;
+    for (int y = 0; y < size; y++) {
+      for (int x = 0; x < size; x++) {
+        // convert odd-r offset coordinates to axial ones and keep every cell
+        // within middle steps of the center, which is the board's hexagon.
+        int dq = x - (y - (y & 1)) / 2 - centerQ;
+        int dr = y - middle;
+        if ((Math.abs(dq) + Math.abs(dr) + Math.abs(dq + dr)) / 2 <= middle) {
+          this.playable[MoveGenerator.pack(x, y, size)] = true;
+          count++;
+        }
+      }
+    }
+    this.playableCells = new int[count];
+    count = 0;
+    for (int cell = 0; cell < cells; cell++) {
+      if (this.playable[cell]) {
+        this.playableCells[count] = cell;
+        count++;
+      }
+    }
+
+    MoveDirection[] directions = MoveDirection.values();
+    this.neighbours = new int[directions.length][cells];
+    for (MoveDirection md : directions) {
+      for (int cell = 0; cell < cells; cell++) {
+        List<Integer> next = MoveRules.applyShiftBasedOnDirection(
+                MoveGenerator.unpackX(cell, size), MoveGenerator.unpackY(cell, size), md);
+        this.neighbours[md.ordinal()][cell] = this.isPlayable(next.get(0), next.get(1))
+                ? MoveGenerator.pack(next.get(0), next.get(1), size) : -1;
+      }
+    }
+
+    this.rayStart = new int[directions.length * cells];
+    this.rayLength = new int[directions.length * cells];
+    List<Integer> rays = new ArrayList<>();
+    for (MoveDirection md : directions) {
+      for (int cell = 0; cell < cells; cell++) {
+        int slot = md.ordinal() * cells + cell;
+        this.rayStart[slot] = rays.size();
+        for (int next = this.neighbours[md.ordinal()][cell]; next != -1;
+             next = this.neighbours[md.ordinal()][next]) {
+          rays.add(next);
+        }
+        this.rayLength[slot] = rays.size() - this.rayStart[slot];
+      }
+    }
+    this.rayCells = rays.stream().mapToInt(Integer::intValue).toArray();
+    this.corners = this.findCorners();
+  }
+
+  /**
+   * Returns the topology of a board size, computing it on first use.
+   *
+   * @param size the dimensions of the board
+   * @return the shared topology for that size
+   */
+  public static BoardTopology forSize(int size) {
+    return TOPOLOGIES.computeIfAbsent(size, BoardTopology::new);
+  }
+
+  // the first and last cell of the top, middle and bottom rows.
+  private int[] findCorners() {
+    int middle = this.size / 2;
+    int[] rows = {0, middle, this.size - 1};
+    int[] res = new int[2 * rows.length];
+    int count = 0;
+    for (int row : rows) {
+      for (int x = 0; x < this.size; x++) {
+        if (this.isPlayable(x, row)
+                && (!this.isPlayable(x - 1, row) || !this.isPlayable(x + 1, row))) {
+          res[count] = MoveGenerator.pack(x, row, this.size);
+          count++;
+        }
+      }
+    }
+    return res;
+  }
+
+  /**
+   * Gets the dimensions of the board this topology describes.
+   */
+  public int getSize() {
+    return this.size;
+  }
+
+  /**
+   * Determines if a coordinate lies on the hexagonal board.
+   */
+  public boolean isPlayable(int x, int y) {
+    if (x < 0 || y < 0 || x >= this.size || y >= this.size) {
+      return false;
+    }
+    return this.playable[MoveGenerator.pack(x, y, this.size)];
+  }
+
+  /**
+   * Determines if a packed cell lies on the hexagonal board.
+   */
+  public boolean isPlayable(int cell) {
+    return cell >= 0 && cell < this.playable.length && this.playable[cell];
+  }
+
+  /**
+   * Gets every playable cell in increasing cell order. The array is shared and must
+   * not be modified.
+   */
+  public int[] getPlayableCells() {
+    return this.playableCells;
+  }
+
+  /**
+   * Gets the neighbour of a cell in a direction, or -1 if it is off the board.
+   */
+  public int getNeighbour(MoveDirection md, int cell) {
+    return this.neighbours[md.ordinal()][cell];
+  }
+
+  /**
+   * Gets the neighbour table of a direction, indexed by cell with -1 for neighbours
+   * that are off the board. The array is shared and must not be modified.
+   */
+  public int[] getNeighbours(MoveDirection md) {
+    return this.neighbours[md.ordinal()];
+  }
+
+  /**
+   * Gets where the ray from a cell in a direction starts in {@link #getRayCells()}.
+   */
+  public int getRayStart(MoveDirection md, int cell) {
+    return this.rayStart[md.ordinal() * this.playable.length + cell];
+  }
+
+  /**
+   * Gets how many cells lie between a cell and the edge of the board in a direction.
+   */
+  public int getRayLength(MoveDirection md, int cell) {
+    return this.rayLength[md.ordinal() * this.playable.length + cell];
+  }
+
+  /**
+   * Gets the cells of every ray laid end to end, nearest cell first. The array is
+   * shared and must not be modified.
+   */
+  public int[] getRayCells() {
+    return this.rayCells;
+  }
+
+  /**
+   * Gets the six corner cells of the board. The array is shared and must not be modified.
+   */
+  public int[] getCorners() {
+    return this.corners;
+  }
+}
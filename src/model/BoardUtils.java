@@ -10,7 +10,8 @@ import discs.DiscColor;
 /**
  * BoardUtils is a class consisting of a series of static
  * helper methods responsible for running a bfs at a specified
- * coordinate.
+ * coordinate. MoveGenerator finds the same captures without
+ * allocating and is what the model and strategies use.
  */
 public class BoardUtils {
 
@@ -0,0 +1,99 @@
+package model;
+
+import java.util.Arrays;
+
+import discs.DiscColor;
+
+/**
+ * A BoardView is an immutable snapshot of the discs on a model's board, stamped with the
+ * board version it was taken at. A model takes at most one snapshot per version and
+ * hands the same one to every reader until the board changes again, so reading the
+ * board through a view allocates nothing after the first reader, and a reader that kept
+ * the version it last looked at can tell from the stamp alone that nothing changed.
+ * A view keeps showing the board as it was when it was taken, whatever the model does
+ * afterwards, so it can be read on any thread.
+ */
+public final class BoardView {
+  private static final DiscColor[] COLORS = DiscColor.values();
+  // marks a cell that isn't on the board.
+  private static final byte OFF_BOARD = -1;
+
+  private final int size;
+  private final long version;
+  private final byte[] colors;
+
+  // colors comes from newColors and setColor and is owned by the view from here on.
+  BoardView(int size, long version, byte[] colors) {
+    this.size = size;
+    this.version = version;
+    this.colors = colors;
+  }
+
+  /**
+   * Starts the colors of a new view of a board, with every cell off the board.
+   */
+  static byte[] newColors(int size) {
+    byte[] colors = new byte[size * size];
+    Arrays.fill(colors, OFF_BOARD);
+    return colors;
+  }
+
+  /**
+   * Records the color of a playable cell in colors from newColors.
+   */
+  static void setColor(byte[] colors, int cell, DiscColor color) {
+    colors[cell] = (byte) color.ordinal();
+  }
+
+  /**
+   * Gets the dimensions of the board.
+   */
+  public int getSize() {
+    return this.size;
+  }
+
+  /**
+   * Gets the board version the view was taken at. Two views of one model with the same
+   * version show the same discs.
+   */
+  public long getVersion() {
+    return this.version;
+  }
+
+  /**
+   * Determines if a coordinate is a cell of the board.
+   */
+  public boolean isPlayable(int x, int y) {
+    return x >= 0 && y >= 0 && x < this.size && y < this.size
+            && this.colors[MoveGenerator.pack(x, y, this.size)] != OFF_BOARD;
+  }
+
+  /**
+   * Gets the color of the disc on a cell.
+   *
+   * @param x the x coordinate of the cell
+   * @param y the y coordinate of the cell
+   * @return the color of the disc, FACEDOWN if the cell is empty
+   * @throws IllegalArgumentException if (x, y) isn't on the board
+   */
+  public DiscColor getColorAt(int x, int y) {
+    if (!this.isPlayable(x, y)) {
+      throw new IllegalArgumentException("Coordinate isn't on the board");
+    }
+    return COLORS[this.colors[MoveGenerator.pack(x, y, this.size)]];
+  }
+
+  /**
+   * Gets the color of the disc on a packed cell.
+   *
+   * @param cell the packed cell, y * size + x
+   * @return the color of the disc, FACEDOWN if the cell is empty
+   * @throws IllegalArgumentException if the cell isn't on the board
+   */
+  public DiscColor getColorAt(int cell) {
+    if (cell < 0 || cell >= this.colors.length || this.colors[cell] == OFF_BOARD) {
+      throw new IllegalArgumentException("Cell isn't on the board");
+    }
+    return COLORS[this.colors[cell]];
+  }
+}
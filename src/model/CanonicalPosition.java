@@ -0,0 +1,48 @@
+package model;
+
+/**
+ * A CanonicalPosition is what HexSymmetry.canonicalize found for a position: the
+ * canonical key every image of the position shares, and the transform that sends the
+ * position to its canonical image. A store keyed by the canonical key keeps moves in
+ * the canonical image, converting them with toCanonical on the way in and fromCanonical
+ * on the way out.
+ */
+public final class CanonicalPosition {
+  private final HexSymmetry symmetry;
+  private final long key;
+  private final int transform;
+
+  CanonicalPosition(HexSymmetry symmetry, long key, int transform) {
+    this.symmetry = symmetry;
+    this.key = key;
+    this.transform = transform;
+  }
+
+  /**
+   * Gets the canonical key, the smallest position key over all images of the position.
+   */
+  public long getKey() {
+    return this.key;
+  }
+
+  /**
+   * Gets the transform that sends the position to its canonical image.
+   */
+  public int getTransform() {
+    return this.transform;
+  }
+
+  /**
+   * Gets the packed cell of the canonical image that a cell of the position maps to.
+   */
+  public int toCanonical(int cell) {
+    return this.symmetry.transformCell(this.transform, cell);
+  }
+
+  /**
+   * Gets the packed cell of the position that a cell of the canonical image comes from.
+   */
+  public int fromCanonical(int cell) {
+    return this.symmetry.inverseCell(this.transform, cell);
+  }
+}
@@ -0,0 +1,235 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import discs.DiscColor;
+import player.PlayerTurn;
+
+/**
+ * HexSymmetry holds the 12 symmetries of the hexagonal board of one size, 6 rotations
+ * and 6 mirror images, as tables that send each packed cell to its image. Transform 0
+ * is the identity, transforms 1 to 5 rotate the board by 60 degree steps and transforms
+ * 6 to 11 mirror it and then rotate it, so transform t mirrors when t >= 6 and then
+ * turns (t % 6) * 60 degrees. Cells move as odd-r offset coordinates, converted to
+ * cube coordinates around the center like in BoardTopology, which makes every
+ * symmetry a signed permutation of the three cube axes.
+ * The rules of the game look the same from every symmetry, so positions that are
+ * images of each other play out the same way. Keying them by their CanonicalPosition,
+ * the image with the smallest position key, lets a book, cache or analysis store keep
+ * each of them once, and the transform it carries maps moves in and out of the
+ * canonical image. Like a BoardTopology the tables are cached per size.
+ */
+public final class HexSymmetry {
+  /**
+   * The number of symmetries of a hexagonal board.
+   */
+  public static final int TRANSFORMS = 12;
+
+  private static final Map<Integer, HexSymmetry> SYMMETRIES = new ConcurrentHashMap<>();
+
+  private final int size;
+  private final int[] playableCells;
+  private final int[][] images;
+  private final int[][] preimages;
+
+  private HexSymmetry(int size) {
+    this.size = size;
+    BoardTopology topology = BoardTopology.forSize(size);
+    this.playableCells = topology.getPlayableCells();
+    this.images = new int[TRANSFORMS][size * size];
+    this.preimages = new int[TRANSFORMS][size * size];
+    int middle = size / 2;
+    int centerQ = middle - (middle - (middle & 1)) / 2;
+    for (int transform = 0; transform < TRANSFORMS; transform++) {
+      Arrays.fill(this.images[transform], -1);
+      Arrays.fill(this.preimages[transform], -1);
+      for (int cell : this.playableCells) {
+        int y = MoveGenerator.unpackY(cell, size);
+        // cube coordinates of the cell around the center, as in BoardTopology.
+        int q = MoveGenerator.unpackX(cell, size) - (y - (y & 1)) / 2 - centerQ;
+        int r = y - middle;
+        int s = -q - r;
+        if (transform >= TRANSFORMS / 2) {
+          int swap = r;
+          r = s;
+          s = swap;
+        }
+        for (int turn = 0; turn < transform % (TRANSFORMS / 2); turn++) {
+          int oldQ = q;
+          q = -r;
+          r = -s;
+          s = -oldQ;
+        }
+        int imageY = r + middle;
+        int imageX = q + centerQ + (imageY - (imageY & 1)) / 2;
+        int image = MoveGenerator.pack(imageX, imageY, size);
+        this.images[transform][cell] = image;
+        this.preimages[transform][image] = cell;
+      }
+    }
+  }
+
+  /**
+   * Returns the symmetries of a board size, computing them on first use.
+   *
+   * @param size the dimensions of the board
+   * @return the shared symmetries for that size
+   */
+  public static HexSymmetry forSize(int size) {
+    return SYMMETRIES.computeIfAbsent(size, HexSymmetry::new);
+  }
+
+  /**
+   * Gets the board size these symmetries belong to.
+   */
+  public int getSize() {
+    return this.size;
+  }
+
+  /**
+   * Gets the packed cell a transform sends a playable cell to.
+   */
+  public int transformCell(int transform, int cell) {
+    return this.images[transform][cell];
+  }
+
+  /**
+   * Gets the packed cell a transform sends to a playable cell, undoing transformCell.
+   */
+  public int inverseCell(int transform, int cell) {
+    return this.preimages[transform][cell];
+  }
+
+  /**
+   * Gets the odd-r offset coordinates a transform sends a coordinate to.
+   *
+   * @param transform the symmetry to apply, from 0 to TRANSFORMS - 1
+   * @param x         the x coordinate of a playable cell
+   * @param y         the y coordinate of a playable cell
+   * @return the image as a list of its x and y coordinates
+   * @throws IllegalArgumentException if (x, y) isn't on the board
+   */
+  public List<Integer> transformCoordinate(int transform, int x, int y) {
+    return this.mapCoordinate(this.images[transform], x, y);
+  }
+
+  /**
+   * Gets the odd-r offset coordinates a transform sends to a coordinate, undoing
+   * transformCoordinate.
+   *
+   * @param transform the symmetry to undo, from 0 to TRANSFORMS - 1
+   * @param x         the x coordinate of a playable cell
+   * @param y         the y coordinate of a playable cell
+   * @return the preimage as a list of its x and y coordinates
+   * @throws IllegalArgumentException if (x, y) isn't on the board
+   */
+  public List<Integer> inverseCoordinate(int transform, int x, int y) {
+    return this.mapCoordinate(this.preimages[transform], x, y);
+  }
+
+  private List<Integer> mapCoordinate(int[] table, int x, int y) {
+    if (!BoardTopology.forSize(this.size).isPlayable(x, y)) {
+      throw new IllegalArgumentException("Coordinate isn't on the board");
+    }
+    int image = table[MoveGenerator.pack(x, y, this.size)];
+    List<Integer> res = new ArrayList<>();
+    res.add(MoveGenerator.unpackX(image, this.size));
+    res.add(MoveGenerator.unpackY(image, this.size));
+    return res;
+  }
+
+  /**
+   * Gets the transform that applies first and then second.
+   */
+  public static int compose(int first, int second) {
+    int turns = TRANSFORMS / 2;
+    // a mirror turns every rotation applied before it the other way.
+    int rotation = (second % turns) + ((second >= turns) ? turns - first % turns : first % turns);
+    int mirror = (first >= turns) != (second >= turns) ? turns : 0;
+    return mirror + rotation % turns;
+  }
+
+  /**
+   * Gets the transform that undoes a transform.
+   */
+  public static int invert(int transform) {
+    int turns = TRANSFORMS / 2;
+    if (transform >= turns) {
+      // a mirror image is its own inverse.
+      return transform;
+    }
+    return (turns - transform) % turns;
+  }
+
+  /**
+   * Gets the position key of the image of a model's position under a transform. For
+   * transform 0 this is the model's own position key.
+   *
+   * @param model     the model whose position to key
+   * @param transform the symmetry to apply, from 0 to TRANSFORMS - 1
+   * @return the position key of the transformed position
+   */
+  public long getKey(ReadOnlyReversiModel model, int transform) {
+    return this.getKeys(model)[transform];
+  }
+
+  /**
+   * Finds the canonical image of a model's position, the one with the smallest position
+   * key, in one pass over the board. Ties go to the lowest transform.
+   *
+   * @param model the model whose position to canonicalise
+   * @return the canonical key and the transform that reaches it
+   */
+  public CanonicalPosition canonicalize(ReadOnlyReversiModel model) {
+    long[] keys = this.getKeys(model);
+    int best = 0;
+    for (int transform = 1; transform < TRANSFORMS; transform++) {
+      if (keys[transform] < keys[best]) {
+        best = transform;
+      }
+    }
+    return new CanonicalPosition(this, keys[best], best);
+  }
+
+  /**
+   * Gets the canonical key of a model's position, which every image of the position
+   * shares.
+   *
+   * @param model the model whose position to key
+   * @return the smallest position key over all images of the position
+   */
+  public long getCanonicalKey(ReadOnlyReversiModel model) {
+    long[] keys = this.getKeys(model);
+    long best = keys[0];
+    for (int transform = 1; transform < TRANSFORMS; transform++) {
+      best = Math.min(best, keys[transform]);
+    }
+    return best;
+  }
+
+  // the position key of every image of the model's position, read in one pass.
+  private long[] getKeys(ReadOnlyReversiModel model) {
+    if (model.getDimensions() != this.size) {
+      throw new IllegalArgumentException("Model board size doesn't match the symmetries");
+    }
+    ZobristKeys zobrist = ZobristKeys.forSize(this.size);
+    long[] keys = new long[TRANSFORMS];
+    if (model.currentTurn() == PlayerTurn.PLAYER2) {
+      Arrays.fill(keys, zobrist.getSideKey());
+    }
+    for (int cell : this.playableCells) {
+      DiscColor color = model.getDiscAt(MoveGenerator.unpackX(cell, this.size),
+              MoveGenerator.unpackY(cell, this.size)).getColor();
+      if (color != DiscColor.FACEDOWN) {
+        for (int transform = 0; transform < TRANSFORMS; transform++) {
+          keys[transform] ^= zobrist.getDiscKey(color, this.images[transform][cell]);
+        }
+      }
+    }
+    return keys;
+  }
+}
@@ -0,0 +1,161 @@
+package model;
+
+import discs.DiscColor;
+
+/**
+ * MoveGenerator finds the discs a move captures without allocating. It does the same
+ * walk as BoardUtils.bfs, but follows the precomputed rays of a BoardTopology instead
+ * of shifting boxed coordinates, and writes results into caller supplied int buffers.
+ * Cells are packed as y * size + x, see {@link #pack(int, int, int)}. A buffer of
+ * size * size ints is always large enough for a single call.
+ */
+public final class MoveGenerator {
+  // the six directions for the model package's hot loops to share, because values()
+  // copies the array on every call. Never modified.
+  static final MoveDirection[] DIRECTIONS = MoveDirection.values();
+
+  private MoveGenerator() {
+  }
+
+  /**
+   * Packs a coordinate into a single cell index.
+   *
+   * @param x    the x coordinate
+   * @param y    the y coordinate
+   * @param size the dimensions of the board
+   * @return the packed cell index
+   */
+  public static int pack(int x, int y, int size) {
+    return y * size + x;
+  }
+
+  /**
+   * Gets the x coordinate of a packed cell index.
+   */
+  public static int unpackX(int cell, int size) {
+    return cell % size;
+  }
+
+  /**
+   * Gets the y coordinate of a packed cell index.
+   */
+  public static int unpackY(int cell, int size) {
+    return cell / size;
+  }
+
+  /**
+   * Writes every disc that mover would capture in one direction by placing at (x, y).
+   *
+   * @param model  the model to read discs from
+   * @param x      the x coordinate of the move
+   * @param y      the y coordinate of the move
+   * @param md     the direction to walk
+   * @param mover  the color of the player making the move
+   * @param out    the buffer to write packed cells into
+   * @param offset the first index of out to write to
+   * @return the number of cells written, 0 if nothing is captured in that direction
+   */
+  public static int flipsInDirection(ReadOnlyReversiModel model, int x, int y,
+                                     MoveDirection md, DiscColor mover, int[] out, int offset) {
+    int size = model.getDimensions();
+    BoardTopology topology = BoardTopology.forSize(size);
+    int cell = pack(x, y, size);
+    int[] rayCells = topology.getRayCells();
+    int start = topology.getRayStart(md, cell);
+    int end = start + topology.getRayLength(md, cell);
+    DiscColor opponent = (mover == DiscColor.BLACK) ? DiscColor.WHITE : DiscColor.BLACK;
+    for (int i = start; i < end; i++) {
+      DiscColor color = colorAt(model, rayCells[i], size);
+      if (color == opponent) {
+        out[offset + i - start] = rayCells[i];
+      } else {
+        return (color == mover) ? i - start : 0;
+      }
+    }
+    return 0;
+  }
+
+  /**
+   * Writes every disc that mover would capture by placing at (x, y).
+   *
+   * @param model the model to read discs from
+   * @param x     the x coordinate of the move
+   * @param y     the y coordinate of the move
+   * @param mover the color of the player making the move
+   * @param out   the buffer to write packed cells into
+   * @return the number of cells written, 0 if the move is illegal
+   */
+  public static int flips(ReadOnlyReversiModel model, int x, int y, DiscColor mover, int[] out) {
+    int count = 0;
+    for (MoveDirection md : DIRECTIONS) {
+      count += flipsInDirection(model, x, y, md, mover, out, count);
+    }
+    return count;
+  }
+
+  /**
+   * Determines if mover would capture at least one disc by placing at (x, y).
+   * The cell itself is not checked for being empty.
+   *
+   * @param model the model to read discs from
+   * @param x     the x coordinate of the move
+   * @param y     the y coordinate of the move
+   * @param mover the color of the player making the move
+   * @return true if the move captures a disc
+   */
+  public static boolean isLegal(ReadOnlyReversiModel model, int x, int y, DiscColor mover) {
+    int size = model.getDimensions();
+    BoardTopology topology = BoardTopology.forSize(size);
+    int cell = pack(x, y, size);
+    int[] rayCells = topology.getRayCells();
+    DiscColor opponent = (mover == DiscColor.BLACK) ? DiscColor.WHITE : DiscColor.BLACK;
+    for (MoveDirection md : DIRECTIONS) {
+      int start = topology.getRayStart(md, cell);
+      int end = start + topology.getRayLength(md, cell);
+      if (start == end || colorAt(model, rayCells[start], size) != opponent) {
+        continue;
+      }
+      for (int i = start + 1; i < end; i++) {
+        DiscColor color = colorAt(model, rayCells[i], size);
+        if (color != opponent) {
+          if (color == mover) {
+            return true;
+          }
+          break;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Writes every empty cell where mover would capture at least one disc.
+   *
+   * @param model the model to read discs from
+   * @param mover the color of the player making the move
+   * @param out   the buffer to write packed cells into
+   * @return the number of legal moves written
+   */
+  public static int legalMoves(ReadOnlyReversiModel model, DiscColor mover, int[] out) {
+    int size = model.getDimensions();
+    int count = 0;
+    for (int cell : BoardTopology.forSize(size).getPlayableCells()) {
+      if (colorAt(model, cell, size) == DiscColor.FACEDOWN
+              && isLegal(model, unpackX(cell, size), unpackY(cell, size), mover)) {
+        out[count] = cell;
+        count++;
+      }
+    }
+    return count;
+  }
+
+  // returns the color at a packed cell, or null if the model has no disc there.
+  private static DiscColor colorAt(ReadOnlyReversiModel model, int cell, int size) {
+    int x = unpackX(cell, size);
+    int y = unpackY(cell, size);
+    if (!model.checkValidCoordinates(x, y)) {
+      return null;
+    }
+    return model.getDiscAt(x, y).getColor();
+  }
+}
@@ -0,0 +1,200 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * A MoveJournal is the history of a game: one entry per move or pass, in the order
+ * they were played. A move entry holds the packed cell the disc was placed on and the
+ * packed cells it flipped; a pass entry holds neither. Entries are stored in flat int
+ * arrays, so recording a move allocates nothing once the arrays have grown, and any
+ * entry, counted from the start or the end, is read in constant time.
+ * Only the model records entries; everyone else gets a read-only view of the game.
+ */
+public class MoveJournal {
+  /**
+   * The move cell of a pass entry.
+   */
+  public static final int PASS = -1;
+
+  private final int boardSize;
+  private int[] moveCells;
+  private int[] flipStarts;
+  private int[] flips;
+  private int entries;
+
+  /**
+   * Constructor for an empty journal of a board.
+   *
+   * @param boardSize the dimensions of the board, used to unpack cells
+   */
+  public MoveJournal(int boardSize) {
+    this.boardSize = boardSize;
+    this.moveCells = new int[16];
+    this.flipStarts = new int[17];
+    this.flips = new int[64];
+    this.entries = 0;
+  }
+
+  /**
+   * Constructor for a copy of another journal that shares none of its state.
+   *
+   * @param other the journal to copy
+   */
+  public MoveJournal(MoveJournal other) {
+    this.boardSize = other.boardSize;
+    this.moveCells = other.moveCells.clone();
+    this.flipStarts = other.flipStarts.clone();
+    this.flips = other.flips.clone();
+    this.entries = other.entries;
+  }
+
+  // records a move onto cell that flipped the first flipCount cells of flipped.
+  void recordMove(int cell, int[] flipped, int flipCount) {
+    this.ensureEntryCapacity();
+    int start = this.flipStarts[this.entries];
+    if (start + flipCount > this.flips.length) {
+      this.flips = Arrays.copyOf(this.flips, Math.max(2 * this.flips.length, start + flipCount));
+    }
+    System.arraycopy(flipped, 0, this.flips, start, flipCount);
+    this.moveCells[this.entries] = cell;
+    this.entries++;
+    this.flipStarts[this.entries] = start + flipCount;
+  }
+
+  // records a pass.
+  void recordPass() {
+    this.ensureEntryCapacity();
+    int start = this.flipStarts[this.entries];
+    this.moveCells[this.entries] = PASS;
+    this.entries++;
+    this.flipStarts[this.entries] = start;
+  }
+
+  // forgets the most recent entry.
+  void removeLast() {
+    if (this.entries == 0) {
+      throw new IllegalStateException("The journal is empty");
+    }
+    this.entries--;
+  }
+
+  private void ensureEntryCapacity() {
+    if (this.entries + 1 >= this.moveCells.length) {
+      int capacity = 2 * this.moveCells.length;
+      this.moveCells = Arrays.copyOf(this.moveCells, capacity);
+      this.flipStarts = Arrays.copyOf(this.flipStarts, capacity + 1);
+    }
+  }
+
+  /**
+   * Gets how many moves and passes have been recorded.
+   */
+  public int size() {
+    return this.entries;
+  }
+
+  /**
+   * Determines if an entry is a pass.
+   *
+   * @param entry the index of the entry, 0 being the first
+   * @throws IndexOutOfBoundsException if there is no such entry
+   */
+  public boolean isPass(int entry) {
+    return this.getMoveCell(entry) == PASS;
+  }
+
+  /**
+   * Gets the packed cell a move entry placed its disc on, or PASS for a pass.
+   *
+   * @param entry the index of the entry, 0 being the first
+   * @throws IndexOutOfBoundsException if there is no such entry
+   */
+  public int getMoveCell(int entry) {
+    this.checkEntry(entry);
+    return this.moveCells[entry];
+  }
+
+  /**
+   * Gets how many discs an entry flipped, 0 for a pass.
+   *
+   * @param entry the index of the entry, 0 being the first
+   * @throws IndexOutOfBoundsException if there is no such entry
+   */
+  public int getFlipCount(int entry) {
+    this.checkEntry(entry);
+    return this.flipStarts[entry + 1] - this.flipStarts[entry];
+  }
+
+  /**
+   * Writes the packed cells an entry flipped into a buffer.
+   *
+   * @param entry the index of the entry, 0 being the first
+   * @param out   the buffer to write into
+   * @return how many cells were written
+   * @throws IndexOutOfBoundsException if there is no such entry
+   */
+  public int getFlips(int entry, int[] out) {
+    int count = this.getFlipCount(entry);
+    System.arraycopy(this.flips, this.flipStarts[entry], out, 0, count);
+    return count;
+  }
+
+  /**
+   * Determines if the last n entries were all passes.
+   *
+   * @param n how many entries to look back
+   * @return true if there are at least n entries and the last n are passes
+   */
+  public boolean lastEntriesArePasses(int n) {
+    if (this.entries < n) {
+      return false;
+    }
+    for (int entry = this.entries - n; entry < this.entries; entry++) {
+      if (this.moveCells[entry] != PASS) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Gets the dimensions of the board the cells of this journal belong to.
+   */
+  public int getBoardSize() {
+    return this.boardSize;
+  }
+
+  private void checkEntry(int entry) {
+    if (entry < 0 || entry >= this.entries) {
+      throw new IndexOutOfBoundsException("No journal entry " + entry);
+    }
+  }
+
+  /**
+   * Exports the journal in the text format of the old player action log: for a move,
+   * one "x y " line for the placed disc and one for each flipped disc; for a pass, a
+   * "pass" line.
+   *
+   * @return the journal as text
+   */
+  public String toText() {
+    StringBuilder res = new StringBuilder();
+    for (int entry = 0; entry < this.entries; entry++) {
+      if (this.moveCells[entry] == PASS) {
+        res.append("pass").append(System.lineSeparator());
+        continue;
+      }
+      this.appendCell(res, this.moveCells[entry]);
+      for (int i = this.flipStarts[entry]; i < this.flipStarts[entry + 1]; i++) {
+        this.appendCell(res, this.flips[i]);
+      }
+    }
+    return res.toString();
+  }
+
+  private void appendCell(StringBuilder res, int cell) {
+    res.append(MoveGenerator.unpackX(cell, this.boardSize)).append(" ")
+            .append(MoveGenerator.unpackY(cell, this.boardSize)).append(" ")
+            .append(System.lineSeparator());
+  }
+}
@@ -84,18 +84,98 @@ public interface ReadOnlyReversiModel extends Serializable {
 
   /**
    * Gets a copy of the current state of the game board in play.
+   * Every call copies the whole board; readers that only look at the board should use
+   * {@link #getBoardView()}, which is shared until the board changes.
    *
    * @return a copy of the mutable Reversi game board
    * @throws IllegalStateException if the game has not started yet
    */
   Disc[][] getCurrentBoardState();
 
+  /**
+   * Gets an immutable view of the discs on the board. Callers get the same view until
+   * the board changes, so calling this repeatedly doesn't copy the board.
+   *
+   * @return the view of the board at the current board version
+   * @throws IllegalStateException if the game has not started yet
+   */
+  BoardView getBoardView();
+
+  /**
+   * Gets the board version, which changes whenever a disc is placed, flipped or taken
+   * off the board, and not otherwise. Comparing it with the version of a kept BoardView
+   * tells a reader whether there is anything new to look at.
+   *
+   * @return the current board version
+   * @throws IllegalStateException if the game has not started yet
+   */
+  long getBoardVersion();
+
   boolean canPlayerPlay(int x, int y);
 
   int getScore(PlayerTurn playerTurn);
 
+  /**
+   * Returns how many cells of the board currently hold the given color. FACEDOWN counts
+   * the empty cells. Models keep these counts as discs change, so this does not scan
+   * the board.
+   *
+   * @param color the color to count
+   * @return the number of cells with that color
+   * @throws IllegalStateException if the game hasn't been started yet
+   */
+  int getDiscCount(DiscColor color);
+
+  /**
+   * Returns the Zobrist key of the current position: the discs on the board and the
+   * player to move. Equal positions have equal keys however they were reached, and
+   * models update the key on every flip, so this does not scan the board.
+   *
+   * @return the key of the current position
+   * @throws IllegalStateException if the game hasn't been started yet
+   */
+  long getPositionKey();
+
+  /**
+   * Returns the history of the game, one entry per move or pass. The journal only
+   * changes through the model, and its toText method exports the old text log.
+   *
+   * @return the move journal of this game
+   * @throws IllegalStateException if the game hasn't been started yet
+   */
+  MoveJournal getMoveJournal();
+
+  /**
+   * Signal if the player whose turn it is has at least one legal move.
+   *
+   * @return true if the current player can make a move
+   */
   boolean doesPlayerHaveLegalMove();
 
+  /**
+   * Determines if a player could legally place a disc at the specified coordinates.
+   * Models keep each player's legal moves up to date as the board changes, so this
+   * does not search the board.
+   *
+   * @param player the player to check for
+   * @param x      the x coordinate of the move
+   * @param y      the y coordinate of the move
+   * @return true if the player may move there, false otherwise or if the coordinates are invalid
+   * @throws IllegalStateException if the game hasn't been started yet
+   */
+  boolean isLegalMove(PlayerTurn player, int x, int y);
+
+  /**
+   * Writes every legal move of a player into a buffer as packed cells (y * size + x),
+   * in increasing cell order.
+   *
+   * @param player the player to list moves for
+   * @param out    a buffer with room for at least dimensions * dimensions cells
+   * @return how many moves were written
+   * @throws IllegalStateException if the game hasn't been started yet
+   */
+  int getLegalMoves(PlayerTurn player, int[] out);
+
   String getType();
 
   PlayerTurn getOpponent(PlayerTurn player);
@@ -0,0 +1,685 @@
+package model;
+
+import java.util.List;
+
+import controller.ModelEvent;
+import controller.ModelEventBus;
+import controller.ModelEventType;
+import controller.ModelListener;
+import discs.Disc;
+import discs.DiscColor;
+import discs.DiscType;
+import discs.GameDisc;
+import player.PlayerTurn;
+
+// class invariant: only the current player can alter the board (make a move)
+
+/**
+ * A 'ReversiBitboardModel' defines a hexagonal Reversi game whose board is stored as
+ * packed bitsets instead of a grid of disc objects. Cell (x, y) of the odd-r layout
+ * lives at bit y * size + x of three masks: the playable cells, the black discs and
+ * the white discs. Moves are applied and scored with bit operations, and discs handed
+ * out to callers are the shared GameDisc flyweights, so playing a game allocates nothing
+ * per flip. It follows the same rules and emits the same events as ReversiHexModel.
+ */
+public class ReversiBitboardModel implements ReversiModel {
+  private final DiscType type;
+  private boolean gameOn;
+  private int size;
+  private long[] playable;
+  private long[] black;
+  private long[] white;
+  private long[] flipMask;
+  private int[] flipCells;
+  private long[] blackMoves;
+  private long[] whiteMoves;
+  private int blackCount;
+  private int whiteCount;
+  private long discKey;
+  private long boardVersion;
+  private BoardView boardView;
+  private BoardTopology topology;
+  private ZobristKeys keys;
+  private PlayerTurn pt;
+  private GameState state;
+  private MoveJournal journal;
+
+  private final ModelEventBus eventBus = new ModelEventBus();
+
+  /**
+   * Constructor for a bitboard backed hexagonal Reversi model.
+   */
+  public ReversiBitboardModel() {
+    this.type = DiscType.HEXDISC;
+    this.gameOn = false;
+    this.size = 0;
+    // class invariant: only the current player can alter the board (make a move)
+    // the class invariant is enforced here because we always start the game off with player one
+    this.pt = PlayerTurn.PLAYER1;
+    this.state = GameState.ONGOING;
+    this.journal = null;
+  }
+
+  /**
+   * Constructor for a bitboard copy of the current position of another model. The copy
+   * holds the same discs and the same player to move, starts with an empty history and
+   * shares no state with the source, so it can be searched freely with makeMove and
+   * unmakeMove.
+   *
+   * @param source the model whose position to copy
+   * @throws IllegalStateException if the source game hasn't been started yet
+   */
+  public ReversiBitboardModel(ReadOnlyReversiModel source) {
+    this();
+    int boardSize = source.getDimensions();
+    this.allocate(boardSize);
+    for (int cell : this.topology.getPlayableCells()) {
+      DiscColor color = source.getDiscAt(MoveGenerator.unpackX(cell, boardSize),
+              MoveGenerator.unpackY(cell, boardSize)).getColor();
+      this.setPiece(MoveGenerator.unpackX(cell, boardSize),
+              MoveGenerator.unpackY(cell, boardSize), color);
+    }
+    this.pt = source.currentTurn();
+    this.gameOn = true;
+    for (int cell : this.topology.getPlayableCells()) {
+      this.refreshLegality(cell);
+    }
+  }
+
+  @Override
+  public void addListener(ModelListener ml) {
+    this.eventBus.subscribe(ml);
+  }
+
+  @Override
+  public ModelEventBus getEventBus() {
+    return this.eventBus;
+  }
+
+  /**
+   * The notifyListeners method notifies relevant listeners.
+   */
+  public void notifyListeners(ModelEvent modelEvent) {
+    this.eventBus.publish(modelEvent);
+  }
+
+  @Override
+  public void startGame(int boardSize) {
+    if (this.gameOn) {
+      throw new IllegalStateException("Game has already started");
+    } else if (boardSize <= 3 || boardSize % 2 == 0) {
+      throw new IllegalArgumentException("Invalid Board Sizes");
+    }
+    this.allocate(boardSize);
+    this.gameOn = true;
+    this.setStartingPieces();
+    for (int cell : this.topology.getPlayableCells()) {
+      this.refreshLegality(cell);
+    }
+  }
+
+  // sets up empty masks and buffers for a board of the given size.
+  private void allocate(int boardSize) {
+    this.size = boardSize;
+    int words = (boardSize * boardSize + 63) / 64;
+    this.playable = new long[words];
+    this.black = new long[words];
+    this.white = new long[words];
+    this.flipMask = new long[words];
+    this.flipCells = new int[boardSize * boardSize];
+    this.journal = new MoveJournal(boardSize);
+    this.blackMoves = new long[words];
+    this.whiteMoves = new long[words];
+    this.topology = BoardTopology.forSize(boardSize);
+    this.keys = ZobristKeys.forSize(boardSize);
+    for (int cell : this.topology.getPlayableCells()) {
+      set(this.playable, cell);
+    }
+  }
+
+  private void setStartingPieces() {
+    int middle = this.size / 2;
+    if (middle % 2 != 0) {
+      this.setPiece(middle + 1, middle, DiscColor.BLACK);
+      this.setPiece(middle, middle - 1, DiscColor.BLACK);
+      this.setPiece(middle, middle + 1, DiscColor.BLACK);
+      this.setPiece(middle + 1, middle + 1, DiscColor.WHITE);
+      this.setPiece(middle + 1, middle - 1, DiscColor.WHITE);
+      this.setPiece(middle - 1, middle, DiscColor.WHITE);
+    } else {
+      this.setPiece(middle - 1, middle, DiscColor.BLACK);
+      this.setPiece(middle, middle + 1, DiscColor.BLACK);
+      this.setPiece(middle, middle - 1, DiscColor.BLACK);
+      this.setPiece(middle - 1, middle - 1, DiscColor.WHITE);
+      this.setPiece(middle - 1, middle + 1, DiscColor.WHITE);
+      this.setPiece(middle + 1, middle, DiscColor.WHITE);
+    }
+  }
+
+  // only used while setting up a board, so the cell is always empty.
+  private void setPiece(int x, int y, DiscColor color) {
+    int cell = this.index(x, y);
+    if (color == DiscColor.BLACK) {
+      set(this.black, cell);
+      this.blackCount++;
+    } else if (color == DiscColor.WHITE) {
+      set(this.white, cell);
+      this.whiteCount++;
+    }
+    this.discKey ^= this.keys.getDiscKey(color, cell);
+    this.boardVersion++;
+  }
+
+  @Override
+  public void makeMove(int x, int y) {
+    this.gameNotYetStarted();
+    this.eventBus.beginBatch();
+    try {
+      this.applyMove(x, y);
+    } finally {
+      this.eventBus.endBatch();
+    }
+  }
+
+  // makes a move, or reports why it is illegal, inside the batch makeMove opened.
+  private void applyMove(int x, int y) {
+    if (!this.checkValidCoordinates(x, y)) {
+      this.notifyIllegalMove("Illegal Move: In Grid Out Of Bounds");
+      return;
+    }
+    int cell = this.index(x, y);
+    if (get(this.black, cell) || get(this.white, cell)) {
+      this.notifyIllegalMove("Illegal Move: In Grid Selected Facedown");
+      return;
+    }
+    // class invariant: only the current player can alter the board (make a move)
+    // the class invariant is enforced here because flips are only computed for
+    // the current player's color
+    long[] own = this.ownMask(this.pt);
+    long[] opponent = this.ownMask(this.getOpponent(this.pt));
+    int flips = this.collectFlips(cell, own, opponent);
+    if (flips == 0) {
+      this.notifyIllegalMove("Illegal Move: In Grid No Moves");
+      return;
+    }
+    for (int i = 0; i < own.length; i++) {
+      own[i] |= this.flipMask[i];
+      opponent[i] &= ~this.flipMask[i];
+    }
+    set(own, cell);
+    if (own == this.black) {
+      this.blackCount += flips + 1;
+      this.whiteCount -= flips;
+    } else {
+      this.whiteCount += flips + 1;
+      this.blackCount -= flips;
+    }
+    this.updateDiscKey(cell, (own == this.black) ? DiscColor.BLACK : DiscColor.WHITE, flips);
+    this.journal.recordMove(cell, this.flipCells, flips);
+    this.updateLegalMoves(cell);
+    this.togglePlayer();
+    this.notifyTurn(cell, flips);
+  }
+
+  // tells listeners whose turn it is after a change, with the cell a disc was placed on
+  // or taken off, PASS if none, and the cells that flipped in flipCells.
+  private void notifyTurn(int cell, int flipCount) {
+    if (!this.eventBus.hasSubscribers()) {
+      return;
+    }
+    int[] changed = new int[(cell == MoveJournal.PASS) ? 0 : flipCount + 1];
+    if (changed.length > 0) {
+      changed[0] = cell;
+      System.arraycopy(this.flipCells, 0, changed, 1, flipCount);
+    }
+    if (this.pt == PlayerTurn.PLAYER1) {
+      this.notifyListeners(new ModelEvent(ModelEventType.PLAYER1TURN,
+              "It's Your Turn Player 1", changed));
+    } else {
+      this.notifyListeners(new ModelEvent(ModelEventType.PLAYER2TURN,
+              "It's Your Turn Player 2", changed));
+    }
+  }
+
+  // fills flipMask and flipCells with every disc placing at the given cell would
+  // capture and returns how many there are.
+  private int collectFlips(int cell, long[] own, long[] opponent) {
+    for (int i = 0; i < this.flipMask.length; i++) {
+      this.flipMask[i] = 0L;
+    }
+    int[] rayCells = this.topology.getRayCells();
+    int flips = 0;
+    for (MoveDirection md : MoveGenerator.DIRECTIONS) {
+      int start = this.topology.getRayStart(md, cell);
+      int end = start + this.topology.getRayLength(md, cell);
+      int next = start;
+      while (next < end && get(opponent, rayCells[next])) {
+        next++;
+      }
+      if (next > start && next < end && get(own, rayCells[next])) {
+        for (int i = start; i < next; i++) {
+          set(this.flipMask, rayCells[i]);
+          this.flipCells[flips] = rayCells[i];
+          flips++;
+        }
+      }
+    }
+    return flips;
+  }
+
+  // toggles a disc of color on cell and flips the first flips cells of flipCells in
+  // the position key, which both applies and reverts a move, and moves the board on
+  // to a new version.
+  private void updateDiscKey(int cell, DiscColor color, int flips) {
+    this.boardVersion++;
+    this.discKey ^= this.keys.getDiscKey(color, cell);
+    for (int i = 0; i < flips; i++) {
+      this.discKey ^= this.keys.getDiscKey(DiscColor.BLACK, this.flipCells[i])
+              ^ this.keys.getDiscKey(DiscColor.WHITE, this.flipCells[i]);
+    }
+  }
+
+  // determines whether placing at the given cell would capture at least one disc.
+  private boolean capturesAny(int cell, long[] own, long[] opponent) {
+    int[] rayCells = this.topology.getRayCells();
+    for (MoveDirection md : MoveGenerator.DIRECTIONS) {
+      int start = this.topology.getRayStart(md, cell);
+      int end = start + this.topology.getRayLength(md, cell);
+      int next = start;
+      while (next < end && get(opponent, rayCells[next])) {
+        next++;
+      }
+      if (next > start && next < end && get(own, rayCells[next])) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  // updates both players' legal moves after a disc was placed on or removed from cell
+  // and the cells of flipMask were flipped. Only the first empty cell along each ray
+  // out of a changed cell can gain or lose a capture through it.
+  private void updateLegalMoves(int cell) {
+    this.refreshLegality(cell);
+    this.refreshLegalityAround(cell);
+    for (int i = 0; i < this.flipMask.length; i++) {
+      long flipped = this.flipMask[i];
+      while (flipped != 0) {
+        this.refreshLegalityAround(i * 64 + Long.numberOfTrailingZeros(flipped));
+        flipped &= flipped - 1;
+      }
+    }
+  }
+
+  private void refreshLegalityAround(int cell) {
+    int[] rayCells = this.topology.getRayCells();
+    for (MoveDirection md : MoveGenerator.DIRECTIONS) {
+      int start = this.topology.getRayStart(md, cell);
+      int end = start + this.topology.getRayLength(md, cell);
+      for (int i = start; i < end; i++) {
+        if (!get(this.black, rayCells[i]) && !get(this.white, rayCells[i])) {
+          this.refreshLegality(rayCells[i]);
+          break;
+        }
+      }
+    }
+  }
+
+  // re-evaluates whether each player may place a disc on cell.
+  private void refreshLegality(int cell) {
+    clear(this.blackMoves, cell);
+    clear(this.whiteMoves, cell);
+    if (get(this.black, cell) || get(this.white, cell)) {
+      return;
+    }
+    if (this.capturesAny(cell, this.black, this.white)) {
+      set(this.blackMoves, cell);
+    }
+    if (this.capturesAny(cell, this.white, this.black)) {
+      set(this.whiteMoves, cell);
+    }
+  }
+
+  private void notifyIllegalMove(String message) {
+    this.notifyListeners(new ModelEvent(ModelEventType.ILLEGALMOVE, message));
+    if (this.pt == PlayerTurn.PLAYER1) {
+      this.notifyListeners(new ModelEvent(ModelEventType.PLAYER1TURN,
+              "Illegal move occured it is still Player 1 Turn"));
+    } else {
+      this.notifyListeners(new ModelEvent(ModelEventType.PLAYER2TURN,
+              "Illegal move occured it is still Player 2 Turn"));
+    }
+  }
+
+  @Override
+  public void pass() {
+    this.gameNotYetStarted();
+    this.eventBus.beginBatch();
+    try {
+      this.applyPass();
+    } finally {
+      this.eventBus.endBatch();
+    }
+  }
+
+  private void applyPass() {
+    // class invariant: only the current player can alter the board (make a move)
+    // the class invariant is enforced here because when the user wants to pass
+    // we are also toggling the player.
+    this.togglePlayer();
+    if (this.pt == PlayerTurn.PLAYER1) {
+      this.notifyListeners(new ModelEvent(ModelEventType.PLAYER1TURN, "It's Your Turn Player 1"));
+    } else {
+      this.notifyListeners(new ModelEvent(ModelEventType.PLAYER2TURN, "It's Your Turn Player 2"));
+    }
+    this.journal.recordPass();
+  }
+
+  @Override
+  public void undoMove() {
+    this.gameNotYetStarted();
+    int entry = this.journal.size() - 1;
+    if (entry < 0) {
+      throw new IllegalStateException("There is no move to undo");
+    }
+    int cell = this.journal.getMoveCell(entry);
+    int flips = 0;
+    if (cell != MoveJournal.PASS) {
+      long[] own = get(this.black, cell) ? this.black : this.white;
+      long[] opponent = (own == this.black) ? this.white : this.black;
+      flips = this.journal.getFlips(entry, this.flipCells);
+      for (int i = 0; i < this.flipMask.length; i++) {
+        this.flipMask[i] = 0L;
+      }
+      for (int i = 0; i < flips; i++) {
+        set(this.flipMask, this.flipCells[i]);
+      }
+      for (int i = 0; i < own.length; i++) {
+        own[i] &= ~this.flipMask[i];
+        opponent[i] |= this.flipMask[i];
+      }
+      clear(own, cell);
+      if (own == this.black) {
+        this.blackCount -= flips + 1;
+        this.whiteCount += flips;
+      } else {
+        this.whiteCount -= flips + 1;
+        this.blackCount += flips;
+      }
+      this.updateDiscKey(cell, (own == this.black) ? DiscColor.BLACK : DiscColor.WHITE, flips);
+      this.updateLegalMoves(cell);
+    }
+    this.journal.removeLast();
+    this.togglePlayer();
+    this.state = GameState.ONGOING;
+    this.notifyTurn(cell, flips);
+  }
+
+  @Override
+  public void unmakeMove(int mark) {
+    this.gameNotYetStarted();
+    if (mark < 0 || mark > this.journal.size()) {
+      throw new IllegalArgumentException("Invalid history mark");
+    }
+    this.eventBus.beginBatch();
+    try {
+      while (this.journal.size() > mark) {
+        this.undoMove();
+      }
+    } finally {
+      this.eventBus.endBatch();
+    }
+  }
+
+  @Override
+  public int getHistoryMark() {
+    this.gameNotYetStarted();
+    return this.journal.size();
+  }
+
+  @Override
+  public Boolean isGameOver() {
+    this.gameNotYetStarted();
+    if (this.journal.lastEntriesArePasses(2)) {
+      this.state = GameState.STALEMATE;
+      return true;
+    }
+    if (this.getScore(this.pt) == 0) {
+      this.state = (this.pt == PlayerTurn.PLAYER1) ? GameState.PLAYER2WIN : GameState.PLAYER1WIN;
+      return true;
+    }
+    if (this.getScore(this.getOpponent(this.pt)) == 0) {
+      this.state = (this.pt == PlayerTurn.PLAYER1) ? GameState.PLAYER1WIN : GameState.PLAYER2WIN;
+      return true;
+    }
+    if (this.noMoreLegalMoves()) {
+      this.state = GameState.STALEMATE;
+      return true;
+    }
+    return false;
+  }
+
+  // determines if the current player has run out of legal moves.
+  private boolean noMoreLegalMoves() {
+    for (long word : this.legalMask(this.pt)) {
+      if (word != 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public PlayerTurn currentTurn() {
+    this.gameNotYetStarted();
+    return this.pt;
+  }
+
+  @Override
+  public Disc getDiscAt(int x, int y) {
+    this.gameNotYetStarted();
+    if (!this.checkValidCoordinates(x, y)) {
+      throw new IllegalArgumentException("getDiscAt: POSN provided by user is invalid");
+    }
+    return GameDisc.of(this.type, this.colorAt(this.index(x, y)));
+  }
+
+  @Override
+  public boolean isDiscFlipped(int x, int y) {
+    this.gameNotYetStarted();
+    if (!this.checkValidCoordinates(x, y)) {
+      throw new IllegalArgumentException("isDiscFlipped: POSN provided by user is invalid");
+    }
+    return this.colorAt(this.index(x, y)) != DiscColor.FACEDOWN;
+  }
+
+  @Override
+  public int getDimensions() {
+    this.gameNotYetStarted();
+    return this.size;
+  }
+
+  @Override
+  public GameState getCurrentGameState() {
+    this.gameNotYetStarted();
+    return this.state;
+  }
+
+  @Override
+  public Disc[][] getCurrentBoardState() {
+    this.gameNotYetStarted();
+    Disc[][] copy = new Disc[this.size][this.size];
+    for (int y = 0; y < this.size; y++) {
+      for (int x = 0; x < this.size; x++) {
+        int cell = this.index(x, y);
+        if (get(this.playable, cell)) {
+          copy[y][x] = GameDisc.of(this.type, this.colorAt(cell));
+        }
+      }
+    }
+    return copy;
+  }
+
+  @Override
+  public BoardView getBoardView() {
+    this.gameNotYetStarted();
+    if (this.boardView == null || this.boardView.getVersion() != this.boardVersion) {
+      byte[] colors = BoardView.newColors(this.size);
+      for (int cell : this.topology.getPlayableCells()) {
+        BoardView.setColor(colors, cell, this.colorAt(cell));
+      }
+      this.boardView = new BoardView(this.size, this.boardVersion, colors);
+    }
+    return this.boardView;
+  }
+
+  @Override
+  public long getBoardVersion() {
+    this.gameNotYetStarted();
+    return this.boardVersion;
+  }
+
+  @Override
+  public boolean canPlayerPlay(int x, int y) {
+    if (!this.checkValidCoordinates(x, y)) {
+      return false;
+    }
+    return !this.isDiscFlipped(x, y);
+  }
+
+  @Override
+  public int getScore(PlayerTurn player) {
+    return this.getDiscCount(this.getPlayerColor(player));
+  }
+
+  @Override
+  public int getDiscCount(DiscColor color) {
+    this.gameNotYetStarted();
+    switch (color) {
+      case BLACK:
+        return this.blackCount;
+      case WHITE:
+        return this.whiteCount;
+      default:
+        return this.topology.getPlayableCells().length - this.blackCount - this.whiteCount;
+    }
+  }
+
+  @Override
+  public long getPositionKey() {
+    this.gameNotYetStarted();
+    return (this.pt == PlayerTurn.PLAYER2) ? this.discKey ^ this.keys.getSideKey() : this.discKey;
+  }
+
+  @Override
+  public MoveJournal getMoveJournal() {
+    this.gameNotYetStarted();
+    return this.journal;
+  }
+
+  @Override
+  public boolean doesPlayerHaveLegalMove() {
+    this.gameNotYetStarted();
+    return !this.noMoreLegalMoves();
+  }
+
+  @Override
+  public boolean isLegalMove(PlayerTurn player, int x, int y) {
+    this.gameNotYetStarted();
+    return this.checkValidCoordinates(x, y) && get(this.legalMask(player), this.index(x, y));
+  }
+
+  @Override
+  public int getLegalMoves(PlayerTurn player, int[] out) {
+    this.gameNotYetStarted();
+    long[] moves = this.legalMask(player);
+    int count = 0;
+    for (int i = 0; i < moves.length; i++) {
+      long word = moves[i];
+      while (word != 0) {
+        out[count] = i * 64 + Long.numberOfTrailingZeros(word);
+        count++;
+        word &= word - 1;
+      }
+    }
+    return count;
+  }
+
+  @Override
+  public String getType() {
+    return "Hexagonal";
+  }
+
+  @Override
+  public PlayerTurn getOpponent(PlayerTurn player) {
+    if (PlayerTurn.PLAYER2 == player) {
+      return PlayerTurn.PLAYER1;
+    }
+    return PlayerTurn.PLAYER2;
+  }
+
+  @Override
+  public DiscColor getPlayerColor(PlayerTurn player) {
+    return (player == PlayerTurn.PLAYER1) ? DiscColor.BLACK : DiscColor.WHITE;
+  }
+
+  @Override
+  public boolean checkValidCoordinates(int x, int y) {
+    return this.topology != null && this.topology.isPlayable(x, y);
+  }
+
+  @Override
+  public List<ReadOnlyReversiModel> getGameStates() {
+    return null;
+  }
+
+  @Override
+  public List<List<Integer>> getMoves() {
+    return null;
+  }
+
+  // toggles a player after a move has been made or pass has been attempted
+  private void togglePlayer() {
+    this.pt = this.getOpponent(this.pt);
+  }
+
+  // checks if the game has been started.
+  private void gameNotYetStarted() {
+    if (!this.gameOn) {
+      throw new IllegalStateException("The game hasn't started.");
+    }
+  }
+
+  private long[] ownMask(PlayerTurn player) {
+    return (this.getPlayerColor(player) == DiscColor.BLACK) ? this.black : this.white;
+  }
+
+  private long[] legalMask(PlayerTurn player) {
+    return (this.getPlayerColor(player) == DiscColor.BLACK) ? this.blackMoves : this.whiteMoves;
+  }
+
+  private DiscColor colorAt(int cell) {
+    if (get(this.black, cell)) {
+      return DiscColor.BLACK;
+    } else if (get(this.white, cell)) {
+      return DiscColor.WHITE;
+    }
+    return DiscColor.FACEDOWN;
+  }
+
+  private int index(int x, int y) {
+    return y * this.size + x;
+  }
+
+  private static boolean get(long[] mask, int cell) {
+    return (mask[cell >>> 6] & (1L << cell)) != 0;
+  }
+
+  private static void set(long[] mask, int cell) {
+    mask[cell >>> 6] |= 1L << cell;
+  }
+
+  private static void clear(long[] mask, int cell) {
+    mask[cell >>> 6] &= ~(1L << cell);
+  }
+}
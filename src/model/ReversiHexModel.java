@@ -1,12 +1,13 @@
 package model;
 
-import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.BitSet;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import controller.ModelEvent;
+import controller.ModelEventBus;
 import controller.ModelEventType;
 import controller.ModelListener;
 import discs.DiscType;
@@ -28,10 +29,18 @@ public class ReversiHexModel extends BoardUtils implements ReversiModel {
   protected Map<PlayerTurn, DiscColor> playerColorMap;
   protected int numRows;
   protected int numColumns;
-  protected StringBuilder playerAction;
+  protected MoveJournal journal;
   protected GameState state;
+  protected int[] flipBuffer;
+  protected Map<PlayerTurn, BitSet> legalMoves;
+  protected int[] discCounts = new int[DiscColor.values().length];
+  protected long discKey;
+  protected ZobristKeys keys;
+  protected BoardTopology topology;
+  protected long boardVersion;
+  private BoardView boardView;
 
-  protected List<ModelListener> modelListeners = new ArrayList<>();
+  protected final ModelEventBus eventBus = new ModelEventBus();
 
   /**
    * Constructor for a Reversi hexagonal model.
@@ -46,7 +55,7 @@ public class ReversiHexModel extends BoardUtils implements ReversiModel {
     // class invariant: only the current player can alter the board (make a move)
     // the class invariant is enforced here because we always start the game off with player one
     this.pt = PlayerTurn.PLAYER1;
-    this.playerAction = new StringBuilder();
+    this.journal = null;
     this.state = GameState.ONGOING;
     this.playerColorMap = new HashMap<>();
     playerColorMap.put(PlayerTurn.PLAYER1, DiscColor.BLACK);
@@ -61,17 +70,30 @@ public class ReversiHexModel extends BoardUtils implements ReversiModel {
   public ReversiHexModel(Disc[][] mockBoard) {
     this.gameBoard = mockBoard;
     this.gameOn = true;
-    this.numRows = 0;
-    this.numColumns = 0;
+    this.numRows = mockBoard.length;
+    this.numColumns = mockBoard.length;
+    this.flipBuffer = new int[mockBoard.length * mockBoard.length];
+    this.keys = ZobristKeys.forSize(mockBoard.length);
+    this.topology = BoardTopology.forSize(mockBoard.length);
+    for (Disc[] row : mockBoard) {
+      for (Disc disc : row) {
+        if (disc != null) {
+          this.discCounts[disc.getColor().ordinal()]++;
+        }
+      }
+    }
     this.type = DiscType.HEXDISC;
     // class invariant: only the current player can alter the board (make a move)
     // the class invariant is enforced here because we always start the game off with player one
     this.pt = PlayerTurn.PLAYER1;
-    this.playerAction = new StringBuilder();
+    this.journal = new MoveJournal(mockBoard.length);
     this.state = GameState.ONGOING;
     this.playerColorMap = new HashMap<>();
     playerColorMap.put(PlayerTurn.PLAYER1, DiscColor.BLACK);
     playerColorMap.put(PlayerTurn.PLAYER2, DiscColor.WHITE);
+    // legality is worked out from the players' colors, so it comes last.
+    this.initDiscKey();
+    this.initLegalMoves();
   }
 
   /**
@@ -79,22 +101,26 @@ public class ReversiHexModel extends BoardUtils implements ReversiModel {
    */
 
   public void addListener(ModelListener ml) {
-    modelListeners.add(ml);
+    this.eventBus.subscribe(ml);
+  }
+
+  @Override
+  public ModelEventBus getEventBus() {
+    return this.eventBus;
   }
 
   /**
    * The notifyListeners method notifies relevant listeners.
    */
   public void notifyListeners(ModelEvent modelEvent) {
-    for (ModelListener ml : this.modelListeners) {
-      ml.update(modelEvent);
-    }
+    this.eventBus.publish(modelEvent);
   }
 
   private void placeGameDiscs(int spacesMaxLeft, int spacesMaxRight, int i) {
     for (int j = 0; j < this.gameBoard[0].length; j++) {
       if (j >= spacesMaxLeft && j < this.gameBoard.length - spacesMaxRight) {
-        this.gameBoard[i][j] = new GameDisc(this.type, DiscColor.FACEDOWN);
+        this.gameBoard[i][j] = GameDisc.of(this.type, DiscColor.FACEDOWN);
+        this.discCounts[DiscColor.FACEDOWN.ordinal()]++;
       }
     }
   }
@@ -201,10 +227,32 @@ public class ReversiHexModel extends BoardUtils implements ReversiModel {
     setStartingPieces();
   }
 
+  // places a disc and keeps the per color counts and the position key in step
+  // with the board.
   private void setPiece(int x, int y, DiscColor color) {
-    GameDisc replacementDisc = new GameDisc(this.type, color);
-
-    this.gameBoard[y][x] = replacementDisc;
+    int cell = MoveGenerator.pack(x, y, this.gameBoard.length);
+    if (this.gameBoard[y][x] != null) {
+      this.discCounts[this.gameBoard[y][x].getColor().ordinal()]--;
+      this.discKey ^= this.keys.getDiscKey(this.gameBoard[y][x].getColor(), cell);
+    }
+    this.gameBoard[y][x] = GameDisc.of(this.type, color);
+    this.discCounts[color.ordinal()]++;
+    this.discKey ^= this.keys.getDiscKey(color, cell);
+    this.boardVersion++;
+  }
+
+  // recomputes the disc part of the position key from scratch.
+  private void initDiscKey() {
+    int size = this.gameBoard.length;
+    this.discKey = 0L;
+    for (int y = 0; y < size; y++) {
+      for (int x = 0; x < size; x++) {
+        if (this.gameBoard[y][x] != null) {
+          this.discKey ^= this.keys.getDiscKey(this.gameBoard[y][x].getColor(),
+                  MoveGenerator.pack(x, y, size));
+        }
+      }
+    }
   }
 
   private void setStartingPieces() {
@@ -250,7 +298,12 @@ public class ReversiHexModel extends BoardUtils implements ReversiModel {
     checkStartGameConditions(boardSize);
     this.gameOn = true;
     this.gameBoard = new Disc[numRows][numColumns];
+    this.flipBuffer = new int[numRows * numColumns];
+    this.journal = new MoveJournal(boardSize);
+    this.keys = ZobristKeys.forSize(boardSize);
+    this.topology = BoardTopology.forSize(boardSize);
     initBoard();
+    this.initLegalMoves();
     //notifyListeners(new ModelEvent(ModelEventType.PLAYER1TURN, "It's Your Turn Player 1"));
   }
 
@@ -277,9 +330,16 @@ public class ReversiHexModel extends BoardUtils implements ReversiModel {
 
   @Override
   public void makeMove(int x, int y) {
-    List<Integer> originalCoordinate = new ArrayList<>();
-    originalCoordinate.add(x);
-    originalCoordinate.add(y);
+    this.eventBus.beginBatch();
+    try {
+      this.applyMove(x, y);
+    } finally {
+      this.eventBus.endBatch();
+    }
+  }
+
+  // makes a move, or reports why it is illegal, inside the batch makeMove opened.
+  private void applyMove(int x, int y) {
     if (!this.checkValidCoordinates(x, y)) {
       notifyListeners(new ModelEvent(ModelEventType.ILLEGALMOVE,
               "Illegal Move: In Grid Out Of Bounds"));
@@ -305,10 +365,13 @@ public class ReversiHexModel extends BoardUtils implements ReversiModel {
       return;
     }
 
-    List<List<List<Integer>>> moves = BoardUtils.bfs(this, x, y);
-    boolean allEmptyLists = moves.stream().allMatch(List::isEmpty);
+    // class invariant: only the current player can alter the board (make a move)
+    // the class invariant is enforced here because we only collect the flips
+    // and apply the color of the current player
+    DiscColor playerColor = this.getPlayerColor(this.pt);
+    int flipCount = MoveGenerator.flips(this, x, y, playerColor, this.flipBuffer);
 
-    if (allEmptyLists) {
+    if (flipCount == 0) {
       notifyListeners(new ModelEvent(ModelEventType.ILLEGALMOVE,
               "Illegal Move: In Grid No Moves"));
       if (this.pt == PlayerTurn.PLAYER1) {
@@ -320,47 +383,100 @@ public class ReversiHexModel extends BoardUtils implements ReversiModel {
       }
       return;
     }
-    // class invariant: only the current player can alter the board (make a move)
-    // the class invariant is enforced here because we are only applying a color filter
-    // with the current player color
-    for (List<List<Integer>> l : moves) {
-      l.forEach(innerList -> {
-        applyColorFilter(innerList, this.getPlayerColor(this.pt));
-
-        innerList.forEach(item -> this.playerAction.append(item).append(" "));
-        this.playerAction.append(System.lineSeparator()); // Add a newline after each inner list
-      });
+    this.setPiece(x, y, playerColor);
+    int size = this.gameBoard.length;
+    for (int i = 0; i < flipCount; i++) {
+      this.setPiece(MoveGenerator.unpackX(this.flipBuffer[i], size),
+              MoveGenerator.unpackY(this.flipBuffer[i], size), playerColor);
     }
+    this.journal.recordMove(MoveGenerator.pack(x, y, size), this.flipBuffer, flipCount);
+    this.updateLegalMoves(MoveGenerator.pack(x, y, size), flipCount);
     // class invariant: only the current player can alter the board (make a move)
     // the class invariant is enforced here because when we execute a valid move
     // we can now switch to the opposite color.
     this.togglePlayer();
+    this.notifyTurn(MoveGenerator.pack(x, y, size), flipCount);
+  }
+
+  // tells listeners whose turn it is after a change, with the cell a disc was placed on
+  // or taken off, PASS if none, and the cells that flipped in flipBuffer.
+  private void notifyTurn(int cell, int flipCount) {
+    if (!this.eventBus.hasSubscribers()) {
+      return;
+    }
+    int[] changed = new int[(cell == MoveJournal.PASS) ? 0 : flipCount + 1];
+    if (changed.length > 0) {
+      changed[0] = cell;
+      System.arraycopy(this.flipBuffer, 0, changed, 1, flipCount);
+    }
     if (this.pt == PlayerTurn.PLAYER1) {
       notifyListeners(new ModelEvent(ModelEventType.PLAYER1TURN,
-              "It's Your Turn Player 1"));
+              "It's Your Turn Player 1", changed));
     } else {
       notifyListeners(new ModelEvent(ModelEventType.PLAYER2TURN,
-              "It's Your Turn Player 2"));
+              "It's Your Turn Player 2", changed));
+    }
+  }
+
+  // recomputes every player's legal moves from scratch.
+  protected void initLegalMoves() {
+    this.legalMoves = new EnumMap<>(PlayerTurn.class);
+    for (PlayerTurn player : PlayerTurn.values()) {
+      this.legalMoves.put(player, new BitSet());
+    }
+    for (int cell : this.topology.getPlayableCells()) {
+      this.refreshLegality(cell);
     }
   }
 
-  // a method that applies the current players color to newly captured cells.
-  private void applyColorFilter(List<Integer> list, DiscColor discColor) {
-    this.setPiece(list.get(0), list.get(1), discColor);
+  // updates the legal moves after a disc was placed on or removed from cell and the
+  // first flipCount cells of flipBuffer were flipped. Only the first empty cell along
+  // each ray out of a changed cell can gain or lose a capture through it.
+  private void updateLegalMoves(int cell, int flipCount) {
+    this.refreshLegality(cell);
+    this.refreshLegalityAround(cell);
+    for (int i = 0; i < flipCount; i++) {
+      this.refreshLegalityAround(this.flipBuffer[i]);
+    }
   }
 
-  // determines if the last n log entries were passes
-  private boolean consecutivePasses(int n) {
-    List<String> moveHistory = Arrays.asList(this.playerAction.toString().split("\n"));
-    if (moveHistory.size() >= n) {
-      boolean areLastNEqual = moveHistory.subList(moveHistory.size() - n, moveHistory.size())
-              .stream().allMatch("pass"::equals);
-      return areLastNEqual;
-    } else {
-      return false;
+  private void refreshLegalityAround(int cell) {
+    int size = this.gameBoard.length;
+    int[] rayCells = this.topology.getRayCells();
+    for (MoveDirection md : MoveGenerator.DIRECTIONS) {
+      int start = this.topology.getRayStart(md, cell);
+      int end = start + this.topology.getRayLength(md, cell);
+      for (int i = start; i < end; i++) {
+        Disc disc = this.gameBoard[MoveGenerator.unpackY(rayCells[i], size)]
+                [MoveGenerator.unpackX(rayCells[i], size)];
+        if (disc == null) {
+          break;
+        } else if (disc.getColor() == DiscColor.FACEDOWN) {
+          this.refreshLegality(rayCells[i]);
+          break;
+        }
+      }
     }
   }
 
+  // re-evaluates whether each player may place a disc on cell.
+  private void refreshLegality(int cell) {
+    int size = this.gameBoard.length;
+    int x = MoveGenerator.unpackX(cell, size);
+    int y = MoveGenerator.unpackY(cell, size);
+    boolean empty = this.gameBoard[y][x] != null
+            && this.gameBoard[y][x].getColor() == DiscColor.FACEDOWN;
+    for (PlayerTurn player : PlayerTurn.values()) {
+      this.legalMoves.get(player).set(cell,
+              empty && MoveGenerator.isLegal(this, x, y, this.getPlayerColor(player)));
+    }
+  }
+
+  // determines if the last n journal entries were passes
+  private boolean consecutivePasses(int n) {
+    return this.journal.lastEntriesArePasses(n);
+  }
+
   // returns the current gameState
   @Override
   public GameState getCurrentGameState() {
@@ -385,6 +501,31 @@ public class ReversiHexModel extends BoardUtils implements ReversiModel {
     return copy;
   }
 
+  @Override
+  public BoardView getBoardView() {
+    this.gameNotYetStarted();
+    if (this.boardView == null || this.boardView.getVersion() != this.boardVersion) {
+      int size = this.gameBoard.length;
+      byte[] colors = BoardView.newColors(size);
+      for (int y = 0; y < size; y++) {
+        for (int x = 0; x < size; x++) {
+          if (this.checkValidCoordinates(x, y)) {
+            BoardView.setColor(colors, MoveGenerator.pack(x, y, size),
+                    this.gameBoard[y][x].getColor());
+          }
+        }
+      }
+      this.boardView = new BoardView(size, this.boardVersion, colors);
+    }
+    return this.boardView;
+  }
+
+  @Override
+  public long getBoardVersion() {
+    this.gameNotYetStarted();
+    return this.boardVersion;
+  }
+
   @Override
   public boolean canPlayerPlay(int x, int y) {
     try {
@@ -422,23 +563,9 @@ public class ReversiHexModel extends BoardUtils implements ReversiModel {
     return false;
   }
 
-  // determines if there are any legal moves by running
-  // a bfs on every facedown cell.
+  // determines if the current player has run out of legal moves.
   private Boolean noMoreLegalMoves() {
-    for (int i = 0; i < this.gameBoard.length; i++) {
-      for (int j = 0; j < this.gameBoard[0].length; j++) {
-        if (this.gameBoard[j][i] == null) {
-          int doNothing = 0;
-        } else if (this.gameBoard[j][i].getColor() == DiscColor.FACEDOWN) {
-          List<List<List<Integer>>> moves = bfs(this, i, j);
-          boolean allEmptyLists = moves.stream().allMatch(List::isEmpty);
-          if (!allEmptyLists) {
-            return false;
-          }
-        }
-      }
-    }
-    return true;
+    return this.legalMoves.get(this.pt).isEmpty();
   }
 
   @Override
@@ -465,26 +592,55 @@ public class ReversiHexModel extends BoardUtils implements ReversiModel {
   // gets a player score.
   @Override
   public int getScore(PlayerTurn player) {
+    return this.getDiscCount(this.getPlayerColor(player));
+  }
+
+  @Override
+  public MoveJournal getMoveJournal() {
     this.gameNotYetStarted();
-    int countDiscsForThisPlayer = 0;
-    for (Disc[] row : this.gameBoard) {
-      for (Disc disc : row) {
-        if (disc == null) {
-          countDiscsForThisPlayer += 0;
-        } else if (disc.getColor() == this.getPlayerColor(player)) {
-          countDiscsForThisPlayer++;
-        }
-      }
-    }
-    return countDiscsForThisPlayer;
+    return this.journal;
+  }
+
+  @Override
+  public int getDiscCount(DiscColor color) {
+    this.gameNotYetStarted();
+    return this.discCounts[color.ordinal()];
   }
 
+  @Override
+  public long getPositionKey() {
+    this.gameNotYetStarted();
+    // the side to move is folded in here rather than in togglePlayer, so the key is
+    // right however pt was last assigned.
+    if (this.pt == PlayerTurn.PLAYER2) {
+      return this.discKey ^ this.keys.getSideKey();
+    }
+    return this.discKey;
+  }
 
   @Override
   public boolean doesPlayerHaveLegalMove() {
-    DiscColor currentColor = this.getPlayerColor(this.pt);
-    int playerScore = this.getScore(this.pt);
-    return playerScore != 0;
+    this.gameNotYetStarted();
+    return !this.legalMoves.get(this.pt).isEmpty();
+  }
+
+  @Override
+  public boolean isLegalMove(PlayerTurn player, int x, int y) {
+    this.gameNotYetStarted();
+    return this.checkValidCoordinates(x, y)
+            && this.legalMoves.get(player).get(MoveGenerator.pack(x, y, this.gameBoard.length));
+  }
+
+  @Override
+  public int getLegalMoves(PlayerTurn player, int[] out) {
+    this.gameNotYetStarted();
+    BitSet moves = this.legalMoves.get(player);
+    int count = 0;
+    for (int cell = moves.nextSetBit(0); cell >= 0; cell = moves.nextSetBit(cell + 1)) {
+      out[count] = cell;
+      count++;
+    }
+    return count;
   }
 
   @Override
@@ -513,6 +669,15 @@ public class ReversiHexModel extends BoardUtils implements ReversiModel {
   @Override
   public void pass() {
     this.gameNotYetStarted();
+    this.eventBus.beginBatch();
+    try {
+      this.applyPass();
+    } finally {
+      this.eventBus.endBatch();
+    }
+  }
+
+  private void applyPass() {
     // class invariant: only the current player can alter the board (make a move)
     // the class invariant is enforced here because when the user wants to pass
     // we are also toggling the player.
@@ -525,7 +690,58 @@ public class ReversiHexModel extends BoardUtils implements ReversiModel {
     } else {
       notifyListeners(new ModelEvent(ModelEventType.PLAYER2TURN, "It's Your Turn Player 2"));
     }
-    this.playerAction.append("pass\n");
+    this.journal.recordPass();
+  }
+
+  @Override
+  public void undoMove() {
+    this.gameNotYetStarted();
+    int entry = this.journal.size() - 1;
+    if (entry < 0) {
+      throw new IllegalStateException("There is no move to undo");
+    }
+    int cell = this.journal.getMoveCell(entry);
+    int flipCount = 0;
+    if (cell != MoveJournal.PASS) {
+      int size = this.gameBoard.length;
+      int x = MoveGenerator.unpackX(cell, size);
+      int y = MoveGenerator.unpackY(cell, size);
+      DiscColor opponentColor = (this.gameBoard[y][x].getColor() == DiscColor.BLACK)
+              ? DiscColor.WHITE : DiscColor.BLACK;
+      flipCount = this.journal.getFlips(entry, this.flipBuffer);
+      for (int i = 0; i < flipCount; i++) {
+        this.setPiece(MoveGenerator.unpackX(this.flipBuffer[i], size),
+                MoveGenerator.unpackY(this.flipBuffer[i], size), opponentColor);
+      }
+      this.setPiece(x, y, DiscColor.FACEDOWN);
+      this.updateLegalMoves(cell, flipCount);
+    }
+    this.journal.removeLast();
+    this.togglePlayer();
+    this.state = GameState.ONGOING;
+    this.notifyTurn(cell, flipCount);
+  }
+
+  @Override
+  public void unmakeMove(int mark) {
+    this.gameNotYetStarted();
+    if (mark < 0 || mark > this.journal.size()) {
+      throw new IllegalArgumentException("Invalid history mark");
+    }
+    this.eventBus.beginBatch();
+    try {
+      while (this.journal.size() > mark) {
+        this.undoMove();
+      }
+    } finally {
+      this.eventBus.endBatch();
+    }
+  }
+
+  @Override
+  public int getHistoryMark() {
+    this.gameNotYetStarted();
+    return this.journal.size();
   }
 
   @Override
@@ -539,7 +755,7 @@ public class ReversiHexModel extends BoardUtils implements ReversiModel {
   }
 
   // toggles a player after a move has been made or pass has been attempted
-  private void togglePlayer() {
+  protected void togglePlayer() {
     this.gameNotYetStarted();
     if (this.pt == PlayerTurn.PLAYER1) {
       this.pt = PlayerTurn.PLAYER2;
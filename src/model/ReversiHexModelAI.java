@@ -1,7 +1,10 @@
 package model;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
+import java.util.EnumMap;
 import java.util.List;
 
 import controller.ModelListener;
@@ -11,10 +14,15 @@ import player.PlayerTurn;
 import provider.model.Cell;
 import provider.model.Coordinate;
 import provider.strategy.ReversiStrategy;
+import strategy.AlphaBetaStrategy;
 import strategy.CornersStrategy;
+import strategy.EndgameSolverStrategy;
 import strategy.IStrategy;
 import strategy.MaximizeCaptureStrategy;
 import strategy.MiniMaxStrategy;
+import strategy.MonteCarloStrategy;
+import strategy.OpeningBook;
+import strategy.OpeningBookStrategy;
 import strategy.StrategyType;
 
 /**
@@ -54,14 +62,26 @@ public class ReversiHexModelAI extends ReversiHexModel implements ReversiModel {
     this.numColumns = r.numColumns;
     this.type = r.type;
     this.gameBoard = iterateOverDiscArray(r.gameBoard);
+    this.flipBuffer = new int[r.flipBuffer.length];
+    this.discCounts = r.discCounts.clone();
+    this.discKey = r.discKey;
+    this.keys = r.keys;
+    this.topology = r.topology;
+    this.legalMoves = new EnumMap<>(PlayerTurn.class);
+    for (PlayerTurn player : PlayerTurn.values()) {
+      this.legalMoves.put(player, (BitSet) r.legalMoves.get(player).clone());
+    }
     this.pt = r.pt;
-    this.playerAction = r.playerAction;
+    this.journal = new MoveJournal(r.journal);
     this.state = r.state;
     this.playerColorMap = r.playerColorMap;
     this.strategyType = r.strategyType;
     this.player1 = r.player1;
-    this.gameStates = r.gameStates;
-    this.allMoves = r.allMoves;
+    this.gameStates = new ArrayList<>(r.gameStates);
+    this.allMoves = new ArrayList<>();
+    for (List<Integer> move : r.allMoves) {
+      this.allMoves.add(new ArrayList<>(move));
+    }
     this.firstRun = r.firstRun;
   }
 
@@ -88,11 +108,32 @@ public class ReversiHexModelAI extends ReversiHexModel implements ReversiModel {
       case GOFORCORNER:
         return new Player(PlayerTurn.PLAYER2, new CornersStrategy(this,
                 PlayerTurn.PLAYER2, false));
+      case ALPHABETA:
+        return new Player(PlayerTurn.PLAYER2, new AlphaBetaStrategy(this, PlayerTurn.PLAYER2));
+      case MCTS:
+        return new Player(PlayerTurn.PLAYER2, new MonteCarloStrategy(this, PlayerTurn.PLAYER2));
+      case ENDGAME:
+        return new Player(PlayerTurn.PLAYER2, new EndgameSolverStrategy(this, PlayerTurn.PLAYER2,
+                new MaximizeCaptureStrategy(this, PlayerTurn.PLAYER2)));
+      case BOOK:
+        return new Player(PlayerTurn.PLAYER2, this.createBookStrategy());
       default:
         throw new IllegalStateException("Can't Create an AI without a strategy");
     }
   }
 
+  // plays from the default opening book and searches with alpha-beta out of it, or only
+  // searches if there is no book to open.
+  private IStrategy createBookStrategy() {
+    IStrategy fallback = new AlphaBetaStrategy(this, PlayerTurn.PLAYER2);
+    try {
+      return new OpeningBookStrategy(this, PlayerTurn.PLAYER2,
+              OpeningBook.open(OpeningBook.DEFAULT_FILE), fallback);
+    } catch (IOException e) {
+      return fallback;
+    }
+  }
+
   private ReadOnlyReversiModel createCopyOfModel(ReversiHexModel rorm) {
     ReadOnlyReversiModel copy = rorm;
     return copy;
@@ -131,14 +172,18 @@ public class ReversiHexModelAI extends ReversiHexModel implements ReversiModel {
 
   @Override
   public void pass() {
-    if (super.pt == this.player1.getPlayerTurn()) {
-      super.pt = this.player2.getPlayerTurn();
+    boolean humanPassed = super.pt == this.player1.getPlayerTurn();
+    // the pass is recorded before the AI replies, so the journal keeps the order the
+    // moves were played in and an undo takes back the AI's reply first.
+    this.togglePlayer();
+    this.allMoves.add(new ArrayList<>(Arrays.asList(-1)));
+    this.journal.recordPass();
+    if (humanPassed) {
+      if (this.player2 == null) {
+        this.player2 = createAI();
+      }
       this.moveAi();
-    } else {
-      super.pt = this.player1.getPlayerTurn();
     }
-    this.allMoves.add(new ArrayList<>(Arrays.asList(-1)));
-    this.playerAction.append("pass\n");
   }
 
   @Override
@@ -1,5 +1,6 @@
 package model;
 
+import controller.ModelEventBus;
 import controller.ModelListener;
 
 /**
@@ -45,5 +46,43 @@ public interface ReversiModel extends ReadOnlyReversiModel {
    */
   void pass();
 
+  /**
+   * Takes back the most recent move or pass: flipped discs are returned to the
+   * opponent, the placed disc is removed and the turn goes back to the player who
+   * made it. Subscribers are notified with a PLAYER1TURN or PLAYER2TURN event carrying
+   * the cells that changed, so search should walk positions on a copy of the board with
+   * no subscribers, like AlphaBetaStrategy and MonteCarloStrategy do.
+   *
+   * @throws IllegalStateException if the game hasn't started yet or nothing has been played
+   */
+  void undoMove();
+
+  /**
+   * Takes back every move and pass made since a history mark was taken. The events of
+   * the undone moves reach subscribers as one batch.
+   *
+   * @param mark a value previously returned by {@link #getHistoryMark()}
+   * @throws IllegalArgumentException if the mark lies beyond the current history
+   * @throws IllegalStateException    if the game hasn't started yet
+   */
+  void unmakeMove(int mark);
+
+  /**
+   * Returns a mark of the current point in the game's history, to later return
+   * to with {@link #unmakeMove(int)}.
+   *
+   * @return the number of moves and passes made so far
+   * @throws IllegalStateException if the game hasn't started yet
+   */
+  int getHistoryMark();
+
   void addListener(ModelListener ml);
+
+  /**
+   * Returns the bus that carries this model's events. Each move or pass publishes its
+   * events as one batch, and subscribers choose how they are delivered.
+   *
+   * @return the model's event bus
+   */
+  ModelEventBus getEventBus();
 }
\ No newline at end of file
@@ -0,0 +1,68 @@
+package model;
+
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+
+import discs.DiscColor;
+
+/**
+ * ZobristKeys holds the random numbers that give each position of a board size its
+ * identity. A position key is the XOR of the key of every disc on the board, one per
+ * packed cell and color, and of the side key when PLAYER2 is to move. Flipping a disc or
+ * changing the side to move is then a single XOR, so models keep their key up to date as
+ * the game is played. The numbers come from a fixed seed, so keys are the same in every
+ * model and every run, and they are cached per size like a BoardTopology.
+ */
+public final class ZobristKeys {
+  private static final Map<Integer, ZobristKeys> KEYS = new ConcurrentHashMap<>();
+  private static final long SEED = 0x2545F4914F6CDD1DL;
+
+  private final long[] blackKeys;
+  private final long[] whiteKeys;
+  private final long sideKey;
+
+  private ZobristKeys(int size) {
+    SplittableRandom random = new SplittableRandom(SEED ^ size);
+    int cells = size * size;
+    this.blackKeys = new long[cells];
+    this.whiteKeys = new long[cells];
+    for (int cell = 0; cell < cells; cell++) {
+      this.blackKeys[cell] = random.nextLong();
+      this.whiteKeys[cell] = random.nextLong();
+    }
+    this.sideKey = random.nextLong();
+  }
+
+  /**
+   * Returns the keys of a board size, computing them on first use.
+   *
+   * @param size the dimensions of the board
+   * @return the shared keys for that size
+   */
+  public static ZobristKeys forSize(int size) {
+    return KEYS.computeIfAbsent(size, ZobristKeys::new);
+  }
+
+  /**
+   * Gets the key of a disc of a color on a packed cell. FACEDOWN cells add nothing
+   * to a position key, so their key is 0.
+   */
+  public long getDiscKey(DiscColor color, int cell) {
+    switch (color) {
+      case BLACK:
+        return this.blackKeys[cell];
+      case WHITE:
+        return this.whiteKeys[cell];
+      default:
+        return 0L;
+    }
+  }
+
+  /**
+   * Gets the key that is XORed into a position key while PLAYER2 is to move.
+   */
+  public long getSideKey() {
+    return this.sideKey;
+  }
+}
@@ -0,0 +1,312 @@
+package server;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Arrays;
+
+import model.BoardTopology;
+
+/**
+ * A FeedMessage is one message of a SpectatorFeed, either a delta for one move or pass
+ * or a snapshot of the whole board. Cells are packed cells, y * size + x, and discs are
+ * EMPTY, BLACK or WHITE. Every message carries the sequence number of the journal entry
+ * it brings the board up to, the side to move and both scores afterwards, so a spectator
+ * can check it hasn't missed anything and show the score without counting discs.
+ * On the wire a message is a frame, a 4 byte length followed by the message, all big
+ * endian. A delta holds its placed cell and flipped cells in 2 bytes each, so a move is
+ * usually a few dozen bytes; a snapshot holds one byte per playable cell.
+ */
+public final class FeedMessage {
+  /**
+   * The kind of a message holding one move or pass.
+   */
+  public static final byte DELTA = 1;
+  /**
+   * The kind of a message holding the whole board.
+   */
+  public static final byte SNAPSHOT = 2;
+  /**
+   * A cell no disc is on.
+   */
+  public static final byte EMPTY = 0;
+  /**
+   * A cell holding a black disc.
+   */
+  public static final byte BLACK = 1;
+  /**
+   * A cell holding a white disc.
+   */
+  public static final byte WHITE = 2;
+  /**
+   * The placed cell of a delta for a pass.
+   */
+  public static final int PASS = -1;
+
+  private static final int MAX_FRAME_BYTES = 1 << 20;
+
+  private final byte kind;
+  private final int sequence;
+  private final int size;
+  private final byte mover;
+  private final int placedCell;
+  private final int[] flips;
+  private final byte sideToMove;
+  private final boolean gameOver;
+  private final int blackScore;
+  private final int whiteScore;
+  private final byte[] discs;
+
+  private FeedMessage(byte kind, int sequence, int size, byte mover, int placedCell,
+                      int[] flips, byte sideToMove, boolean gameOver, int blackScore,
+                      int whiteScore, byte[] discs) {
+    this.kind = kind;
+    this.sequence = sequence;
+    this.size = size;
+    this.mover = mover;
+    this.placedCell = placedCell;
+    this.flips = flips;
+    this.sideToMove = sideToMove;
+    this.gameOver = gameOver;
+    this.blackScore = blackScore;
+    this.whiteScore = whiteScore;
+    this.discs = discs;
+  }
+
+  /**
+   * Makes the delta of one move or pass.
+   *
+   * @param sequence   the number of journal entries once it is applied
+   * @param size       the board size
+   * @param mover      BLACK or WHITE, whoever moved or passed
+   * @param placedCell the packed cell of the placed disc, or PASS
+   * @param flips      the packed cells the move flipped
+   * @param flipCount  how many of flips to keep
+   * @param sideToMove BLACK or WHITE, whoever moves next
+   * @param gameOver   whether the game ended with this move
+   * @param blackScore black's score afterwards
+   * @param whiteScore white's score afterwards
+   * @return the delta
+   */
+  public static FeedMessage delta(int sequence, int size, byte mover, int placedCell,
+                                  int[] flips, int flipCount, byte sideToMove,
+                                  boolean gameOver, int blackScore, int whiteScore) {
+    return new FeedMessage(DELTA, sequence, size, mover, placedCell,
+            Arrays.copyOf(flips, flipCount), sideToMove, gameOver, blackScore, whiteScore,
+            null);
+  }
+
+  /**
+   * Makes a snapshot of a board.
+   *
+   * @param sequence   the number of journal entries played to reach the board
+   * @param size       the board size
+   * @param discs      the disc on every packed cell, EMPTY off the board
+   * @param sideToMove BLACK or WHITE, whoever moves next
+   * @param gameOver   whether the game is over
+   * @param blackScore black's score
+   * @param whiteScore white's score
+   * @return the snapshot
+   */
+  public static FeedMessage snapshot(int sequence, int size, byte[] discs, byte sideToMove,
+                                     boolean gameOver, int blackScore, int whiteScore) {
+    return new FeedMessage(SNAPSHOT, sequence, size, EMPTY, PASS, new int[0], sideToMove,
+            gameOver, blackScore, whiteScore, discs.clone());
+  }
+
+  /**
+   * Gets whether this is a DELTA or a SNAPSHOT.
+   */
+  public byte getKind() {
+    return this.kind;
+  }
+
+  /**
+   * Gets how many journal entries the board has seen once this message is applied.
+   */
+  public int getSequence() {
+    return this.sequence;
+  }
+
+  /**
+   * Gets the board size.
+   */
+  public int getSize() {
+    return this.size;
+  }
+
+  /**
+   * Gets who moved or passed in a delta, BLACK or WHITE; EMPTY in a snapshot.
+   */
+  public byte getMover() {
+    return this.mover;
+  }
+
+  /**
+   * Gets the packed cell a delta placed its disc on, or PASS.
+   */
+  public int getPlacedCell() {
+    return this.placedCell;
+  }
+
+  /**
+   * Gets the packed cells a delta flipped.
+   */
+  public int[] getFlips() {
+    return this.flips.clone();
+  }
+
+  /**
+   * Gets who moves next, BLACK or WHITE.
+   */
+  public byte getSideToMove() {
+    return this.sideToMove;
+  }
+
+  /**
+   * Gets whether the game is over.
+   */
+  public boolean isGameOver() {
+    return this.gameOver;
+  }
+
+  /**
+   * Gets black's score.
+   */
+  public int getBlackScore() {
+    return this.blackScore;
+  }
+
+  /**
+   * Gets white's score.
+   */
+  public int getWhiteScore() {
+    return this.whiteScore;
+  }
+
+  /**
+   * Applies this message to a spectator's board.
+   *
+   * @param board the disc on every packed cell, size * size long, updated in place
+   * @throws IllegalArgumentException if the board isn't the message's size
+   */
+  public void applyTo(byte[] board) {
+    if (board.length != this.size * this.size) {
+      throw new IllegalArgumentException("Board size doesn't match the message");
+    }
+    if (this.kind == SNAPSHOT) {
+      System.arraycopy(this.discs, 0, board, 0, board.length);
+      return;
+    }
+    if (this.placedCell != PASS) {
+      board[this.placedCell] = this.mover;
+    }
+    for (int cell : this.flips) {
+      board[cell] = this.mover;
+    }
+  }
+
+  /**
+   * Encodes this message as a frame.
+   *
+   * @return the frame, ready to be written
+   */
+  public byte[] toFrame() {
+    int[] playable = BoardTopology.forSize(this.size).getPlayableCells();
+    int body = 1 + 4 + 2 + 1 + 1 + 2 + 2
+            + ((this.kind == DELTA) ? 1 + 2 + 2 + 2 * this.flips.length : playable.length);
+    ByteBuffer frame = ByteBuffer.allocate(4 + body);
+    frame.putInt(body);
+    frame.put(this.kind);
+    frame.putInt(this.sequence);
+    frame.putShort((short) this.size);
+    frame.put(this.sideToMove);
+    frame.put((byte) (this.gameOver ? 1 : 0));
+    frame.putShort((short) this.blackScore);
+    frame.putShort((short) this.whiteScore);
+    if (this.kind == DELTA) {
+      frame.put(this.mover);
+      frame.putShort((short) this.placedCell);
+      frame.putShort((short) this.flips.length);
+      for (int cell : this.flips) {
+        frame.putShort((short) cell);
+      }
+    } else {
+      // only playable cells are sent; both ends know which they are from the size.
+      for (int cell : playable) {
+        frame.put(this.discs[cell]);
+      }
+    }
+    return frame.array();
+  }
+
+  /**
+   * Reads the next frame off a channel, blocking until it has all arrived.
+   *
+   * @param channel the channel to read from
+   * @return the message, or null if the channel ended between frames
+   * @throws IOException if the channel fails, ends inside a frame or sends a bad frame
+   */
+  public static FeedMessage read(ReadableByteChannel channel) throws IOException {
+    ByteBuffer length = ByteBuffer.allocate(4);
+    if (!readFully(channel, length, true)) {
+      return null;
+    }
+    int body = length.getInt(0);
+    if (body <= 0 || body > MAX_FRAME_BYTES) {
+      throw new IOException("Bad frame length " + body);
+    }
+    ByteBuffer in = ByteBuffer.allocate(body);
+    readFully(channel, in, false);
+    in.flip();
+    try {
+      return decode(in);
+    } catch (BufferUnderflowException bue) {
+      throw new IOException("Frame is shorter than its message", bue);
+    }
+  }
+
+  private static boolean readFully(ReadableByteChannel channel, ByteBuffer buffer,
+                                   boolean mayEnd) throws IOException {
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer) < 0) {
+        if (mayEnd && buffer.position() == 0) {
+          return false;
+        }
+        throw new EOFException("Feed ended inside a frame");
+      }
+    }
+    return true;
+  }
+
+  private static FeedMessage decode(ByteBuffer in) throws IOException {
+    byte kind = in.get();
+    int sequence = in.getInt();
+    int size = in.getShort();
+    byte sideToMove = in.get();
+    boolean gameOver = in.get() != 0;
+    int blackScore = in.getShort();
+    int whiteScore = in.getShort();
+    if (kind == DELTA) {
+      byte mover = in.get();
+      int placedCell = in.getShort();
+      int[] flips = new int[in.getShort()];
+      for (int i = 0; i < flips.length; i++) {
+        flips[i] = in.getShort();
+      }
+      return new FeedMessage(DELTA, sequence, size, mover, placedCell, flips, sideToMove,
+              gameOver, blackScore, whiteScore, null);
+    }
+    if (kind != SNAPSHOT) {
+      throw new IOException("Unknown message kind " + kind);
+    }
+    byte[] discs = new byte[size * size];
+    for (int cell : BoardTopology.forSize(size).getPlayableCells()) {
+      discs[cell] = in.get();
+    }
+    return new FeedMessage(SNAPSHOT, sequence, size, EMPTY, PASS, new int[0], sideToMove,
+            gameOver, blackScore, whiteScore, discs);
+  }
+}
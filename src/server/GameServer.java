@@ -0,0 +1,145 @@
+package server;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import controller.PlayerEvent;
+
+/**
+ * A GameServer hosts many matches at once without any view. Every Match runs on its own
+ * thread and blocks on its action queue between moves, so the matches are written as
+ * plain sequential loops and an idle match costs a parked thread and nothing else.
+ * On a runtime with virtual threads the default executor gives each match a virtual
+ * thread, so tens of thousands of waiting matches fit in a few carrier threads; on older
+ * runtimes it falls back to daemon platform threads with small stacks. Players reach a
+ * match through submitAction, from any thread.
+ */
+public final class GameServer implements AutoCloseable {
+  // platform threads only need room for a match loop, not for a deep search.
+  private static final long FALLBACK_STACK_BYTES = 256 * 1024;
+
+  private final ExecutorService executor;
+  private final Map<Long, Match> matches = new ConcurrentHashMap<>();
+  private final AtomicLong nextId = new AtomicLong();
+
+  /**
+   * Constructor for a server that runs matches on the default match executor.
+   */
+  public GameServer() {
+    this(newMatchExecutor());
+  }
+
+  /**
+   * Constructor for a server that runs matches on the given executor. Each match holds
+   * one of its threads until the game is over, so it should not be a small fixed pool.
+   *
+   * @param executor the executor to run matches on, shut down when the server closes
+   * @throws IllegalArgumentException if the executor is null
+   */
+  public GameServer(ExecutorService executor) {
+    if (executor == null) {
+      throw new IllegalArgumentException("Executor can't be null");
+    }
+    this.executor = executor;
+  }
+
+  /**
+   * Makes the default match executor: a virtual thread per match when the runtime has
+   * virtual threads, and a daemon platform thread per match otherwise.
+   *
+   * @return a new executor that starts a thread for every match
+   */
+  public static ExecutorService newMatchExecutor() {
+    try {
+      return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor")
+              .invoke(null);
+    } catch (ReflectiveOperationException roe) {
+      AtomicLong threads = new AtomicLong();
+      ThreadFactory factory = task -> {
+        Thread thread = new Thread(null, task, "match-" + threads.incrementAndGet(),
+                FALLBACK_STACK_BYTES);
+        thread.setDaemon(true);
+        return thread;
+      };
+      return Executors.newCachedThreadPool(factory);
+    }
+  }
+
+  /**
+   * Starts a new match on a fresh board.
+   *
+   * @param size the board size
+   * @return the match, already waiting for the first player's action
+   * @throws IllegalArgumentException if the size isn't a valid board size
+   * @throws IllegalStateException    if the server has been closed
+   */
+  public Match createMatch(int size) {
+    if (this.executor.isShutdown()) {
+      throw new IllegalStateException("The server has been closed");
+    }
+    Match match = new Match(this.nextId.incrementAndGet(), size);
+    this.matches.put(match.getId(), match);
+    match.getCompletion().whenComplete((done, failure) -> this.matches.remove(match.getId()));
+    this.executor.execute(match::run);
+    return match;
+  }
+
+  /**
+   * Sends a player action to a match.
+   *
+   * @param matchId the id of the match
+   * @param action  the action, a MOVE described as "x y" or a PASS
+   * @return a future that completes with true once the match has applied the action, and
+   *         with false if it rejected it or the match is over or unknown
+   */
+  public CompletableFuture<Boolean> submitAction(long matchId, PlayerEvent action) {
+    Match match = this.matches.get(matchId);
+    if (match == null) {
+      return CompletableFuture.completedFuture(false);
+    }
+    return match.submit(action);
+  }
+
+  /**
+   * Gets a match that is still being played.
+   *
+   * @param matchId the id of the match
+   * @return the match, or null if it is over or unknown
+   */
+  public Match getMatch(long matchId) {
+    return this.matches.get(matchId);
+  }
+
+  /**
+   * Gets how many matches are still being played.
+   */
+  public int getActiveMatches() {
+    return this.matches.size();
+  }
+
+  /**
+   * Stops every match still being played, completing their futures exceptionally, and
+   * waits briefly for their threads to finish. If the calling thread is interrupted
+   * while waiting it stops waiting and keeps its interrupt status.
+   */
+  @Override
+  public void close() {
+    this.executor.shutdownNow();
+    try {
+      this.executor.awaitTermination(1, TimeUnit.SECONDS);
+    } catch (InterruptedException ie) {
+      Thread.currentThread().interrupt();
+    }
+    // a match the executor never got to start has no thread to end it.
+    for (Match match : this.matches.values()) {
+      match.getCompletion().completeExceptionally(
+              new IllegalStateException("The server has been closed"));
+    }
+  }
+}
@@ -0,0 +1,220 @@
+package server;
+
+import java.io.IOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A LocalSocketTransport serves a SpectatorFeed over a Unix domain socket, for
+ * spectators on the same machine, like a relay process or a local bot. Every spectator
+ * has a bounded queue of frames that a writer thread drains, so broadcasting only costs
+ * the game's thread a queue operation per spectator. A spectator whose queue fills up
+ * has its backlog replaced by the feed's catch up, the last snapshot and the deltas
+ * since, so it skips ahead instead of holding frames nobody will read in time.
+ * Spectators read frames with FeedMessage.read.
+ */
+public final class LocalSocketTransport implements SpectatorTransport {
+  /**
+   * How many frames a spectator may fall behind by default before it is caught up from
+   * the last snapshot instead.
+   */
+  public static final int DEFAULT_QUEUE_FRAMES = 64;
+
+  private final Path socketPath;
+  private final int queueFrames;
+  private final ExecutorService writers;
+  private final List<Spectator> spectators = new CopyOnWriteArrayList<>();
+  private volatile boolean closed;
+  private ServerSocketChannel server;
+  private SpectatorFeed feed;
+
+  /**
+   * Constructor for a transport that lets spectators fall DEFAULT_QUEUE_FRAMES behind.
+   *
+   * @param socketPath where to create the socket, which must not exist yet
+   */
+  public LocalSocketTransport(Path socketPath) {
+    this(socketPath, DEFAULT_QUEUE_FRAMES);
+  }
+
+  /**
+   * Constructor for a transport.
+   *
+   * @param socketPath  where to create the socket, which must not exist yet
+   * @param queueFrames how many frames a spectator may fall behind
+   * @throws IllegalArgumentException if the path is null or the queue isn't positive
+   */
+  public LocalSocketTransport(Path socketPath, int queueFrames) {
+    if (socketPath == null || queueFrames <= 0) {
+      throw new IllegalArgumentException("A socket path and a positive queue are needed");
+    }
+    this.socketPath = socketPath;
+    this.queueFrames = queueFrames;
+    AtomicLong threads = new AtomicLong();
+    this.writers = Executors.newCachedThreadPool(task -> {
+      Thread thread = new Thread(task, "spectator-writer-" + threads.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  /**
+   * Connects to a transport's socket as a spectator.
+   *
+   * @param socketPath the socket of the transport
+   * @return the connected channel, to read frames from with FeedMessage.read
+   * @throws IOException if the socket can't be connected to
+   */
+  public static SocketChannel connect(Path socketPath) throws IOException {
+    return SocketChannel.open(UnixDomainSocketAddress.of(socketPath));
+  }
+
+  @Override
+  public void open(SpectatorFeed feed) throws IOException {
+    if (this.server != null) {
+      throw new IllegalStateException("The transport is already open");
+    }
+    this.feed = feed;
+    this.server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+    this.server.bind(UnixDomainSocketAddress.of(this.socketPath));
+    Thread acceptor = new Thread(this::acceptSpectators, "spectator-acceptor");
+    acceptor.setDaemon(true);
+    acceptor.start();
+  }
+
+  @Override
+  public void broadcast(byte[] frame) {
+    for (Spectator spectator : this.spectators) {
+      spectator.offer(frame);
+    }
+  }
+
+  @Override
+  public int getSpectatorCount() {
+    return this.spectators.size();
+  }
+
+  @Override
+  public void close() throws IOException {
+    this.closed = true;
+    if (this.server != null) {
+      this.server.close();
+    }
+    for (Spectator spectator : this.spectators) {
+      spectator.drop();
+    }
+    this.writers.shutdownNow();
+    Files.deleteIfExists(this.socketPath);
+  }
+
+  private void acceptSpectators() {
+    while (!this.closed) {
+      try {
+        Spectator spectator = new Spectator(this.server.accept());
+        this.feed.join(frames -> {
+          spectator.offerAll(frames);
+          this.spectators.add(spectator);
+        });
+      } catch (ClosedChannelException cce) {
+        return;
+      } catch (IOException ioe) {
+        // one failed accept shouldn't stop the others.
+      }
+    }
+  }
+
+  // one connected spectator and the frames it hasn't been sent yet.
+  private final class Spectator {
+    private final SocketChannel channel;
+    private final Deque<byte[]> queue = new ArrayDeque<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    private Spectator(SocketChannel channel) {
+      this.channel = channel;
+    }
+
+    // called while the feed is locked, so no frame can come between.
+    private void offer(byte[] frame) {
+      synchronized (this.queue) {
+        if (this.queue.size() < LocalSocketTransport.this.queueFrames) {
+          this.queue.addLast(frame);
+        } else {
+          this.queue.clear();
+          this.queue.addAll(LocalSocketTransport.this.feed.getCatchUp());
+        }
+      }
+      this.schedule();
+    }
+
+    private void offerAll(List<byte[]> frames) {
+      synchronized (this.queue) {
+        this.queue.addAll(frames);
+      }
+      this.schedule();
+    }
+
+    private void schedule() {
+      if (this.scheduled.compareAndSet(false, true)) {
+        try {
+          LocalSocketTransport.this.writers.execute(this::drain);
+        } catch (RuntimeException re) {
+          // the transport is closing.
+          this.scheduled.set(false);
+        }
+      }
+    }
+
+    private void drain() {
+      try {
+        byte[] frame;
+        while ((frame = this.poll()) != null) {
+          ByteBuffer out = ByteBuffer.wrap(frame);
+          while (out.hasRemaining()) {
+            this.channel.write(out);
+          }
+        }
+      } catch (IOException ioe) {
+        this.drop();
+        return;
+      } finally {
+        this.scheduled.set(false);
+      }
+      boolean pending;
+      synchronized (this.queue) {
+        pending = !this.queue.isEmpty();
+      }
+      if (pending) {
+        this.schedule();
+      }
+    }
+
+    private byte[] poll() {
+      synchronized (this.queue) {
+        return this.queue.pollFirst();
+      }
+    }
+
+    private void drop() {
+      LocalSocketTransport.this.spectators.remove(this);
+      try {
+        this.channel.close();
+      } catch (IOException ioe) {
+        // it is being dropped anyway.
+      }
+    }
+  }
+}
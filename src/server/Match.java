@@ -0,0 +1,168 @@
+package server;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import controller.PlayerEvent;
+import controller.PlayerEventType;
+import model.ReversiHexModel;
+import model.ReversiModel;
+import player.PlayerTurn;
+
+/**
+ * A Match is one game hosted by a GameServer. Its model belongs to the thread that runs
+ * the match, which takes the players' actions off a blocking queue one at a time and
+ * applies them, so a match waiting for a player holds no lock and spends no CPU; it is
+ * only parked in take(). Every submitted action gets a CompletableFuture that tells the
+ * player whether it was applied, and the match's own future completes once the game is
+ * over, so a caller can wait on either without polling.
+ * Moves are PlayerEvents like the ones a ReversiGUI sends, a MOVE described as "x y" or
+ * a PASS. An action from the player not to move, or an illegal move, is rejected and
+ * leaves the game as it was.
+ */
+public final class Match {
+  private final long id;
+  private final ReversiModel model;
+  private final BlockingQueue<Action> actions = new LinkedBlockingQueue<>();
+  private final CompletableFuture<Match> completion = new CompletableFuture<>();
+  private volatile int moveCount;
+
+  /**
+   * Constructor for a match on a new board.
+   *
+   * @param id   the id the server knows the match by
+   * @param size the board size
+   * @throws IllegalArgumentException if the size isn't a valid board size
+   */
+  Match(long id, int size) {
+    this.id = id;
+    this.model = new ReversiHexModel();
+    this.model.startGame(size);
+  }
+
+  /**
+   * Gets the id the server knows the match by.
+   */
+  public long getId() {
+    return this.id;
+  }
+
+  /**
+   * Gets how many moves and passes have been applied so far.
+   */
+  public int getMoveCount() {
+    return this.moveCount;
+  }
+
+  /**
+   * Gets a future that completes with this match once its game is over, or completes
+   * exceptionally if the match was stopped first.
+   */
+  public CompletableFuture<Match> getCompletion() {
+    return this.completion;
+  }
+
+  /**
+   * Gets the final score of a player. The model is only read by the match's thread
+   * while the game runs, so the score is only available once the game is over.
+   *
+   * @param player the player whose score to get
+   * @return the player's score
+   * @throws IllegalStateException if the game isn't over yet
+   */
+  public int getScore(PlayerTurn player) {
+    if (!this.completion.isDone() || this.completion.isCompletedExceptionally()) {
+      throw new IllegalStateException("The match isn't over");
+    }
+    return this.model.getScore(player);
+  }
+
+  /**
+   * Queues a player action for the match to apply.
+   *
+   * @param action the action, a MOVE described as "x y" or a PASS
+   * @return a future that completes with true if the action was applied and false if it
+   *         was rejected
+   */
+  CompletableFuture<Boolean> submit(PlayerEvent action) {
+    Action queued = new Action(action, new CompletableFuture<>());
+    this.actions.add(queued);
+    // the match may have ended after its last look at the queue.
+    if (this.completion.isDone() && this.actions.remove(queued)) {
+      queued.applied.complete(false);
+    }
+    return queued.applied;
+  }
+
+  /**
+   * Plays the game out, blocking for each action, until it is over or the thread is
+   * interrupted.
+   */
+  void run() {
+    int passesInARow = 0;
+    try {
+      // two passes in a row leave the board as it was, so the game can't go on.
+      while (!this.model.isGameOver() && passesInARow < 2) {
+        Action action = this.actions.take();
+        boolean applied = this.apply(action.event);
+        if (applied) {
+          passesInARow = (action.event.getPlayerEventType() == PlayerEventType.PASS)
+                  ? passesInARow + 1 : 0;
+          this.moveCount++;
+        }
+        action.applied.complete(applied);
+      }
+      this.completion.complete(this);
+    } catch (InterruptedException ie) {
+      this.completion.completeExceptionally(ie);
+    } catch (RuntimeException re) {
+      this.completion.completeExceptionally(re);
+    } finally {
+      // whatever is still queued can never be applied.
+      Action action;
+      while ((action = this.actions.poll()) != null) {
+        action.applied.complete(false);
+      }
+    }
+  }
+
+  // applies an action if it is legal for the player to move, and tells whether it was.
+  private boolean apply(PlayerEvent event) {
+    if (event == null || event.getExecutingPlayer() != this.model.currentTurn()) {
+      return false;
+    }
+    if (event.getPlayerEventType() == PlayerEventType.PASS) {
+      this.model.pass();
+      return true;
+    }
+    String[] coordinates = event.getDescription().trim().split("\\s+");
+    if (coordinates.length != 2) {
+      return false;
+    }
+    int x;
+    int y;
+    try {
+      x = Integer.parseInt(coordinates[0]);
+      y = Integer.parseInt(coordinates[1]);
+    } catch (NumberFormatException nfe) {
+      return false;
+    }
+    if (!this.model.isLegalMove(this.model.currentTurn(), x, y)) {
+      return false;
+    }
+    this.model.makeMove(x, y);
+    return true;
+  }
+
+  // a queued action and the future that reports what became of it.
+  private static final class Action {
+    private final PlayerEvent event;
+    private final CompletableFuture<Boolean> applied;
+
+    private Action(PlayerEvent event, CompletableFuture<Boolean> applied) {
+      this.event = event;
+      this.applied = applied;
+    }
+  }
+}
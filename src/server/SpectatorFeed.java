@@ -0,0 +1,221 @@
+package server;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import controller.ModelEvent;
+import controller.ModelEventSubscriber;
+import discs.DiscColor;
+import model.BoardTopology;
+import model.MoveGenerator;
+import model.MoveJournal;
+import model.ReversiModel;
+
+/**
+ * A SpectatorFeed streams a live game to spectators. It listens to the model's event bus
+ * on the thread that plays the game and, after every move or pass, reads the new entries
+ * of the model's MoveJournal and broadcasts each as a FeedMessage delta: the placed
+ * cell, the flipped cells, who moves next and the scores. Nothing is rendered or copied
+ * from the board, so a move costs the feed a few dozen bytes however many watch.
+ * Every snapshotInterval deltas, and whenever the journal got shorter because a move was
+ * undone, the feed also sends a snapshot of the whole board. A spectator who joins late
+ * gets the last snapshot and the deltas since, then the live frames, so it never needs
+ * the game from the start.
+ */
+public final class SpectatorFeed implements ModelEventSubscriber, Closeable {
+  /**
+   * How many deltas the feed sends between snapshots by default.
+   */
+  public static final int DEFAULT_SNAPSHOT_INTERVAL = 16;
+
+  private final ReversiModel model;
+  private final SpectatorTransport transport;
+  private final int snapshotInterval;
+  private final int size;
+  private final int[] flipBuffer;
+  // the last snapshot and every delta since, guarded by this.
+  private final List<byte[]> catchUp = new ArrayList<>();
+  private int sequence;
+  private int deltasSinceSnapshot;
+  private int blackScore;
+  private int whiteScore;
+
+  /**
+   * Constructor for a feed that sends a snapshot every DEFAULT_SNAPSHOT_INTERVAL deltas.
+   *
+   * @param model     the started game to stream
+   * @param transport the transport to the spectators
+   * @throws IllegalArgumentException if the model or transport is null
+   */
+  public SpectatorFeed(ReversiModel model, SpectatorTransport transport) {
+    this(model, transport, DEFAULT_SNAPSHOT_INTERVAL);
+  }
+
+  /**
+   * Constructor for a feed.
+   *
+   * @param model            the started game to stream
+   * @param transport        the transport to the spectators
+   * @param snapshotInterval how many deltas to send between snapshots
+   * @throws IllegalArgumentException if the model or transport is null, or the interval
+   *                                  isn't positive
+   */
+  public SpectatorFeed(ReversiModel model, SpectatorTransport transport,
+                       int snapshotInterval) {
+    if (model == null || transport == null) {
+      throw new IllegalArgumentException("Model and transport can't be null");
+    }
+    if (snapshotInterval <= 0) {
+      throw new IllegalArgumentException("Snapshot interval must be positive");
+    }
+    this.model = model;
+    this.transport = transport;
+    this.snapshotInterval = snapshotInterval;
+    this.size = model.getDimensions();
+    this.flipBuffer = new int[this.size * this.size];
+  }
+
+  /**
+   * Takes the first snapshot, starts following the model and opens the transport. Call
+   * it on the thread that plays the game, between moves.
+   *
+   * @throws IOException if the transport can't be opened
+   */
+  public void start() throws IOException {
+    synchronized (this) {
+      this.publishSnapshot();
+    }
+    this.model.getEventBus().subscribe(this);
+    this.transport.open(this);
+  }
+
+  @Override
+  public void onEvents(List<ModelEvent> modelEvents) {
+    this.publishChanges();
+  }
+
+  /**
+   * Joins a spectator. The joiner is handed the frames that bring a new spectator up to
+   * date, the last snapshot and the deltas since, while no frame can be broadcast, so
+   * registering it in there means it misses nothing and gets nothing twice.
+   *
+   * @param joiner takes the catch up frames and registers the spectator
+   */
+  public synchronized void join(Consumer<List<byte[]>> joiner) {
+    joiner.accept(new ArrayList<>(this.catchUp));
+  }
+
+  /**
+   * Gets the frames that bring a spectator up to date, for a transport to resend to a
+   * spectator that fell too far behind. The frame being broadcast is already included.
+   *
+   * @return the last snapshot and the deltas since
+   */
+  public synchronized List<byte[]> getCatchUp() {
+    return new ArrayList<>(this.catchUp);
+  }
+
+  /**
+   * Gets how many journal entries the feed has sent.
+   */
+  public synchronized int getSequence() {
+    return this.sequence;
+  }
+
+  /**
+   * Stops following the model and closes the transport.
+   *
+   * @throws IOException if the transport fails to close
+   */
+  @Override
+  public void close() throws IOException {
+    this.model.getEventBus().unsubscribe(this);
+    this.transport.close();
+  }
+
+  // sends a delta for every journal entry since the last one sent.
+  private synchronized void publishChanges() {
+    MoveJournal journal = this.model.getMoveJournal();
+    int entries = journal.size();
+    if (entries < this.sequence) {
+      this.publishSnapshot();
+      return;
+    }
+    for (int entry = this.sequence; entry < entries; entry++) {
+      int placed = journal.getMoveCell(entry);
+      byte mover = this.moverOf(journal, entry, entries);
+      // every move and pass hands the turn over.
+      byte next = opposite(mover);
+      int flipCount = journal.getFlips(entry, this.flipBuffer);
+      if (placed != MoveJournal.PASS) {
+        int gained = flipCount + 1;
+        this.blackScore += (mover == FeedMessage.BLACK) ? gained : -flipCount;
+        this.whiteScore += (mover == FeedMessage.WHITE) ? gained : -flipCount;
+      }
+      boolean gameOver = entry == entries - 1 && this.model.isGameOver();
+      this.sequence = entry + 1;
+      this.send(FeedMessage.delta(this.sequence, this.size, mover,
+              (placed == MoveJournal.PASS) ? FeedMessage.PASS : placed, this.flipBuffer,
+              flipCount, next, gameOver, this.blackScore, this.whiteScore).toFrame(), false);
+      if (++this.deltasSinceSnapshot >= this.snapshotInterval) {
+        this.publishSnapshot();
+      }
+    }
+  }
+
+  // works out who played an entry from the model rather than from where the entry sits in
+  // the journal, since a journal needn't start on a black move. A placed disc still shows
+  // its mover's color, as every move is its own batch of events. A pass was played by the
+  // other side from the one that moves after it, whether that is the next entry's mover
+  // or, after the last entry, the model's turn.
+  private byte moverOf(MoveJournal journal, int entry, int entries) {
+    int placed = journal.getMoveCell(entry);
+    if (placed != MoveJournal.PASS) {
+      return colorOf(this.model.getDiscAt(MoveGenerator.unpackX(placed, this.size),
+              MoveGenerator.unpackY(placed, this.size)).getColor());
+    }
+    byte after = (entry + 1 < entries) ? this.moverOf(journal, entry + 1, entries)
+            : colorOf(this.model.getPlayerColor(this.model.currentTurn()));
+    return opposite(after);
+  }
+
+  private static byte colorOf(DiscColor color) {
+    return (color == DiscColor.WHITE) ? FeedMessage.WHITE : FeedMessage.BLACK;
+  }
+
+  private static byte opposite(byte color) {
+    return (color == FeedMessage.BLACK) ? FeedMessage.WHITE : FeedMessage.BLACK;
+  }
+
+  // sends the whole board and starts a new catch up from it.
+  private void publishSnapshot() {
+    byte[] discs = new byte[this.size * this.size];
+    for (int cell : BoardTopology.forSize(this.size).getPlayableCells()) {
+      DiscColor color = this.model.getDiscAt(MoveGenerator.unpackX(cell, this.size),
+              MoveGenerator.unpackY(cell, this.size)).getColor();
+      if (color == DiscColor.BLACK) {
+        discs[cell] = FeedMessage.BLACK;
+      } else if (color == DiscColor.WHITE) {
+        discs[cell] = FeedMessage.WHITE;
+      }
+    }
+    this.sequence = this.model.getMoveJournal().size();
+    this.blackScore = this.model.getDiscCount(DiscColor.BLACK);
+    this.whiteScore = this.model.getDiscCount(DiscColor.WHITE);
+    byte next = colorOf(this.model.getPlayerColor(this.model.currentTurn()));
+    this.send(FeedMessage.snapshot(this.sequence, this.size, discs, next,
+            this.model.isGameOver(), this.blackScore, this.whiteScore).toFrame(), true);
+  }
+
+  private void send(byte[] frame, boolean snapshot) {
+    if (snapshot) {
+      this.catchUp.clear();
+      this.deltasSinceSnapshot = 0;
+    }
+    this.catchUp.add(frame);
+    this.transport.broadcast(frame);
+  }
+}
@@ -0,0 +1,33 @@
+package server;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * A SpectatorTransport carries the frames of a SpectatorFeed to its spectators. The feed
+ * calls broadcast on the thread that plays the game, so a transport must only queue the
+ * frame there and do its writing elsewhere; a spectator too slow to keep up should be
+ * caught up from the feed rather than slow the game down.
+ */
+public interface SpectatorTransport extends Closeable {
+  /**
+   * Starts accepting spectators for a feed. A spectator that joins is first sent the
+   * frames SpectatorFeed.join returns, then every frame broadcast after it.
+   *
+   * @param feed the feed to carry
+   * @throws IOException if the transport can't start listening
+   */
+  void open(SpectatorFeed feed) throws IOException;
+
+  /**
+   * Queues a frame for every spectator.
+   *
+   * @param frame the frame, which the transport must not change
+   */
+  void broadcast(byte[] frame);
+
+  /**
+   * Gets how many spectators are connected.
+   */
+  int getSpectatorCount();
+}
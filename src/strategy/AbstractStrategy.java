@@ -8,7 +8,9 @@ import java.util.Map;
 
 import discs.Disc;
 import discs.DiscColor;
+import model.BoardTopology;
 import model.MoveDirection;
+import model.MoveGenerator;
 import model.MoveRules;
 import model.ReadOnlyReversiModel;
 import player.PlayerTurn;
@@ -22,6 +24,8 @@ public abstract class AbstractStrategy implements IStrategy {
   protected final PlayerTurn player;
   protected boolean isAvoidCorners;
   private HashMap<List<Integer>, Integer> coordinateMap = new HashMap<>();
+  private int[] flipBuffer;
+  private int[] moveBuffer;
 
   /**
    * A 'AbstractStrategy' constructor for a non-corners strategy.
@@ -48,23 +52,120 @@ public abstract class AbstractStrategy implements IStrategy {
     this.isAvoidCorners = isAvoidCorners;
   }
 
+  // the legal moves of the player whose turn it is, read from the model's legal move
+  // set and ordered by x and then y.
   protected List<List<Integer>> getPositionsForBFS() {
+    List<List<Integer>> res = new ArrayList<>();
+    int size = this.reversiModel.getDimensions();
+    int[] moves = this.getMoveBuffer();
+    int moveCount = this.reversiModel.getLegalMoves(this.reversiModel.currentTurn(), moves);
+    for (int i = 0; i < moveCount; i++) {
+      res.add(new ArrayList<>(Arrays.asList(MoveGenerator.unpackX(moves[i], size),
+              MoveGenerator.unpackY(moves[i], size))));
+    }
+    res.sort((a, b) -> isMoreUpLeft(a.get(0), a.get(1), b.get(0), b.get(1)) ? -1 : 1);
+    return res;
+  }
+
+  // every facedown cell ordered by x and then y, whether or not it is a legal move.
+  protected List<List<Integer>> getFacedownPositions() {
     List<List<Integer>> res = new ArrayList<>();
     for (int i = 0; i < this.reversiModel.getDimensions(); i++) {
       for (int j = 0; j < this.reversiModel.getDimensions(); j++) {
-        try {
-          DiscColor currentDiscColor = this.reversiModel.getDiscAt(i, j).getColor();
-          if (currentDiscColor == DiscColor.FACEDOWN) {
-            res.add(new ArrayList<>(Arrays.asList(i, j)));
-          }
-        } catch (IllegalArgumentException iae) {
-          // we encountered a null cell do nothing
+        if (this.reversiModel.checkValidCoordinates(i, j)
+                && this.reversiModel.getDiscAt(i, j).getColor() == DiscColor.FACEDOWN) {
+          res.add(new ArrayList<>(Arrays.asList(i, j)));
         }
       }
     }
     return res;
   }
 
+  // writes the legal moves of the player whose turn it is into the move buffer.
+  protected int getLegalMoves() {
+    return this.reversiModel.getLegalMoves(this.reversiModel.currentTurn(), this.getMoveBuffer());
+  }
+
+  // returns a buffer large enough to hold the flips of any single move.
+  protected int[] getFlipBuffer() {
+    int cells = this.reversiModel.getDimensions() * this.reversiModel.getDimensions();
+    if (this.flipBuffer == null || this.flipBuffer.length < cells) {
+      this.flipBuffer = new int[cells];
+    }
+    return this.flipBuffer;
+  }
+
+  // returns a buffer large enough to hold every legal move of a position.
+  protected int[] getMoveBuffer() {
+    int cells = this.reversiModel.getDimensions() * this.reversiModel.getDimensions();
+    if (this.moveBuffer == null || this.moveBuffer.length < cells) {
+      this.moveBuffer = new int[cells];
+    }
+    return this.moveBuffer;
+  }
+
+  // the color of the player whose turn it is, which is who BoardUtils.bfs searches for.
+  protected DiscColor getMoverColor() {
+    return this.reversiModel.getPlayerColor(this.reversiModel.currentTurn());
+  }
+
+  // the length getLengthOfMove would report for BoardUtils.bfs at (x, y), computed
+  // without building the lists: a direction capturing k discs holds 2k + 2 positions.
+  protected int getLengthOfMove(int x, int y) {
+    int[] flips = this.getFlipBuffer();
+    DiscColor mover = this.getMoverColor();
+    int length = 0;
+    for (MoveDirection md : MoveDirection.values()) {
+      int captured = MoveGenerator.flipsInDirection(this.reversiModel, x, y, md, mover, flips, 0);
+      if (captured > 0) {
+        length += 2 * captured + 2;
+      }
+    }
+    return length;
+  }
+
+  // marks every cell of the grid that neighbours one of the given corners,
+  // indexed by MoveGenerator.pack.
+  protected boolean[] getCornerAdjacency(HashMap<Integer, List<Integer>> cornerMap) {
+    int size = this.reversiModel.getDimensions();
+    BoardTopology topology = BoardTopology.forSize(size);
+    boolean[] isCorner = new boolean[size * size];
+    for (List<Integer> corner : cornerMap.values()) {
+      isCorner[MoveGenerator.pack(corner.get(0), corner.get(1), size)] = true;
+    }
+    boolean[] res = new boolean[size * size];
+    for (int cell = 0; cell < res.length; cell++) {
+      for (MoveDirection md : MoveDirection.values()) {
+        int neighbour = topology.getNeighbour(md, cell);
+        if (neighbour != -1 && isCorner[neighbour]) {
+          res[cell] = true;
+        }
+      }
+    }
+    return res;
+  }
+
+  // determines if the move at (x, y) or any disc it flips neighbours a corner,
+  // matching moveIsAdjacentToCorner for the same move.
+  protected boolean moveIsAdjacentToCorner(int x, int y, int[] flips, int flipCount,
+                                           boolean[] cornerAdjacency) {
+    int size = this.reversiModel.getDimensions();
+    if (cornerAdjacency[MoveGenerator.pack(x, y, size)]) {
+      return true;
+    }
+    for (int i = 0; i < flipCount; i++) {
+      if (cornerAdjacency[flips[i]]) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  // determines if (x, y) comes before (otherX, otherY) in up-left order.
+  protected static boolean isMoreUpLeft(int x, int y, int otherX, int otherY) {
+    return x < otherX || (x == otherX && y < otherY);
+  }
+
   private DiscColor getOppositeColor(DiscColor discColor) {
     switch (discColor) {
       case FACEDOWN:
@@ -0,0 +1,360 @@
+package strategy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import discs.DiscColor;
+import model.BoardTopology;
+import model.MoveGenerator;
+import model.ReadOnlyReversiModel;
+import model.ReversiBitboardModel;
+import model.ReversiModel;
+import player.PlayerTurn;
+import provider.model.Coordinate;
+import provider.model.PlayerType;
+import provider.model.ReadonlyReversiModel;
+
+/**
+ * An 'AlphaBetaStrategy' represents a strategy that searches the game tree with negamax
+ * alpha-beta. It deepens one ply at a time until the time budget for the move runs out
+ * and plays the best move of the deepest search that finished. The search runs on a
+ * bitboard copy of the position using makeMove and undoMove, so the game being played
+ * is never touched. What it learns about positions is kept in a transposition table that
+ * lives as long as the strategy, so later turns start from the previous searches.
+ * With more than one thread, each depth searches the expected best move first and then
+ * splits the other root moves across a ForkJoinPool. Every worker searches its own board
+ * copy, and all of them share the root's alpha bound and the transposition table.
+ */
+public class AlphaBetaStrategy extends AbstractStrategy {
+  public static final long DEFAULT_BUDGET_MILLIS = 1000;
+
+  private static final int WIN_SCORE = 1_000_000;
+  private static final int CORNER_WEIGHT = 25;
+  // how many nodes are searched between two looks at the clock.
+  private static final int CLOCK_INTERVAL = 1024;
+  private static final int TABLE_ENTRIES = 1 << 18;
+
+  private final StrategyType strategyType;
+  private final long budgetMillis;
+  private final int threads;
+  private final TranspositionTable table;
+  private ForkJoinPool pool;
+  private long deadline;
+  private volatile boolean timeUp;
+  private long nodesSearched;
+  private int depthReached;
+  // the best root move and score of the depth being searched, guarded by this.
+  private int rootAlpha;
+  private int rootBest;
+
+  /**
+   * An 'AlphaBetaStrategy' constructor with the default budget of one second per move.
+   */
+  public AlphaBetaStrategy(ReadOnlyReversiModel reversiModel, PlayerTurn player) {
+    this(reversiModel, player, DEFAULT_BUDGET_MILLIS);
+  }
+
+  /**
+   * An 'AlphaBetaStrategy' constructor for a search on the caller's thread.
+   *
+   * @param reversiModel a reversiModel.
+   * @param player       a player turn.
+   * @param budgetMillis how many milliseconds each move may search for.
+   * @throws IllegalArgumentException if the budget isn't positive
+   */
+  public AlphaBetaStrategy(ReadOnlyReversiModel reversiModel, PlayerTurn player,
+                           long budgetMillis) {
+    this(reversiModel, player, budgetMillis, 1);
+  }
+
+  /**
+   * An 'AlphaBetaStrategy' constructor.
+   *
+   * @param reversiModel a reversiModel.
+   * @param player       a player turn.
+   * @param budgetMillis how many milliseconds each move may search for.
+   * @param threads      how many threads search the root moves, 1 to search on the
+   *                     caller's thread.
+   * @throws IllegalArgumentException if the budget or the thread count isn't positive
+   */
+  public AlphaBetaStrategy(ReadOnlyReversiModel reversiModel, PlayerTurn player,
+                           long budgetMillis, int threads) {
+    super(reversiModel, player);
+    if (budgetMillis <= 0) {
+      throw new IllegalArgumentException("Search budget must be positive");
+    }
+    if (threads <= 0) {
+      throw new IllegalArgumentException("Thread count must be positive");
+    }
+    this.budgetMillis = budgetMillis;
+    this.threads = threads;
+    this.table = new TranspositionTable(TABLE_ENTRIES);
+    this.strategyType = StrategyType.ALPHABETA;
+  }
+
+  @Override
+  public List<Integer> executeStrategy() {
+    this.deadline = System.nanoTime() + this.budgetMillis * 1_000_000L;
+    this.timeUp = false;
+    this.nodesSearched = 0;
+    this.depthReached = 0;
+    int size = this.reversiModel.getDimensions();
+    Searcher main = new Searcher();
+    int empties = main.board.getDiscCount(DiscColor.FACEDOWN);
+    // the root moves are the legal moves getPositionsForBFS lists, read without boxing.
+    int[] rootMoves = new int[size * size];
+    int rootCount = main.board.getLegalMoves(main.board.currentTurn(), rootMoves);
+    if (rootCount == 0) {
+      return new ArrayList<>(Arrays.asList(Integer.MAX_VALUE, Integer.MAX_VALUE));
+    }
+    int bestMove = rootMoves[0];
+    // the pool lives only as long as one search, so no threads outlive the strategy.
+    if (this.threads > 1 && rootCount > 1) {
+      this.pool = new ForkJoinPool(this.threads);
+    }
+    try {
+      for (int depth = 1; depth <= empties && !this.timeUp; depth++) {
+        this.rootAlpha = -Integer.MAX_VALUE;
+        this.rootBest = -1;
+        this.searchRootMove(main, rootMoves[0], depth);
+        if (this.threads > 1 && rootCount > 1) {
+          this.searchRootInParallel(rootMoves, rootCount, depth);
+        } else {
+          for (int i = 1; i < rootCount && !this.timeUp; i++) {
+            this.searchRootMove(main, rootMoves[i], depth);
+          }
+        }
+        if (this.timeUp) {
+          break;
+        }
+        // search the best move first next time, so alpha-beta cuts as early as possible.
+        bestMove = this.rootBest;
+        moveToFront(rootMoves, rootCount, bestMove);
+        this.depthReached = depth;
+        if (Math.abs(this.rootAlpha) >= WIN_SCORE) {
+          break;
+        }
+      }
+    } finally {
+      if (this.pool != null) {
+        this.pool.shutdown();
+        this.pool = null;
+      }
+    }
+    this.nodesSearched += main.nodes;
+    return new ArrayList<>(Arrays.asList(MoveGenerator.unpackX(bestMove, size),
+            MoveGenerator.unpackY(bestMove, size)));
+  }
+
+  // searches every root move but the first on the pool. Each worker takes the next
+  // unsearched move until none are left, so a slow move doesn't hold up the others.
+  private void searchRootInParallel(int[] rootMoves, int rootCount, int depth) {
+    AtomicInteger next = new AtomicInteger(1);
+    List<ForkJoinTask<Long>> workers = new ArrayList<>();
+    for (int t = 0; t < Math.min(this.threads, rootCount - 1); t++) {
+      workers.add(this.pool.submit(() -> {
+        Searcher worker = new Searcher();
+        for (int i = next.getAndIncrement(); i < rootCount && !this.timeUp;
+             i = next.getAndIncrement()) {
+          this.searchRootMove(worker, rootMoves[i], depth);
+        }
+        return worker.nodes;
+      }));
+    }
+    for (ForkJoinTask<Long> worker : workers) {
+      this.nodesSearched += worker.join();
+    }
+  }
+
+  // searches one root move against the best root score so far and records it if it is
+  // better. Only the bound is shared; each searcher plays the move on its own board.
+  private void searchRootMove(Searcher searcher, int move, int depth) {
+    int alpha;
+    synchronized (this) {
+      alpha = this.rootAlpha;
+    }
+    int score = -searcher.searchAfter(move, depth - 1, -Integer.MAX_VALUE, -alpha);
+    if (this.timeUp) {
+      return;
+    }
+    synchronized (this) {
+      if (score > this.rootAlpha) {
+        this.rootAlpha = score;
+        this.rootBest = move;
+      }
+    }
+  }
+
+  // moves a cell to the front of the first count moves, keeping the others in order.
+  private static void moveToFront(int[] moves, int count, int move) {
+    for (int i = 1; i < count; i++) {
+      if (moves[i] == move) {
+        System.arraycopy(moves, 0, moves, 1, i);
+        moves[0] = move;
+        return;
+      }
+    }
+  }
+
+  /**
+   * Gets how many positions the last call to executeStrategy searched, over all threads.
+   */
+  public long getNodesSearched() {
+    return this.nodesSearched;
+  }
+
+  /**
+   * Gets the deepest search, in plies, that the last call to executeStrategy finished.
+   */
+  public int getDepthReached() {
+    return this.depthReached;
+  }
+
+  @Override
+  public StrategyType getStrategyType() {
+    return this.strategyType;
+  }
+
+  @Override
+  public Coordinate chooseMove(ReadonlyReversiModel model, PlayerType player) {
+    List<Integer> move = this.executeStrategy();
+    return new Coordinate(move.get(0), move.get(1));
+  }
+
+  // the board copy and buffers one thread searches with.
+  private final class Searcher {
+    private final ReversiModel board;
+    private final int size;
+    private final int[][] plyMoves;
+    private final int[] corners;
+    private final int mark;
+    private long nodes;
+
+    private Searcher() {
+      this.board = new ReversiBitboardModel(AlphaBetaStrategy.this.reversiModel);
+      this.size = this.board.getDimensions();
+      this.plyMoves = new int[this.board.getDiscCount(DiscColor.FACEDOWN) + 2][size * size];
+      this.corners = BoardTopology.forSize(this.size).getCorners();
+      this.mark = this.board.getHistoryMark();
+    }
+
+    // plays a root move, scores the position after it for the opponent and takes it back.
+    private int searchAfter(int move, int depth, int alpha, int beta) {
+      this.board.makeMove(MoveGenerator.unpackX(move, this.size),
+              MoveGenerator.unpackY(move, this.size));
+      int score = this.negamax(depth, 1, alpha, beta);
+      this.board.unmakeMove(this.mark);
+      return score;
+    }
+
+    // scores the copy from the point of view of the player to move, searching depth more
+    // plies. Like the model, the game is over as soon as the player to move is stuck.
+    private int negamax(int depth, int ply, int alpha, int beta) {
+      this.nodes++;
+      if (this.nodes % CLOCK_INTERVAL == 0
+              && System.nanoTime() > AlphaBetaStrategy.this.deadline) {
+        AlphaBetaStrategy.this.timeUp = true;
+      }
+      if (AlphaBetaStrategy.this.timeUp) {
+        return 0;
+      }
+      PlayerTurn mover = this.board.currentTurn();
+      if (this.board.isGameOver()) {
+        return this.finalScore(mover);
+      }
+      if (depth <= 0) {
+        return this.evaluate(mover);
+      }
+      TranspositionTable table = AlphaBetaStrategy.this.table;
+      long key = this.board.getPositionKey();
+      long entry = table.probe(key);
+      int originalAlpha = alpha;
+      int hashMove = -1;
+      if (entry != TranspositionTable.MISS) {
+        if (TranspositionTable.depthOf(entry) >= depth) {
+          int stored = TranspositionTable.scoreOf(entry);
+          int bound = TranspositionTable.boundOf(entry);
+          if (bound == TranspositionTable.EXACT) {
+            return stored;
+          } else if (bound == TranspositionTable.LOWER) {
+            alpha = Math.max(alpha, stored);
+          } else {
+            beta = Math.min(beta, stored);
+          }
+          if (alpha >= beta) {
+            return stored;
+          }
+        }
+        hashMove = TranspositionTable.moveOf(entry);
+      }
+      // moves are only generated once neither the depth nor the table settles the node.
+      int[] moves = this.plyMoves[ply];
+      int count = this.board.getLegalMoves(mover, moves);
+      if (hashMove >= 0) {
+        moveToFront(moves, count, hashMove);
+      }
+      int best = -Integer.MAX_VALUE;
+      int bestMove = -1;
+      for (int i = 0; i < count; i++) {
+        this.board.makeMove(MoveGenerator.unpackX(moves[i], this.size),
+                MoveGenerator.unpackY(moves[i], this.size));
+        int score = -this.negamax(depth - 1, ply + 1, -beta, -alpha);
+        this.board.undoMove();
+        if (AlphaBetaStrategy.this.timeUp) {
+          return 0;
+        }
+        if (score > best) {
+          best = score;
+          bestMove = moves[i];
+        }
+        if (best > alpha) {
+          alpha = best;
+        }
+        if (alpha >= beta) {
+          break;
+        }
+      }
+      int bound = TranspositionTable.EXACT;
+      if (best <= originalAlpha) {
+        bound = TranspositionTable.UPPER;
+      } else if (best >= beta) {
+        bound = TranspositionTable.LOWER;
+      }
+      table.store(key, depth, bound, best, bestMove);
+      return best;
+    }
+
+    // the disc differential of a finished game, pushed past any heuristic score.
+    private int finalScore(PlayerTurn mover) {
+      int diff = this.board.getScore(mover) - this.board.getScore(this.board.getOpponent(mover));
+      if (diff > 0) {
+        return WIN_SCORE + diff;
+      } else if (diff < 0) {
+        return -WIN_SCORE + diff;
+      }
+      return 0;
+    }
+
+    // weighs discs and corners held by the player to move against the opponent. Counting
+    // mobility as well made the search play worse on hex boards, so it is left out.
+    private int evaluate(PlayerTurn mover) {
+      PlayerTurn opponent = this.board.getOpponent(mover);
+      int score = this.board.getScore(mover) - this.board.getScore(opponent);
+      DiscColor own = this.board.getPlayerColor(mover);
+      for (int corner : this.corners) {
+        DiscColor color = this.board.getDiscAt(MoveGenerator.unpackX(corner, this.size),
+                MoveGenerator.unpackY(corner, this.size)).getColor();
+        if (color == own) {
+          score += CORNER_WEIGHT;
+        } else if (color != DiscColor.FACEDOWN) {
+          score -= CORNER_WEIGHT;
+        }
+      }
+      return score;
+    }
+  }
+}
@@ -73,7 +73,7 @@ public class CornerStrategyMock extends AbstractStrategy {
 
   @Override
   public List<Integer> executeStrategy() {
-    List<List<Integer>> validPositions = getPositionsForBFS();
+    List<List<Integer>> validPositions = getFacedownPositions();
     // this inner list will contain all adjacent cells to a non-empty opposite color
     for (List<Integer> position : validPositions) {
       // every possible move from a singular position
@@ -5,9 +5,9 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 
-import discs.Disc;
 import discs.DiscColor;
-import model.BoardUtils;
+import model.BoardTopology;
+import model.MoveGenerator;
 import model.ReadOnlyReversiModel;
 import player.PlayerTurn;
 import provider.model.Coordinate;
@@ -21,8 +21,8 @@ import provider.model.ReadonlyReversiModel;
  * positions adjacent to corners.
  */
 public class CornersStrategy extends AbstractStrategy {
-  private final HashMap<List<Integer>, List<List<List<Integer>>>> positionMoveMap;
   private final HashMap<Integer, List<Integer>> cornerMap;
+  private final boolean[] cornerAdjacency;
   private final StrategyType strategyType;
 
   /**
@@ -32,75 +32,86 @@ public class CornersStrategy extends AbstractStrategy {
                          PlayerTurn player, boolean isAvoidCorners) {
     super(reversiModel, player, isAvoidCorners);
 
-    this.positionMoveMap = new HashMap<>();
     this.cornerMap = setUpCornerMap();
+    this.cornerAdjacency = getCornerAdjacency(this.cornerMap);
     this.strategyType = (isAvoidCorners) ? StrategyType.AVOIDCORNER : StrategyType.GOFORCORNER;
   }
 
   private HashMap<Integer, List<Integer>> setUpCornerMap() {
-    int first = 0;
-    int middle = this.reversiModel.getDimensions() / 2;
-    int last = this.reversiModel.getDimensions() - 1;
+    int size = this.reversiModel.getDimensions();
     HashMap<Integer, List<Integer>> res = new HashMap<>();
     int corner = 0;
-    for (int i = 0; i < this.reversiModel.getDimensions(); i++) {
-      for (int j = 0; j < this.reversiModel.getDimensions(); j++) {
-        boolean isCorner = false;
-        try {
-          Disc prev = reversiModel.getDiscAt(i - 1, j);
-          Disc next = reversiModel.getDiscAt(i + 1, j);
-        } catch (IllegalArgumentException iae) {
-          isCorner = true;
-        }
-        try {
-          if ((j == first || j == last) && isCorner) {
-            Disc curr = reversiModel.getDiscAt(i, j);
-            res.put(corner, new ArrayList<>(Arrays.asList(i, j)));
-            corner++;
-          } else if (j == middle && isCorner) {
-            Disc curr = reversiModel.getDiscAt(i, j);
-            res.put(corner, new ArrayList<>(Arrays.asList(i, j)));
-            corner++;
-          }
-        } catch (IllegalArgumentException iae) {
-          System.out.println("null encountered");
-        }
-      }
+    for (int cell : BoardTopology.forSize(size).getCorners()) {
+      res.put(corner, new ArrayList<>(Arrays.asList(MoveGenerator.unpackX(cell, size),
+              MoveGenerator.unpackY(cell, size))));
+      corner++;
     }
     return res;
   }
 
   @Override
   public List<Integer> executeStrategy() {
-    List<List<Integer>> validPositions = getPositionsForBFS();
-    for (List<Integer> position : validPositions) {
-      List<List<List<Integer>>> moveFromPosition = BoardUtils.bfs(super.reversiModel,
-              position.get(0), position.get(1));
-      if (!moveIsAdjacentToCorner(moveFromPosition, this.cornerMap)
-              && this.strategyType == StrategyType.AVOIDCORNER) {
-        this.positionMoveMap.put(position, moveFromPosition);
-      } else if (this.strategyType == StrategyType.GOFORCORNER) {
-        List<List<List<Integer>>> moveInMap = this.positionMoveMap.get(position);
-        if (moveInMap == null) {
-          this.positionMoveMap.put(position, moveFromPosition);
-        } else {
-          int mapClosest = getClosestCoordinateToCorner(moveInMap, this.cornerMap);
-          int currClosest = getClosestCoordinateToCorner(moveFromPosition, this.cornerMap);
-          if (currClosest < mapClosest) {
-            this.positionMoveMap.put(position, moveFromPosition);
-          }
-        }
+    return (this.strategyType == StrategyType.AVOIDCORNER)
+            ? this.executeAvoidCorners() : this.executeGoForCorners();
+  }
+
+  // picks the longest, then most up-left, legal move that doesn't touch a cell
+  // adjacent to a corner.
+  private List<Integer> executeAvoidCorners() {
+    int[] flips = getFlipBuffer();
+    DiscColor mover = getMoverColor();
+    int longestMove = Integer.MIN_VALUE;
+    int bestX = Integer.MAX_VALUE;
+    int bestY = Integer.MAX_VALUE;
+    int dimensions = this.reversiModel.getDimensions();
+    int[] moves = getMoveBuffer();
+    int moveCount = getLegalMoves();
+    for (int i = 0; i < moveCount; i++) {
+      int x = MoveGenerator.unpackX(moves[i], dimensions);
+      int y = MoveGenerator.unpackY(moves[i], dimensions);
+      int flipCount = MoveGenerator.flips(this.reversiModel, x, y, mover, flips);
+      if (moveIsAdjacentToCorner(x, y, flips, flipCount, this.cornerAdjacency)) {
+        continue;
+      }
+      int moveLength = getLengthOfMove(x, y);
+      if (moveLength > longestMove
+              || (moveLength == longestMove && isMoreUpLeft(x, y, bestX, bestY))) {
+        longestMove = moveLength;
+        bestX = x;
+        bestY = y;
       }
     }
-    this.positionMoveMap.entrySet().removeIf(entry ->
-            this.reversiModel.getDiscAt(entry.getKey().get(0), entry.getKey().get(1)).getColor()
-                    != DiscColor.FACEDOWN);
-    this.positionMoveMap.entrySet().removeIf(entry -> entry.getValue().isEmpty());
-    return (this.strategyType == StrategyType.AVOIDCORNER)
-            ? getLongestAndMostUpLeftFromMap(this.positionMoveMap) :
-            getMoveWithClosestCoordinateFromMap(this.positionMoveMap, this.cornerMap);
+    return new ArrayList<>(Arrays.asList(bestX, bestY));
   }
 
+  // picks the legal move closest to a corner, then the most up-left one.
+  private List<Integer> executeGoForCorners() {
+    int closestDistance = Integer.MAX_VALUE;
+    int bestX = Integer.MAX_VALUE;
+    int bestY = Integer.MAX_VALUE;
+    int dimensions = this.reversiModel.getDimensions();
+    int[] moves = getMoveBuffer();
+    int moveCount = getLegalMoves();
+    for (int i = 0; i < moveCount; i++) {
+      int x = MoveGenerator.unpackX(moves[i], dimensions);
+      int y = MoveGenerator.unpackY(moves[i], dimensions);
+      int distance = Integer.MAX_VALUE;
+      for (List<Integer> corner : this.cornerMap.values()) {
+        distance = Math.min(distance,
+                Math.abs(corner.get(0) - x) + Math.abs(corner.get(1) - y));
+      }
+      if (distance < closestDistance
+              || (distance == closestDistance && isMoreUpLeft(x, y, bestX, bestY))) {
+        closestDistance = distance;
+        bestX = x;
+        bestY = y;
+      }
+    }
+    if (closestDistance == Integer.MAX_VALUE) {
+      return new ArrayList<>();
+    }
+    return new ArrayList<>(Arrays.asList(bestX, bestY));
+  }
 
   @Override
   public StrategyType getStrategyType() {
@@ -0,0 +1,490 @@
+package strategy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import discs.DiscColor;
+import model.BoardTopology;
+import model.MoveDirection;
+import model.MoveGenerator;
+import model.ReadOnlyReversiModel;
+import model.ZobristKeys;
+import player.PlayerTurn;
+import provider.model.Coordinate;
+import provider.model.PlayerType;
+import provider.model.ReadonlyReversiModel;
+
+/**
+ * An 'EndgameSolverStrategy' represents a strategy that plays perfectly once few cells
+ * are left. While more cells than its threshold are facedown it plays whatever the
+ * strategy it wraps plays. From then on it searches every line to the end of the game
+ * and plays the move with the best final disc differential, which it also reports.
+ * The search runs on its own board of packed cells that keeps a list of the empty
+ * cells and undoes moves from a stack of flipped cells, so it allocates nothing once
+ * its buffers exist. Moves that leave the opponent the fewest replies are searched
+ * first, and solved positions are kept in a small transposition table of their own.
+ * Like the model, a game is over as soon as the player to move has no legal move.
+ */
+public class EndgameSolverStrategy extends AbstractStrategy {
+  public static final int DEFAULT_THRESHOLD = 16;
+
+  private static final int TABLE_ENTRIES = 1 << 16;
+  // positions with fewer empty cells than this are solved faster than they are
+  // ordered or looked up, so they are searched in cell order and not stored.
+  private static final int SHALLOW_EMPTIES = 6;
+
+  private static final int DIRECTIONS = MoveDirection.values().length;
+  private static final int EMPTY = 0;
+  private static final int BLACK = 1;
+  private static final int WHITE = 2;
+
+  private final StrategyType strategyType;
+  private final IStrategy fallback;
+  private final int threshold;
+  private final TranspositionTable table;
+  private Board board;
+  private boolean solved;
+  private int differential;
+  private long nodesSearched;
+
+  /**
+   * An 'EndgameSolverStrategy' constructor that takes over at the default threshold.
+   *
+   * @param reversiModel a reversiModel.
+   * @param player       a player turn.
+   * @param fallback     the strategy to play while too many cells are left to solve.
+   */
+  public EndgameSolverStrategy(ReadOnlyReversiModel reversiModel, PlayerTurn player,
+                               IStrategy fallback) {
+    this(reversiModel, player, fallback, DEFAULT_THRESHOLD);
+  }
+
+  /**
+   * An 'EndgameSolverStrategy' constructor.
+   *
+   * @param reversiModel a reversiModel.
+   * @param player       a player turn.
+   * @param fallback     the strategy to play while too many cells are left to solve.
+   * @param threshold    the most facedown cells a position may have to be solved.
+   * @throws IllegalArgumentException if the fallback is null or the threshold isn't
+   *                                  positive
+   */
+  public EndgameSolverStrategy(ReadOnlyReversiModel reversiModel, PlayerTurn player,
+                               IStrategy fallback, int threshold) {
+    super(reversiModel, player);
+    if (fallback == null) {
+      throw new IllegalArgumentException("Fallback strategy can't be null");
+    }
+    if (threshold <= 0) {
+      throw new IllegalArgumentException("Threshold must be positive");
+    }
+    this.fallback = fallback;
+    this.threshold = threshold;
+    this.table = new TranspositionTable(TABLE_ENTRIES);
+    this.strategyType = StrategyType.ENDGAME;
+  }
+
+  @Override
+  public List<Integer> executeStrategy() {
+    this.solved = false;
+    if (this.reversiModel.getDiscCount(DiscColor.FACEDOWN) > this.threshold) {
+      return this.fallback.executeStrategy();
+    }
+    int size = this.reversiModel.getDimensions();
+    int bestMove = this.solveCurrentPosition();
+    if (bestMove < 0) {
+      return new ArrayList<>(Arrays.asList(Integer.MAX_VALUE, Integer.MAX_VALUE));
+    }
+    return new ArrayList<>(Arrays.asList(MoveGenerator.unpackX(bestMove, size),
+            MoveGenerator.unpackY(bestMove, size)));
+  }
+
+  /**
+   * Solves the position of the model whatever the threshold, without playing a move.
+   *
+   * @return the final disc differential for the player to move under perfect play
+   */
+  public int solve() {
+    this.solveCurrentPosition();
+    return this.differential;
+  }
+
+  // searches the model's position to the end, records the result and returns the
+  // packed cell of the best move, or -1 if the game is already over.
+  private int solveCurrentPosition() {
+    int size = this.reversiModel.getDimensions();
+    if (this.board == null || this.board.size != size) {
+      this.board = new Board(size);
+    }
+    this.board.load(this.reversiModel);
+    this.board.nodes = 0;
+    int color = (this.reversiModel.getPlayerColor(this.reversiModel.currentTurn())
+            == DiscColor.BLACK) ? BLACK : WHITE;
+    int bestMove = this.board.solveRoot(color);
+    this.differential = this.board.rootScore;
+    this.nodesSearched = this.board.nodes;
+    this.solved = true;
+    return bestMove;
+  }
+
+  /**
+   * Determines whether the last call to executeStrategy solved the position instead of
+   * asking the wrapped strategy.
+   */
+  public boolean isSolved() {
+    return this.solved;
+  }
+
+  /**
+   * Gets the final disc differential, for the player who was to move, of the position
+   * last solved. It is what that player ends the game with over the opponent when both
+   * play perfectly.
+   */
+  public int getDifferential() {
+    return this.differential;
+  }
+
+  /**
+   * Gets how many positions the last solve searched.
+   */
+  public long getNodesSearched() {
+    return this.nodesSearched;
+  }
+
+  @Override
+  public StrategyType getStrategyType() {
+    return this.strategyType;
+  }
+
+  @Override
+  public Coordinate chooseMove(ReadonlyReversiModel model, PlayerType player) {
+    List<Integer> move = this.executeStrategy();
+    return new Coordinate(move.get(0), move.get(1));
+  }
+
+  // the solver's own board. cells holds EMPTY, BLACK or WHITE per packed cell, and the
+  // empty playable cells form a linked list through next and prev with head as its
+  // sentinel. A move pushes the cells it flips on flipStack and undo pops them off.
+  private final class Board {
+    private final int size;
+    private final int head;
+    private final int[] cells;
+    private final int[] next;
+    private final int[] prev;
+    private final int[] rayCells;
+    // rayStart and rayLength are indexed by direction * cells + cell.
+    private final int[] rayStart;
+    private final int[] rayLength;
+    private final int longestRay;
+    private int[] flipStack;
+    private final ZobristKeys keys;
+    private int[][] plyMoves;
+    private int[][] plyOrder;
+    private int flipTop;
+    private int empties;
+    private int blackCount;
+    private int whiteCount;
+    private long discKey;
+    private long nodes;
+    private int rootScore;
+
+    private Board(int size) {
+      this.size = size;
+      int cellCount = size * size;
+      this.head = cellCount;
+      this.cells = new int[cellCount];
+      this.next = new int[cellCount + 1];
+      this.prev = new int[cellCount + 1];
+      BoardTopology topology = BoardTopology.forSize(size);
+      this.rayCells = topology.getRayCells();
+      MoveDirection[] directions = MoveDirection.values();
+      this.rayStart = new int[directions.length * cellCount];
+      this.rayLength = new int[directions.length * cellCount];
+      int longest = 0;
+      for (int d = 0; d < directions.length; d++) {
+        for (int cell : topology.getPlayableCells()) {
+          this.rayStart[d * cellCount + cell] = topology.getRayStart(directions[d], cell);
+          this.rayLength[d * cellCount + cell] = topology.getRayLength(directions[d], cell);
+          longest = Math.max(longest, this.rayLength[d * cellCount + cell]);
+        }
+      }
+      this.longestRay = longest;
+      this.flipStack = new int[0];
+      this.keys = ZobristKeys.forSize(size);
+      this.plyMoves = new int[0][];
+      this.plyOrder = new int[0][];
+    }
+
+    // copies the discs of a model and rebuilds the empty list in cell order.
+    private void load(ReadOnlyReversiModel model) {
+      this.next[this.head] = this.head;
+      this.prev[this.head] = this.head;
+      this.flipTop = 0;
+      this.empties = 0;
+      this.blackCount = 0;
+      this.whiteCount = 0;
+      this.discKey = 0L;
+      for (int cell : BoardTopology.forSize(this.size).getPlayableCells()) {
+        DiscColor color = model.getDiscAt(MoveGenerator.unpackX(cell, this.size),
+                MoveGenerator.unpackY(cell, this.size)).getColor();
+        this.discKey ^= this.keys.getDiscKey(color, cell);
+        if (color == DiscColor.BLACK) {
+          this.cells[cell] = BLACK;
+          this.blackCount++;
+        } else if (color == DiscColor.WHITE) {
+          this.cells[cell] = WHITE;
+          this.whiteCount++;
+        } else {
+          this.cells[cell] = EMPTY;
+          this.prev[cell] = this.prev[this.head];
+          this.next[cell] = this.head;
+          this.next[this.prev[this.head]] = cell;
+          this.prev[this.head] = cell;
+          this.empties++;
+        }
+      }
+      if (this.plyMoves.length < this.empties + 1) {
+        this.plyMoves = new int[this.empties + 1][this.empties];
+        this.plyOrder = new int[this.empties + 1][this.empties];
+      }
+      // each move left flips at most a ray's worth of discs in every direction.
+      if (this.flipStack.length < this.empties * DIRECTIONS * this.longestRay) {
+        this.flipStack = new int[this.empties * DIRECTIONS * this.longestRay];
+      }
+    }
+
+    // places a disc of color on an empty cell and flips what it captures. Returns how
+    // many discs were flipped, 0 if the move is illegal and nothing changed.
+    private int play(int cell, int color) {
+      int opponent = BLACK + WHITE - color;
+      int cellCount = this.head;
+      int flips = 0;
+      for (int d = 0; d < DIRECTIONS; d++) {
+        int start = this.rayStart[d * cellCount + cell];
+        int end = start + this.rayLength[d * cellCount + cell];
+        int i = start;
+        while (i < end && this.cells[this.rayCells[i]] == opponent) {
+          i++;
+        }
+        if (i > start && i < end && this.cells[this.rayCells[i]] == color) {
+          for (int j = start; j < i; j++) {
+            int flipped = this.rayCells[j];
+            this.cells[flipped] = color;
+            this.flipStack[this.flipTop++] = flipped;
+            this.discKey ^= this.keys.getDiscKey(DiscColor.BLACK, flipped)
+                    ^ this.keys.getDiscKey(DiscColor.WHITE, flipped);
+          }
+          flips += i - start;
+        }
+      }
+      if (flips == 0) {
+        return 0;
+      }
+      this.cells[cell] = color;
+      this.discKey ^= this.keys.getDiscKey(colorOf(color), cell);
+      this.next[this.prev[cell]] = this.next[cell];
+      this.prev[this.next[cell]] = this.prev[cell];
+      this.empties--;
+      if (color == BLACK) {
+        this.blackCount += flips + 1;
+        this.whiteCount -= flips;
+      } else {
+        this.whiteCount += flips + 1;
+        this.blackCount -= flips;
+      }
+      return flips;
+    }
+
+    // takes back the last move, which placed color on cell and flipped flips discs.
+    // Moves must be taken back in the reverse order they were played.
+    private void undo(int cell, int color, int flips) {
+      int opponent = BLACK + WHITE - color;
+      for (int i = 0; i < flips; i++) {
+        int flipped = this.flipStack[--this.flipTop];
+        this.cells[flipped] = opponent;
+        this.discKey ^= this.keys.getDiscKey(DiscColor.BLACK, flipped)
+                ^ this.keys.getDiscKey(DiscColor.WHITE, flipped);
+      }
+      this.cells[cell] = EMPTY;
+      this.discKey ^= this.keys.getDiscKey(colorOf(color), cell);
+      this.next[this.prev[cell]] = cell;
+      this.prev[this.next[cell]] = cell;
+      this.empties++;
+      if (color == BLACK) {
+        this.blackCount -= flips + 1;
+        this.whiteCount += flips;
+      } else {
+        this.whiteCount -= flips + 1;
+        this.blackCount += flips;
+      }
+    }
+
+    // determines whether color captures anything by placing on an empty cell.
+    private boolean canPlay(int cell, int color) {
+      int opponent = BLACK + WHITE - color;
+      int cellCount = this.head;
+      for (int d = 0; d < DIRECTIONS; d++) {
+        int start = this.rayStart[d * cellCount + cell];
+        int end = start + this.rayLength[d * cellCount + cell];
+        int i = start;
+        while (i < end && this.cells[this.rayCells[i]] == opponent) {
+          i++;
+        }
+        if (i > start && i < end && this.cells[this.rayCells[i]] == color) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    // counts the legal moves of color.
+    private int mobility(int color) {
+      int count = 0;
+      for (int cell = this.next[this.head]; cell != this.head; cell = this.next[cell]) {
+        if (this.canPlay(cell, color)) {
+          count++;
+        }
+      }
+      return count;
+    }
+
+    // writes the legal moves of color into moves in cell order and returns how many.
+    private int legalMoves(int color, int[] moves) {
+      int count = 0;
+      for (int cell = this.next[this.head]; cell != this.head; cell = this.next[cell]) {
+        if (this.canPlay(cell, color)) {
+          moves[count++] = cell;
+        }
+      }
+      return count;
+    }
+
+    // solves the position with color to move, sets rootScore and returns the best move.
+    private int solveRoot(int color) {
+      int[] moves = this.plyMoves[0];
+      int count = this.legalMoves(color, moves);
+      if (count == 0) {
+        this.rootScore = this.finalScore(color);
+        return -1;
+      }
+      this.order(moves, count, color, 0, -1);
+      int alpha = -Integer.MAX_VALUE;
+      int bestMove = moves[0];
+      for (int i = 0; i < count; i++) {
+        int flips = this.play(moves[i], color);
+        int score = -this.solve(BLACK + WHITE - color, 1, -Integer.MAX_VALUE, -alpha);
+        this.undo(moves[i], color, flips);
+        if (score > alpha) {
+          alpha = score;
+          bestMove = moves[i];
+        }
+      }
+      this.rootScore = alpha;
+      return bestMove;
+    }
+
+    // negamax alpha-beta to the end of the game, scored by the final disc differential
+    // for color, the player to move.
+    private int solve(int color, int ply, int alpha, int beta) {
+      this.nodes++;
+      int[] moves = this.plyMoves[ply];
+      int count = this.legalMoves(color, moves);
+      if (count == 0) {
+        return this.finalScore(color);
+      }
+      if (this.empties < SHALLOW_EMPTIES) {
+        int best = -Integer.MAX_VALUE;
+        for (int i = 0; i < count && best < beta; i++) {
+          int flips = this.play(moves[i], color);
+          int score = -this.solve(BLACK + WHITE - color, ply + 1, -beta, -Math.max(alpha, best));
+          this.undo(moves[i], color, flips);
+          best = Math.max(best, score);
+        }
+        return best;
+      }
+      long key = (color == WHITE) ? this.discKey ^ this.keys.getSideKey() : this.discKey;
+      long entry = EndgameSolverStrategy.this.table.probe(key);
+      int hashMove = -1;
+      int originalAlpha = alpha;
+      if (entry != TranspositionTable.MISS) {
+        int stored = TranspositionTable.scoreOf(entry);
+        int bound = TranspositionTable.boundOf(entry);
+        if (bound == TranspositionTable.EXACT) {
+          return stored;
+        } else if (bound == TranspositionTable.LOWER) {
+          alpha = Math.max(alpha, stored);
+        } else {
+          beta = Math.min(beta, stored);
+        }
+        if (alpha >= beta) {
+          return stored;
+        }
+        hashMove = TranspositionTable.moveOf(entry);
+      }
+      this.order(moves, count, color, ply, hashMove);
+      int best = -Integer.MAX_VALUE;
+      int bestMove = -1;
+      for (int i = 0; i < count; i++) {
+        int flips = this.play(moves[i], color);
+        int score = -this.solve(BLACK + WHITE - color, ply + 1, -beta, -alpha);
+        this.undo(moves[i], color, flips);
+        if (score > best) {
+          best = score;
+          bestMove = moves[i];
+        }
+        if (best > alpha) {
+          alpha = best;
+        }
+        if (alpha >= beta) {
+          break;
+        }
+      }
+      int bound = TranspositionTable.EXACT;
+      if (best <= originalAlpha) {
+        bound = TranspositionTable.UPPER;
+      } else if (best >= beta) {
+        bound = TranspositionTable.LOWER;
+      }
+      EndgameSolverStrategy.this.table.store(key, this.empties, bound, best, bestMove);
+      return best;
+    }
+
+    // sorts the moves so the one leaving the opponent the fewest replies comes first,
+    // after the move the table remembers as best if there is one.
+    private void order(int[] moves, int count, int color, int ply, int hashMove) {
+      int[] replies = this.plyOrder[ply];
+      for (int i = 0; i < count; i++) {
+        if (moves[i] == hashMove) {
+          replies[i] = -1;
+        } else {
+          int flips = this.play(moves[i], color);
+          replies[i] = this.mobility(BLACK + WHITE - color);
+          this.undo(moves[i], color, flips);
+        }
+      }
+      for (int i = 1; i < count; i++) {
+        int move = moves[i];
+        int reply = replies[i];
+        int j = i - 1;
+        while (j >= 0 && replies[j] > reply) {
+          moves[j + 1] = moves[j];
+          replies[j + 1] = replies[j];
+          j--;
+        }
+        moves[j + 1] = move;
+        replies[j + 1] = reply;
+      }
+    }
+
+    // the final disc differential for color.
+    private int finalScore(int color) {
+      return (color == BLACK) ? this.blackCount - this.whiteCount
+              : this.whiteCount - this.blackCount;
+    }
+  }
+
+  private static DiscColor colorOf(int color) {
+    return (color == BLACK) ? DiscColor.BLACK : DiscColor.WHITE;
+  }
+}
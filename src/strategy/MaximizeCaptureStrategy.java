@@ -1,9 +1,10 @@
 package strategy;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
-import model.BoardUtils;
+import model.MoveGenerator;
 import model.ReadOnlyReversiModel;
 import player.PlayerTurn;
 import provider.model.Coordinate;
@@ -30,34 +31,24 @@ public class MaximizeCaptureStrategy extends AbstractStrategy {
 
   @Override
   public List<Integer> executeStrategy() {
-    HashMap<List<Integer>, List<List<List<Integer>>>> positionMoveMap = new HashMap<>();
-    List<List<Integer>> validPositions = getPositionsForBFS();
-    for (List<Integer> position : validPositions) {
-      List<List<List<Integer>>> moveFromPosition = BoardUtils.bfs(this.reversiModel,
-              position.get(0), position.get(1));
-      if (positionMoveMap.get(position) == null) {
-        positionMoveMap.put(position, moveFromPosition);
-      } else {
-        List<List<List<Integer>>> moveInMap = positionMoveMap.get(position);
-        int lengthOfMoveInMap = getLengthOfMove(moveInMap);
-        int lengthOfMoveFromPos = getLengthOfMove(moveFromPosition);
-        if (lengthOfMoveFromPos > lengthOfMoveInMap) {
-          positionMoveMap.put(position, moveFromPosition);
-        } else if (lengthOfMoveFromPos == lengthOfMoveInMap) {
-          List<Integer> mapMoveMostUpLeft = getUpLeftMostInMove(moveInMap);
-          List<Integer> posMoveMostUpLeft = getUpLeftMostInMove(moveFromPosition);
-          int mapX = mapMoveMostUpLeft.get(0);
-          int mapY = mapMoveMostUpLeft.get(1);
-          int currX = posMoveMostUpLeft.get(0);
-          int currY = posMoveMostUpLeft.get(1);
-          if (currX < mapX || (currX == mapX && currY < mapY)) {
-            positionMoveMap.put(position, moveFromPosition);
-          }
-        }
-
+    int longestMove = Integer.MIN_VALUE;
+    int bestX = Integer.MAX_VALUE;
+    int bestY = Integer.MAX_VALUE;
+    int dimensions = this.reversiModel.getDimensions();
+    int[] moves = getMoveBuffer();
+    int moveCount = getLegalMoves();
+    for (int i = 0; i < moveCount; i++) {
+      int x = MoveGenerator.unpackX(moves[i], dimensions);
+      int y = MoveGenerator.unpackY(moves[i], dimensions);
+      int moveLength = getLengthOfMove(x, y);
+      if (moveLength > longestMove
+              || (moveLength == longestMove && isMoreUpLeft(x, y, bestX, bestY))) {
+        longestMove = moveLength;
+        bestX = x;
+        bestY = y;
       }
     }
-    return getLongestAndMostUpLeftFromMap(positionMoveMap);
+    return new ArrayList<>(Arrays.asList(bestX, bestY));
   }
 
   @Override
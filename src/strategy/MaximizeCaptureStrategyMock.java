@@ -38,7 +38,7 @@ public class MaximizeCaptureStrategyMock extends AbstractStrategy {
   @Override
   public List<Integer> executeStrategy() {
     HashMap<List<Integer>, List<List<List<Integer>>>> positionMoveMap = new HashMap<>();
-    List<List<Integer>> validPositions = getPositionsForBFS();
+    List<List<Integer>> validPositions = getFacedownPositions();
 
     for (List<Integer> position : validPositions) {
       List<List<List<Integer>>> moveFromPosition = BoardUtils.bfs(this.reversiModel,
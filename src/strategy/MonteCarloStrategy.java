@@ -0,0 +1,448 @@
+package strategy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+import discs.DiscColor;
+import model.MoveGenerator;
+import model.ReadOnlyReversiModel;
+import model.ReversiBitboardModel;
+import model.ReversiModel;
+import player.PlayerTurn;
+import provider.model.Coordinate;
+import provider.model.PlayerType;
+import provider.model.ReadonlyReversiModel;
+
+/**
+ * A 'MonteCarloStrategy' represents a strategy that runs Monte Carlo Tree Search: it
+ * walks down a tree of moves picking children by UCT, plays the rest of the game out at
+ * random on a bitboard copy of the position, and credits the result to every move on
+ * the way. It plays the move that was tried most often. The budget of a move is either
+ * a number of playouts or a number of milliseconds.
+ * Each tree is a fixed set of flat arrays, so memory stays bounded however long it
+ * searches; once a tree is full, leaves stop being expanded. Trees are kept between
+ * turns, and the next search starts from the subtree of the position reached.
+ * With more than one thread, every thread grows its own tree on its own board copy,
+ * and the root visit counts are summed when the budget runs out.
+ */
+public class MonteCarloStrategy extends AbstractStrategy {
+  public static final long DEFAULT_BUDGET_MILLIS = 1000;
+  public static final int DEFAULT_TREE_NODES = 1 << 18;
+
+  private static final double EXPLORATION = Math.sqrt(2);
+  // how deep below the last root to look for the position the next search starts at.
+  private static final int REUSE_DEPTH = 4;
+
+  private final StrategyType strategyType;
+  private final long budget;
+  private final boolean isTimed;
+  private final int threads;
+  private final Worker[] workers;
+  private long playouts;
+
+  /**
+   * A 'MonteCarloStrategy' constructor that searches for one second per move on the
+   * caller's thread.
+   */
+  public MonteCarloStrategy(ReadOnlyReversiModel reversiModel, PlayerTurn player) {
+    this(reversiModel, player, DEFAULT_BUDGET_MILLIS, true, 1);
+  }
+
+  /**
+   * A 'MonteCarloStrategy' constructor with randomly seeded playouts.
+   *
+   * @param reversiModel a reversiModel.
+   * @param player       a player turn.
+   * @param budget       how many milliseconds or how many playouts each move may use.
+   * @param isTimed      whether the budget is in milliseconds rather than playouts.
+   * @param threads      how many threads grow trees, 1 to search on the caller's thread.
+   * @throws IllegalArgumentException if the budget or the thread count isn't positive
+   */
+  public MonteCarloStrategy(ReadOnlyReversiModel reversiModel, PlayerTurn player,
+                            long budget, boolean isTimed, int threads) {
+    this(reversiModel, player, budget, isTimed, threads, new Random().nextLong());
+  }
+
+  /**
+   * A 'MonteCarloStrategy' constructor. With one thread and a playout budget, the same
+   * seed always picks the same moves.
+   *
+   * @param reversiModel a reversiModel.
+   * @param player       a player turn.
+   * @param budget       how many milliseconds or how many playouts each move may use.
+   * @param isTimed      whether the budget is in milliseconds rather than playouts.
+   * @param threads      how many threads grow trees, 1 to search on the caller's thread.
+   * @param seed         the seed of the random playouts.
+   * @throws IllegalArgumentException if the budget or the thread count isn't positive
+   */
+  public MonteCarloStrategy(ReadOnlyReversiModel reversiModel, PlayerTurn player,
+                            long budget, boolean isTimed, int threads, long seed) {
+    super(reversiModel, player);
+    if (budget <= 0) {
+      throw new IllegalArgumentException("Search budget must be positive");
+    }
+    if (threads <= 0) {
+      throw new IllegalArgumentException("Thread count must be positive");
+    }
+    this.budget = budget;
+    this.isTimed = isTimed;
+    this.threads = threads;
+    this.workers = new Worker[threads];
+    for (int i = 0; i < threads; i++) {
+      this.workers[i] = new Worker(seed + i);
+    }
+    this.strategyType = StrategyType.MCTS;
+  }
+
+  @Override
+  public List<Integer> executeStrategy() {
+    long deadline = System.nanoTime() + this.budget * 1_000_000L;
+    AtomicLong remaining = new AtomicLong(this.budget);
+    int size = this.reversiModel.getDimensions();
+    if (!this.reversiModel.doesPlayerHaveLegalMove()) {
+      this.playouts = 0;
+      return new ArrayList<>(Arrays.asList(Integer.MAX_VALUE, Integer.MAX_VALUE));
+    }
+    if (this.threads == 1) {
+      this.workers[0].search(deadline, remaining);
+    } else {
+      // the pool lives only as long as one search, so no threads outlive the strategy.
+      ForkJoinPool pool = new ForkJoinPool(this.threads);
+      try {
+        List<ForkJoinTask<?>> tasks = new ArrayList<>();
+        for (Worker worker : this.workers) {
+          tasks.add(pool.submit(() -> worker.search(deadline, remaining)));
+        }
+        for (ForkJoinTask<?> task : tasks) {
+          task.join();
+        }
+      } finally {
+        pool.shutdown();
+      }
+    }
+
+    // every tree's root was expanded from the same legal moves, so sum their visits
+    // per cell and play the most visited one.
+    long[] visits = new long[size * size];
+    this.playouts = 0;
+    for (Worker worker : this.workers) {
+      this.playouts += worker.playouts;
+      SearchTree tree = worker.tree;
+      for (int i = 0; i < tree.childCount[0]; i++) {
+        int child = tree.childStart[0] + i;
+        visits[tree.move[child]] += tree.visits[child];
+      }
+    }
+    int bestMove = -1;
+    for (int cell = 0; cell < visits.length; cell++) {
+      if (visits[cell] > 0 && (bestMove == -1 || visits[cell] > visits[bestMove])) {
+        bestMove = cell;
+      }
+    }
+    if (bestMove == -1) {
+      // the budget ran out before a single playout, so play any legal move.
+      int[] moves = getMoveBuffer();
+      getLegalMoves();
+      bestMove = moves[0];
+    }
+    return new ArrayList<>(Arrays.asList(MoveGenerator.unpackX(bestMove, size),
+            MoveGenerator.unpackY(bestMove, size)));
+  }
+
+  /**
+   * Gets how many playouts the last call to executeStrategy ran, over all threads.
+   */
+  public long getPlayouts() {
+    return this.playouts;
+  }
+
+  /**
+   * Gets how many nodes the trees hold after the last call to executeStrategy, over all
+   * threads.
+   */
+  public int getTreeNodes() {
+    int nodes = 0;
+    for (Worker worker : this.workers) {
+      nodes += worker.tree.used;
+    }
+    return nodes;
+  }
+
+  @Override
+  public StrategyType getStrategyType() {
+    return this.strategyType;
+  }
+
+  @Override
+  public Coordinate chooseMove(ReadonlyReversiModel model, PlayerType player) {
+    List<Integer> move = this.executeStrategy();
+    return new Coordinate(move.get(0), move.get(1));
+  }
+
+  // a tree of moves stored in flat arrays, node 0 being the root. The children of a node
+  // are childCount consecutive nodes from childStart; childStart is -1 until the node is
+  // expanded. Wins are counted in half points for the player who made the node's move.
+  private static final class SearchTree {
+    private final int[] move;
+    private final long[] key;
+    private final int[] childStart;
+    private final int[] childCount;
+    private final int[] visits;
+    private final int[] wins;
+    private int used;
+
+    private SearchTree(int capacity) {
+      this.move = new int[capacity];
+      this.key = new long[capacity];
+      this.childStart = new int[capacity];
+      this.childCount = new int[capacity];
+      this.visits = new int[capacity];
+      this.wins = new int[capacity];
+    }
+
+    // empties the tree down to an unexpanded root for a position.
+    private void reset(long rootKey) {
+      this.used = 1;
+      this.initNode(0, -1);
+      this.key[0] = rootKey;
+    }
+
+    private void initNode(int node, int cell) {
+      this.move[node] = cell;
+      this.key[node] = 0L;
+      this.childStart[node] = -1;
+      this.childCount[node] = 0;
+      this.visits[node] = 0;
+      this.wins[node] = 0;
+    }
+
+    // reserves count consecutive nodes and returns the first, or -1 if the tree is full.
+    private int allocate(int count) {
+      if (this.used + count > this.move.length) {
+        return -1;
+      }
+      int start = this.used;
+      this.used += count;
+      return start;
+    }
+
+    // finds a node whose position has the given key within a few moves of the root,
+    // or returns -1. Only visited nodes know their key.
+    private int find(long target) {
+      if (this.used == 0) {
+        return -1;
+      }
+      int[] queue = new int[this.used];
+      int[] depths = new int[this.used];
+      int head = 0;
+      int tail = 1;
+      while (head < tail) {
+        int node = queue[head];
+        int depth = depths[head];
+        head++;
+        if (this.key[node] == target && this.visits[node] > 0) {
+          return node;
+        }
+        if (this.childStart[node] >= 0 && depth < REUSE_DEPTH) {
+          for (int i = 0; i < this.childCount[node]; i++) {
+            queue[tail] = this.childStart[node] + i;
+            depths[tail] = depth + 1;
+            tail++;
+          }
+        }
+      }
+      return -1;
+    }
+
+    // copies the subtree under node from another tree into this one, which is emptied
+    // first, keeping children consecutive.
+    private void copySubtree(SearchTree from, int node) {
+      this.used = 1;
+      this.copyNode(from, node, 0);
+      int[] pending = {0};
+      int[] sources = {node};
+      int head = 0;
+      int tail = 1;
+      while (head < tail) {
+        int target = pending[head];
+        int source = sources[head];
+        head++;
+        if (from.childStart[source] < 0) {
+          continue;
+        }
+        int count = from.childCount[source];
+        int start = this.allocate(count);
+        this.childStart[target] = start;
+        this.childCount[target] = count;
+        if (tail + count > pending.length) {
+          pending = Arrays.copyOf(pending, 2 * (tail + count));
+          sources = Arrays.copyOf(sources, pending.length);
+        }
+        for (int i = 0; i < count; i++) {
+          this.copyNode(from, from.childStart[source] + i, start + i);
+          pending[tail] = start + i;
+          sources[tail] = from.childStart[source] + i;
+          tail++;
+        }
+      }
+    }
+
+    private void copyNode(SearchTree from, int source, int target) {
+      this.move[target] = from.move[source];
+      this.key[target] = from.key[source];
+      this.childStart[target] = -1;
+      this.childCount[target] = 0;
+      this.visits[target] = from.visits[source];
+      this.wins[target] = from.wins[source];
+    }
+  }
+
+  // the tree, spare tree and random source one thread searches with. Trees outlive a
+  // search so the next one can reuse them.
+  private final class Worker {
+    private final Random random;
+    private SearchTree tree;
+    private SearchTree spare;
+    private ReversiModel board;
+    private int[] path;
+    private int[] moves;
+    private long playouts;
+
+    private Worker(long seed) {
+      this.random = new Random(seed);
+      this.tree = new SearchTree(DEFAULT_TREE_NODES);
+      this.spare = new SearchTree(DEFAULT_TREE_NODES);
+    }
+
+    private void search(long deadline, AtomicLong remaining) {
+      this.board = new ReversiBitboardModel(MonteCarloStrategy.this.reversiModel);
+      int cells = this.board.getDimensions() * this.board.getDimensions();
+      this.moves = new int[cells];
+      this.path = new int[this.board.getDiscCount(DiscColor.FACEDOWN) * 2 + 2];
+      this.playouts = 0;
+      this.reroot(this.board.getPositionKey());
+      PlayerTurn rootPlayer = this.board.currentTurn();
+      int mark = this.board.getHistoryMark();
+      while (MonteCarloStrategy.this.isTimed
+              ? System.nanoTime() < deadline : remaining.getAndDecrement() > 0) {
+        this.runPlayout(rootPlayer);
+        this.board.unmakeMove(mark);
+        this.playouts++;
+      }
+      this.board = null;
+    }
+
+    // makes the tree start at the given position, keeping the subtree of that position
+    // if the last search already reached it.
+    private void reroot(long rootKey) {
+      int node = this.tree.find(rootKey);
+      if (node == 0) {
+        return;
+      } else if (node > 0) {
+        this.spare.copySubtree(this.tree, node);
+        SearchTree old = this.tree;
+        this.tree = this.spare;
+        this.spare = old;
+      } else {
+        this.tree.reset(rootKey);
+      }
+    }
+
+    // walks down the tree by UCT, expands the leaf it reaches, plays the game out at
+    // random and credits the result to every node on the way.
+    private void runPlayout(PlayerTurn rootPlayer) {
+      SearchTree t = this.tree;
+      int node = 0;
+      int depth = 0;
+      this.path[0] = 0;
+      while (t.childStart[node] >= 0 && t.childCount[node] > 0) {
+        node = this.select(node);
+        this.play(t.move[node]);
+        if (t.key[node] == 0L) {
+          t.key[node] = this.board.getPositionKey();
+        }
+        depth++;
+        this.path[depth] = node;
+      }
+      if (t.childStart[node] < 0 && (node == 0 || t.visits[node] > 0) && this.expand(node)
+              && t.childCount[node] > 0) {
+        node = t.childStart[node] + this.random.nextInt(t.childCount[node]);
+        this.play(t.move[node]);
+        t.key[node] = this.board.getPositionKey();
+        depth++;
+        this.path[depth] = node;
+      }
+      int result = this.playOut(rootPlayer);
+      for (int i = 0; i <= depth; i++) {
+        t.visits[this.path[i]]++;
+        // odd depths are moves of the root player, even depths moves of the opponent.
+        t.wins[this.path[i]] += (i % 2 == 1) ? result : 2 - result;
+      }
+    }
+
+    // picks the child with the best upper confidence bound, trying unvisited ones first.
+    private int select(int node) {
+      SearchTree t = this.tree;
+      double logVisits = Math.log(t.visits[node]);
+      int best = -1;
+      double bestValue = Double.NEGATIVE_INFINITY;
+      for (int i = 0; i < t.childCount[node]; i++) {
+        int child = t.childStart[node] + i;
+        if (t.visits[child] == 0) {
+          return child;
+        }
+        double value = t.wins[child] / (2.0 * t.visits[child])
+                + EXPLORATION * Math.sqrt(logVisits / t.visits[child]);
+        if (value > bestValue) {
+          bestValue = value;
+          best = child;
+        }
+      }
+      return best;
+    }
+
+    // adds a child for every legal move of the player to move, or none once the game is
+    // over. Returns false if the tree has no room left.
+    private boolean expand(int node) {
+      SearchTree t = this.tree;
+      if (this.board.isGameOver()) {
+        t.childStart[node] = 0;
+        t.childCount[node] = 0;
+        return true;
+      }
+      int count = this.board.getLegalMoves(this.board.currentTurn(), this.moves);
+      int start = t.allocate(count);
+      if (start == -1) {
+        return false;
+      }
+      for (int i = 0; i < count; i++) {
+        t.initNode(start + i, this.moves[i]);
+      }
+      t.childStart[node] = start;
+      t.childCount[node] = count;
+      return true;
+    }
+
+    // plays random moves until the game is over and returns the result for the root
+    // player in half points: 2 for more discs, 1 for as many, 0 for fewer.
+    private int playOut(PlayerTurn rootPlayer) {
+      while (!this.board.isGameOver()) {
+        int count = this.board.getLegalMoves(this.board.currentTurn(), this.moves);
+        this.play(this.moves[this.random.nextInt(count)]);
+      }
+      int diff = this.board.getScore(rootPlayer)
+              - this.board.getScore(this.board.getOpponent(rootPlayer));
+      return (diff > 0) ? 2 : (diff == 0) ? 1 : 0;
+    }
+
+    private void play(int cell) {
+      int size = this.board.getDimensions();
+      this.board.makeMove(MoveGenerator.unpackX(cell, size), MoveGenerator.unpackY(cell, size));
+    }
+  }
+}
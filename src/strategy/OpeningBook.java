@@ -0,0 +1,122 @@
+package strategy;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+import model.CanonicalPosition;
+import model.HexSymmetry;
+import model.MoveGenerator;
+import model.ReadOnlyReversiModel;
+
+/**
+ * An OpeningBook holds the moves a strategy chose in the opening of one board size,
+ * so they don't have to be searched again every game. Positions are stored by their
+ * canonical key from HexSymmetry, and their move in the canonical image, so all the
+ * images of a position share one entry.
+ * A book is a file of a 16 byte header, magic, version, board size and entry count,
+ * followed by 12 byte entries, a canonical key and a packed cell, sorted by key. It is
+ * read through a MappedByteBuffer, so a lookup is a binary search of the mapped pages
+ * and every JVM that opens the same file shares them through the page cache. Books are
+ * written by an OpeningBookBuilder and never change once written, so one book may be
+ * read by any number of threads.
+ */
+public final class OpeningBook {
+  /**
+   * The book file an AI player opens when it isn't given one.
+   */
+  public static final Path DEFAULT_FILE = Paths.get("opening.book");
+
+  static final int MAGIC = 0x48455842;
+  static final int VERSION = 1;
+  static final int HEADER_BYTES = 16;
+  static final int ENTRY_BYTES = 12;
+
+  private final MappedByteBuffer buffer;
+  private final int size;
+  private final int entryCount;
+
+  private OpeningBook(MappedByteBuffer buffer, int size, int entryCount) {
+    this.buffer = buffer;
+    this.size = size;
+    this.entryCount = entryCount;
+  }
+
+  /**
+   * Opens a book file written by an OpeningBookBuilder.
+   *
+   * @param file the book file
+   * @return the book, mapped read only
+   * @throws IOException if the file can't be read or isn't an opening book
+   */
+  public static OpeningBook open(Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      if (channel.size() < HEADER_BYTES) {
+        throw new IOException("Not an opening book: " + file);
+      }
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+        throw new IOException("Not an opening book: " + file);
+      }
+      int size = buffer.getInt(8);
+      int entryCount = buffer.getInt(12);
+      if (entryCount < 0 || channel.size() != HEADER_BYTES + (long) entryCount * ENTRY_BYTES) {
+        throw new IOException("Truncated opening book: " + file);
+      }
+      return new OpeningBook(buffer, size, entryCount);
+    }
+  }
+
+  /**
+   * Gets the board size the book was built for.
+   */
+  public int getSize() {
+    return this.size;
+  }
+
+  /**
+   * Gets how many positions the book holds.
+   */
+  public int getEntryCount() {
+    return this.entryCount;
+  }
+
+  /**
+   * Looks up the book move for the player to move in a model's position.
+   *
+   * @param model the model whose position to look up
+   * @return the packed cell of the book move in the model's own orientation, or -1 if
+   *         the book has no legal move for the position
+   */
+  public int lookup(ReadOnlyReversiModel model) {
+    if (model.getDimensions() != this.size || this.entryCount == 0) {
+      return -1;
+    }
+    CanonicalPosition canonical = HexSymmetry.forSize(this.size).canonicalize(model);
+    long key = canonical.getKey();
+    int low = 0;
+    int high = this.entryCount - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      long offset = HEADER_BYTES + (long) mid * ENTRY_BYTES;
+      long midKey = this.buffer.getLong((int) offset);
+      if (midKey < key) {
+        low = mid + 1;
+      } else if (midKey > key) {
+        high = mid - 1;
+      } else {
+        int cell = canonical.fromCanonical(this.buffer.getInt((int) offset + 8));
+        // a key collision could point at any cell, so only a legal move is trusted.
+        if (cell >= 0 && model.isLegalMove(model.currentTurn(),
+                MoveGenerator.unpackX(cell, this.size), MoveGenerator.unpackY(cell, this.size))) {
+          return cell;
+        }
+        return -1;
+      }
+    }
+    return -1;
+  }
+}
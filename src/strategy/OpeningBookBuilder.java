@@ -0,0 +1,160 @@
+package strategy;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.BiFunction;
+
+import model.CanonicalPosition;
+import model.HexSymmetry;
+import model.MoveGenerator;
+import model.ReadOnlyReversiModel;
+import model.ReversiBitboardModel;
+import model.ReversiModel;
+import player.PlayerTurn;
+
+/**
+ * An OpeningBookBuilder collects the moves strategies choose in the opening, offline,
+ * and writes them as an OpeningBook file. Each recorded move is counted under the
+ * canonical key of its position, and the book keeps the move chosen most often there.
+ * The usual way to fill a builder is selfPlay, and main builds a book from alpha-beta
+ * self-play from the command line.
+ */
+public final class OpeningBookBuilder {
+  private static final double DEFAULT_EXPLORATION = 0.25;
+
+  private final int size;
+  private final HexSymmetry symmetry;
+  // canonical key -> canonical cell -> how many times it was chosen.
+  private final Map<Long, Map<Integer, Integer>> choices = new HashMap<>();
+
+  /**
+   * Constructor for an empty builder.
+   *
+   * @param size the board size of the book
+   */
+  public OpeningBookBuilder(int size) {
+    this.size = size;
+    this.symmetry = HexSymmetry.forSize(size);
+  }
+
+  /**
+   * Records that a move was chosen for the player to move in a model's position.
+   *
+   * @param model the model in the position the move was chosen for
+   * @param x     the x coordinate of the move
+   * @param y     the y coordinate of the move
+   * @throws IllegalArgumentException if the model's board isn't the book's size
+   */
+  public void record(ReadOnlyReversiModel model, int x, int y) {
+    if (model.getDimensions() != this.size) {
+      throw new IllegalArgumentException("Model board size doesn't match the book");
+    }
+    CanonicalPosition canonical = this.symmetry.canonicalize(model);
+    int cell = canonical.toCanonical(MoveGenerator.pack(x, y, this.size));
+    this.choices.computeIfAbsent(canonical.getKey(), k -> new HashMap<>())
+            .merge(cell, 1, Integer::sum);
+  }
+
+  /**
+   * Plays games between strategies from the starting position and records every move
+   * they choose during the first plies of each game. To reach more positions than the
+   * strategies' own lines, a random legal move is played instead of the chosen one with
+   * the given probability; the chosen move is recorded either way.
+   *
+   * @param strategies  makes the strategy of a player for a model
+   * @param games       how many games to play
+   * @param plies       how many moves of each game to record
+   * @param exploration the probability of playing a random move instead, from 0 to 1
+   * @param seed        the seed of the random moves
+   */
+  public void selfPlay(BiFunction<ReadOnlyReversiModel, PlayerTurn, IStrategy> strategies,
+                       int games, int plies, double exploration, long seed) {
+    Random random = new Random(seed);
+    int[] moves = new int[this.size * this.size];
+    for (int game = 0; game < games; game++) {
+      ReversiModel model = new ReversiBitboardModel();
+      model.startGame(this.size);
+      IStrategy player1 = strategies.apply(model, PlayerTurn.PLAYER1);
+      IStrategy player2 = strategies.apply(model, PlayerTurn.PLAYER2);
+      for (int ply = 0; ply < plies && !model.isGameOver(); ply++) {
+        IStrategy mover = (model.currentTurn() == PlayerTurn.PLAYER1) ? player1 : player2;
+        List<Integer> move = mover.executeStrategy();
+        this.record(model, move.get(0), move.get(1));
+        if (random.nextDouble() < exploration) {
+          int cell = moves[random.nextInt(model.getLegalMoves(model.currentTurn(), moves))];
+          model.makeMove(MoveGenerator.unpackX(cell, this.size),
+                  MoveGenerator.unpackY(cell, this.size));
+        } else {
+          model.makeMove(move.get(0), move.get(1));
+        }
+      }
+    }
+  }
+
+  /**
+   * Gets how many distinct positions, up to symmetry, have been recorded.
+   */
+  public int getPositionCount() {
+    return this.choices.size();
+  }
+
+  /**
+   * Writes the recorded positions as a book file, keeping the most chosen move of each
+   * and the lowest cell among equally chosen ones.
+   *
+   * @param file the file to write, replaced if it exists
+   * @throws IOException if the file can't be written
+   */
+  public void write(Path file) throws IOException {
+    List<Long> keys = new ArrayList<>(this.choices.keySet());
+    keys.sort(Long::compare);
+    try (DataOutputStream out = new DataOutputStream(
+            new BufferedOutputStream(Files.newOutputStream(file)))) {
+      out.writeInt(OpeningBook.MAGIC);
+      out.writeInt(OpeningBook.VERSION);
+      out.writeInt(this.size);
+      out.writeInt(keys.size());
+      for (long key : keys) {
+        int bestCell = -1;
+        int bestCount = 0;
+        for (Map.Entry<Integer, Integer> choice : this.choices.get(key).entrySet()) {
+          if (choice.getValue() > bestCount
+                  || (choice.getValue() == bestCount && choice.getKey() < bestCell)) {
+            bestCell = choice.getKey();
+            bestCount = choice.getValue();
+          }
+        }
+        out.writeLong(key);
+        out.writeInt(bestCell);
+      }
+    }
+  }
+
+  /**
+   * Builds a book from alpha-beta self-play.
+   * Usage: OpeningBookBuilder size games plies budgetMillis file
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length != 5) {
+      System.out.println("Usage: OpeningBookBuilder size games plies budgetMillis file");
+      return;
+    }
+    int size = Integer.parseInt(args[0]);
+    long budgetMillis = Long.parseLong(args[3]);
+    OpeningBookBuilder builder = new OpeningBookBuilder(size);
+    builder.selfPlay((model, player) -> new AlphaBetaStrategy(model, player, budgetMillis),
+            Integer.parseInt(args[1]), Integer.parseInt(args[2]), DEFAULT_EXPLORATION,
+            System.nanoTime());
+    builder.write(Paths.get(args[4]));
+    System.out.println("Wrote " + builder.getPositionCount() + " positions to " + args[4]);
+  }
+}
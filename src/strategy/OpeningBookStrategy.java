@@ -0,0 +1,74 @@
+package strategy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import model.MoveGenerator;
+import model.ReadOnlyReversiModel;
+import player.PlayerTurn;
+import provider.model.Coordinate;
+import provider.model.PlayerType;
+import provider.model.ReadonlyReversiModel;
+
+/**
+ * An 'OpeningBookStrategy' represents a strategy that plays the move an OpeningBook
+ * holds for the position, and plays whatever the strategy it wraps plays once the game
+ * has left the book.
+ */
+public class OpeningBookStrategy extends AbstractStrategy {
+  private final StrategyType strategyType;
+  private final OpeningBook book;
+  private final IStrategy fallback;
+  private boolean fromBook;
+
+  /**
+   * An 'OpeningBookStrategy' constructor.
+   *
+   * @param reversiModel a reversiModel.
+   * @param player       a player turn.
+   * @param book         the book to play from.
+   * @param fallback     the strategy to play out of the book.
+   * @throws IllegalArgumentException if the book or the fallback is null
+   */
+  public OpeningBookStrategy(ReadOnlyReversiModel reversiModel, PlayerTurn player,
+                             OpeningBook book, IStrategy fallback) {
+    super(reversiModel, player);
+    if (book == null || fallback == null) {
+      throw new IllegalArgumentException("Book and fallback strategy can't be null");
+    }
+    this.book = book;
+    this.fallback = fallback;
+    this.strategyType = StrategyType.BOOK;
+  }
+
+  @Override
+  public List<Integer> executeStrategy() {
+    int cell = this.book.lookup(this.reversiModel);
+    this.fromBook = cell >= 0;
+    if (!this.fromBook) {
+      return this.fallback.executeStrategy();
+    }
+    int size = this.reversiModel.getDimensions();
+    return new ArrayList<>(Arrays.asList(MoveGenerator.unpackX(cell, size),
+            MoveGenerator.unpackY(cell, size)));
+  }
+
+  /**
+   * Determines whether the last call to executeStrategy played a book move.
+   */
+  public boolean isFromBook() {
+    return this.fromBook;
+  }
+
+  @Override
+  public StrategyType getStrategyType() {
+    return this.strategyType;
+  }
+
+  @Override
+  public Coordinate chooseMove(ReadonlyReversiModel model, PlayerType player) {
+    List<Integer> move = this.executeStrategy();
+    return new Coordinate(move.get(0), move.get(1));
+  }
+}
@@ -1,11 +1,15 @@
 package strategy;
 
 /**
- * A 'StarategyType' is an enum representing all 4 strategies available.
+ * A 'StarategyType' is an enum representing all 8 strategies available.
  */
 public enum StrategyType {
   AVOIDCORNER,
   GOFORCORNER,
   MAXIMIZE,
-  MINIMAX
+  MINIMAX,
+  ALPHABETA,
+  MCTS,
+  ENDGAME,
+  BOOK
 }
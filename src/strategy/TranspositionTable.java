@@ -0,0 +1,128 @@
+package strategy;
+
+import java.util.Arrays;
+
+/**
+ * A TranspositionTable remembers what a search found out about positions, keyed by
+ * their Zobrist key, so a position reached again through another move order, or on a
+ * later turn, doesn't have to be searched again. It has a fixed number of slots and
+ * never allocates after construction.
+ * Each slot is two longs: the packed entry and the key XORed with it. A read only
+ * accepts a slot whose two halves agree, so threads can share a table without locks:
+ * a slot torn by two concurrent writes just reads as a miss.
+ * Entries are read back with the static accessors, for example scoreOf(probe(key)).
+ */
+public class TranspositionTable {
+  /**
+   * The score is the exact value of the position.
+   */
+  public static final int EXACT = 1;
+  /**
+   * The score is a lower bound, the search failed high.
+   */
+  public static final int LOWER = 2;
+  /**
+   * The score is an upper bound, the search failed low.
+   */
+  public static final int UPPER = 3;
+  /**
+   * What probe returns when it has nothing for a key.
+   */
+  public static final long MISS = 0L;
+
+  private static final int MAX_DEPTH = 0xFF;
+  private static final int NO_MOVE = 0xFFFFF;
+
+  private final long[] slots;
+  private final int mask;
+
+  /**
+   * Constructor for an empty table.
+   *
+   * @param entries how many positions the table may hold, rounded down to a power of two
+   * @throws IllegalArgumentException if entries isn't positive
+   */
+  public TranspositionTable(int entries) {
+    if (entries <= 0) {
+      throw new IllegalArgumentException("A transposition table needs at least one entry");
+    }
+    int size = Integer.highestOneBit(entries);
+    this.slots = new long[2 * size];
+    this.mask = size - 1;
+  }
+
+  /**
+   * Stores what a search found for a position, replacing whatever shared its slot
+   * unless that was a deeper search of the same position.
+   *
+   * @param key      the Zobrist key of the position
+   * @param depth    how many plies the search looked ahead
+   * @param bound    EXACT, LOWER or UPPER
+   * @param score    the score the search returned
+   * @param bestMove the packed cell of the best move found, or -1 if there is none
+   */
+  public void store(long key, int depth, int bound, int score, int bestMove) {
+    int slot = 2 * (int) (key & this.mask);
+    long old = this.slots[slot + 1];
+    if ((this.slots[slot] ^ old) == key && old != MISS && depthOf(old) > depth) {
+      return;
+    }
+    long entry = ((long) score << 32)
+            | ((long) Math.min(depth, MAX_DEPTH) << 24)
+            | ((long) (bestMove < 0 ? NO_MOVE : bestMove) << 4)
+            | bound;
+    this.slots[slot + 1] = entry;
+    this.slots[slot] = key ^ entry;
+  }
+
+  /**
+   * Looks up a position.
+   *
+   * @param key the Zobrist key of the position
+   * @return the packed entry stored for the position, or MISS
+   */
+  public long probe(long key) {
+    int slot = 2 * (int) (key & this.mask);
+    long entry = this.slots[slot + 1];
+    if ((this.slots[slot] ^ entry) != key) {
+      return MISS;
+    }
+    return entry;
+  }
+
+  /**
+   * Forgets every stored position.
+   */
+  public void clear() {
+    Arrays.fill(this.slots, 0L);
+  }
+
+  /**
+   * Gets the score of an entry.
+   */
+  public static int scoreOf(long entry) {
+    return (int) (entry >> 32);
+  }
+
+  /**
+   * Gets how deep the search of an entry looked, capped at 255 plies.
+   */
+  public static int depthOf(long entry) {
+    return (int) (entry >>> 24) & MAX_DEPTH;
+  }
+
+  /**
+   * Gets whether the score of an entry is EXACT, a LOWER bound or an UPPER bound.
+   */
+  public static int boundOf(long entry) {
+    return (int) entry & 0xF;
+  }
+
+  /**
+   * Gets the packed cell of the best move of an entry, or -1 if it has none.
+   */
+  public static int moveOf(long entry) {
+    int move = (int) (entry >>> 4) & NO_MOVE;
+    return (move == NO_MOVE) ? -1 : move;
+  }
+}
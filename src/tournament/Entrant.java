@@ -0,0 +1,97 @@
+package tournament;
+
+import java.util.function.BiFunction;
+
+import model.ReadOnlyReversiModel;
+import player.PlayerTurn;
+import strategy.AlphaBetaStrategy;
+import strategy.CornersStrategy;
+import strategy.EndgameSolverStrategy;
+import strategy.IStrategy;
+import strategy.MaximizeCaptureStrategy;
+import strategy.MiniMaxStrategy;
+import strategy.MonteCarloStrategy;
+import strategy.StrategyType;
+
+/**
+ * An Entrant is a named way of making a strategy, which a Tournament calls once per
+ * game and color so every game starts with a fresh strategy on its own model.
+ */
+public final class Entrant {
+  private final String name;
+  private final BiFunction<ReadOnlyReversiModel, PlayerTurn, IStrategy> factory;
+
+  /**
+   * Constructor for an entrant.
+   *
+   * @param name    the name the entrant is reported under
+   * @param factory makes the entrant's strategy for a player of a model
+   * @throws IllegalArgumentException if the name or the factory is null
+   */
+  public Entrant(String name, BiFunction<ReadOnlyReversiModel, PlayerTurn, IStrategy> factory) {
+    if (name == null || factory == null) {
+      throw new IllegalArgumentException("Entrant needs a name and a strategy");
+    }
+    this.name = name;
+    this.factory = factory;
+  }
+
+  /**
+   * Makes an entrant from a StrategyType name, as in "maximize" or "MCTS". ALPHABETA and
+   * MCTS take a budget in milliseconds after a colon, as in "alphabeta:200", and
+   * ENDGAME wraps the maximize captures strategy like the AI model does.
+   *
+   * @param spec the strategy name and optional budget
+   * @return the entrant, named by spec
+   * @throws IllegalArgumentException if spec names no strategy or has a bad budget
+   */
+  public static Entrant parse(String spec) {
+    String[] parts = spec.split(":", 2);
+    StrategyType type;
+    long budget;
+    try {
+      type = StrategyType.valueOf(parts[0].toUpperCase());
+      budget = (parts.length > 1) ? Long.parseLong(parts[1])
+              : AlphaBetaStrategy.DEFAULT_BUDGET_MILLIS;
+    } catch (IllegalArgumentException iae) {
+      throw new IllegalArgumentException("Unknown entrant: " + spec);
+    }
+    if (budget <= 0) {
+      throw new IllegalArgumentException("Search budget must be positive: " + spec);
+    }
+    switch (type) {
+      case MAXIMIZE:
+        return new Entrant(spec, MaximizeCaptureStrategy::new);
+      case AVOIDCORNER:
+        return new Entrant(spec, (model, player) -> new CornersStrategy(model, player, true));
+      case GOFORCORNER:
+        return new Entrant(spec, (model, player) -> new CornersStrategy(model, player, false));
+      case MINIMAX:
+        return new Entrant(spec, MiniMaxStrategy::new);
+      case ALPHABETA:
+        return new Entrant(spec, (model, player) -> new AlphaBetaStrategy(model, player, budget));
+      case MCTS:
+        return new Entrant(spec, (model, player) -> new MonteCarloStrategy(model, player,
+                budget, true, 1));
+      case ENDGAME:
+        return new Entrant(spec, (model, player) -> new EndgameSolverStrategy(model, player,
+                new MaximizeCaptureStrategy(model, player)));
+      default:
+        throw new IllegalArgumentException("Unknown entrant: " + spec);
+    }
+  }
+
+  /**
+   * Gets the name the entrant is reported under.
+   */
+  public String getName() {
+    return this.name;
+  }
+
+  /**
+   * Makes a fresh strategy for a player of a model.
+   */
+  public IStrategy create(ReadOnlyReversiModel model, PlayerTurn player) {
+    return this.factory.apply(model, player);
+  }
+}
@@ -0,0 +1,136 @@
+package tournament;
+
+/**
+ * A GameRecord is the outcome of one tournament game: who played which color on which
+ * board, the final disc counts, whether a side forfeited by throwing or answering with
+ * an illegal move, and how long each of its moves took to choose.
+ */
+public final class GameRecord {
+  /**
+   * The forfeiting side of a game nobody forfeited.
+   */
+  public static final int NO_FORFEIT = -1;
+  /**
+   * The forfeiting side when black, who moves first, forfeited.
+   */
+  public static final int BLACK = 0;
+  /**
+   * The forfeiting side when white forfeited.
+   */
+  public static final int WHITE = 1;
+
+  private final int size;
+  private final long seed;
+  private final int black;
+  private final int white;
+  private final int blackDiscs;
+  private final int whiteDiscs;
+  private final int forfeit;
+  private final long[] blackLatencies;
+  private final long[] whiteLatencies;
+
+  /**
+   * Constructor for the record of a finished game.
+   *
+   * @param size           the board size
+   * @param seed           the seed of the random opening
+   * @param black          the index of the entrant playing black
+   * @param white          the index of the entrant playing white
+   * @param blackDiscs     black's discs at the end of the game
+   * @param whiteDiscs     white's discs at the end of the game
+   * @param forfeit        BLACK or WHITE if that side forfeited, otherwise NO_FORFEIT
+   * @param blackLatencies the nanoseconds each of black's moves took to choose
+   * @param whiteLatencies the nanoseconds each of white's moves took to choose
+   */
+  public GameRecord(int size, long seed, int black, int white, int blackDiscs, int whiteDiscs,
+                    int forfeit, long[] blackLatencies, long[] whiteLatencies) {
+    this.size = size;
+    this.seed = seed;
+    this.black = black;
+    this.white = white;
+    this.blackDiscs = blackDiscs;
+    this.whiteDiscs = whiteDiscs;
+    this.forfeit = forfeit;
+    this.blackLatencies = blackLatencies.clone();
+    this.whiteLatencies = whiteLatencies.clone();
+  }
+
+  /**
+   * Gets the board size of the game.
+   */
+  public int getSize() {
+    return this.size;
+  }
+
+  /**
+   * Gets the seed of the game's random opening.
+   */
+  public long getSeed() {
+    return this.seed;
+  }
+
+  /**
+   * Gets the index of the entrant who played black.
+   */
+  public int getBlack() {
+    return this.black;
+  }
+
+  /**
+   * Gets the index of the entrant who played white.
+   */
+  public int getWhite() {
+    return this.white;
+  }
+
+  /**
+   * Gets black's discs at the end of the game.
+   */
+  public int getBlackDiscs() {
+    return this.blackDiscs;
+  }
+
+  /**
+   * Gets white's discs at the end of the game.
+   */
+  public int getWhiteDiscs() {
+    return this.whiteDiscs;
+  }
+
+  /**
+   * Gets BLACK or WHITE if that side forfeited the game, otherwise NO_FORFEIT.
+   */
+  public int getForfeit() {
+    return this.forfeit;
+  }
+
+  /**
+   * Gets the index of the winning entrant, or -1 for a draw. A forfeit loses the game
+   * whatever the discs say.
+   */
+  public int getWinner() {
+    if (this.forfeit == BLACK) {
+      return this.white;
+    } else if (this.forfeit == WHITE) {
+      return this.black;
+    } else if (this.blackDiscs > this.whiteDiscs) {
+      return this.black;
+    } else if (this.whiteDiscs > this.blackDiscs) {
+      return this.white;
+    }
+    return -1;
+  }
+
+  /**
+   * Gets the nanoseconds each move of an entrant took to choose in this game, or an
+   * empty array if the entrant didn't play in it.
+   */
+  public long[] getLatencies(int entrant) {
+    if (entrant == this.black) {
+      return this.blackLatencies.clone();
+    } else if (entrant == this.white) {
+      return this.whiteLatencies.clone();
+    }
+    return new long[0];
+  }
+}
@@ -0,0 +1,213 @@
+package tournament;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import model.MoveGenerator;
+import model.ReversiHexModel;
+import model.ReversiModel;
+import player.PlayerTurn;
+import strategy.IStrategy;
+
+/**
+ * A Tournament plays every pair of entrants against each other without any view, on
+ * every board size and opening seed it is given, once with each color. A seed picks a
+ * few random opening moves, so the strategies don't replay one game over and over, and
+ * both games of a pairing start from the same opening.
+ * Games run on a fixed pool of threads fed through a bounded queue, so a large
+ * tournament never queues more than a few games per thread at once. Every game gets its
+ * own model and its own strategies, so no state is shared between games.
+ */
+public final class Tournament {
+  /**
+   * How many random moves open each game run from the command line.
+   */
+  public static final int DEFAULT_OPENING_PLIES = 2;
+
+  private static final int QUEUED_GAMES_PER_THREAD = 4;
+
+  private final List<Entrant> entrants;
+  private final List<Integer> sizes;
+  private final int seeds;
+  private final int openingPlies;
+  private final int threads;
+
+  /**
+   * Constructor for a tournament.
+   *
+   * @param entrants     the strategies to play, at least two
+   * @param sizes        the board sizes to play on
+   * @param seeds        how many random openings to play on each size
+   * @param openingPlies how many random moves each opening has
+   * @param threads      how many games to play at once
+   * @throws IllegalArgumentException if there are fewer than two entrants, no sizes, or a
+   *                                  count isn't positive
+   */
+  public Tournament(List<Entrant> entrants, List<Integer> sizes, int seeds, int openingPlies,
+                    int threads) {
+    if (entrants.size() < 2 || sizes.isEmpty()) {
+      throw new IllegalArgumentException("A tournament needs two entrants and a board size");
+    }
+    if (seeds <= 0 || openingPlies < 0 || threads <= 0) {
+      throw new IllegalArgumentException("Seeds and threads must be positive");
+    }
+    this.entrants = new ArrayList<>(entrants);
+    this.sizes = new ArrayList<>(sizes);
+    this.seeds = seeds;
+    this.openingPlies = openingPlies;
+    this.threads = threads;
+  }
+
+  /**
+   * Plays every game of the tournament and blocks until they have all finished.
+   *
+   * @return the results of every game, in the order they were scheduled
+   * @throws InterruptedException if the calling thread is interrupted while waiting
+   */
+  public TournamentResult run() throws InterruptedException {
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(this.threads, this.threads,
+            0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(this.threads * QUEUED_GAMES_PER_THREAD),
+            new ThreadPoolExecutor.CallerRunsPolicy());
+    List<Future<GameRecord>> games = new ArrayList<>();
+    try {
+      for (int size : this.sizes) {
+        for (int seed = 0; seed < this.seeds; seed++) {
+          for (int first = 0; first < this.entrants.size(); first++) {
+            for (int second = first + 1; second < this.entrants.size(); second++) {
+              games.add(this.schedule(executor, first, second, size, seed));
+              games.add(this.schedule(executor, second, first, size, seed));
+            }
+          }
+        }
+      }
+      List<GameRecord> records = new ArrayList<>();
+      for (Future<GameRecord> game : games) {
+        records.add(game.get());
+      }
+      List<String> names = new ArrayList<>();
+      for (Entrant entrant : this.entrants) {
+        names.add(entrant.getName());
+      }
+      return new TournamentResult(names, records);
+    } catch (ExecutionException ee) {
+      throw new IllegalStateException("A tournament game failed", ee.getCause());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private Future<GameRecord> schedule(ThreadPoolExecutor executor, int black, int white,
+                                      int size, long seed) {
+    Entrant blackEntrant = this.entrants.get(black);
+    Entrant whiteEntrant = this.entrants.get(white);
+    int plies = this.openingPlies;
+    return executor.submit(() -> playGame(blackEntrant, whiteEntrant, black, white, size,
+            seed, plies));
+  }
+
+  /**
+   * Plays one game between two entrants from a random opening. A side that throws or
+   * answers with an illegal move forfeits the game.
+   *
+   * @param blackEntrant the entrant playing black, who moves first
+   * @param whiteEntrant the entrant playing white
+   * @param black        the index black is recorded under
+   * @param white        the index white is recorded under
+   * @param size         the board size
+   * @param seed         the seed of the random opening
+   * @param openingPlies how many random moves to open with
+   * @return the record of the game
+   */
+  public static GameRecord playGame(Entrant blackEntrant, Entrant whiteEntrant, int black,
+                                    int white, int size, long seed, int openingPlies) {
+    ReversiModel model = new ReversiHexModel();
+    model.startGame(size);
+    Random random = new Random(seed * 31 + size);
+    int[] moves = new int[size * size];
+    for (int ply = 0; ply < openingPlies && !model.isGameOver(); ply++) {
+      int cell = moves[random.nextInt(model.getLegalMoves(model.currentTurn(), moves))];
+      model.makeMove(MoveGenerator.unpackX(cell, size), MoveGenerator.unpackY(cell, size));
+    }
+    IStrategy blackStrategy = blackEntrant.create(model, PlayerTurn.PLAYER1);
+    IStrategy whiteStrategy = whiteEntrant.create(model, PlayerTurn.PLAYER2);
+    long[][] latencies = {new long[size * size], new long[size * size]};
+    int[] moveCounts = new int[2];
+    int forfeit = GameRecord.NO_FORFEIT;
+    while (!model.isGameOver()) {
+      int side = (model.currentTurn() == PlayerTurn.PLAYER1)
+              ? GameRecord.BLACK : GameRecord.WHITE;
+      IStrategy mover = (side == GameRecord.BLACK) ? blackStrategy : whiteStrategy;
+      List<Integer> move;
+      long start = System.nanoTime();
+      try {
+        move = mover.executeStrategy();
+      } catch (RuntimeException re) {
+        forfeit = side;
+        break;
+      }
+      latencies[side][moveCounts[side]++] = System.nanoTime() - start;
+      if (move == null || move.size() != 2
+              || !model.isLegalMove(model.currentTurn(), move.get(0), move.get(1))) {
+        forfeit = side;
+        break;
+      }
+      model.makeMove(move.get(0), move.get(1));
+    }
+    return new GameRecord(size, seed, black, white, model.getScore(PlayerTurn.PLAYER1),
+            model.getScore(PlayerTurn.PLAYER2), forfeit,
+            Arrays.copyOf(latencies[GameRecord.BLACK], moveCounts[GameRecord.BLACK]),
+            Arrays.copyOf(latencies[GameRecord.WHITE], moveCounts[GameRecord.WHITE]));
+  }
+
+  /**
+   * Runs a tournament from the command line and writes standings.csv, pairings.csv and
+   * results.json into a directory.
+   * Usage: Tournament sizes seeds threads outDir entrant entrant...
+   * where sizes is a comma separated list, as in 7,9,11, and each entrant is a strategy
+   * name with an optional budget, as in maximize or alphabeta:200.
+   */
+  public static void main(String[] args) throws IOException, InterruptedException {
+    if (args.length < 6) {
+      System.out.println("Usage: Tournament sizes seeds threads outDir entrant entrant...");
+      return;
+    }
+    List<Integer> sizes = new ArrayList<>();
+    for (String size : args[0].split(",")) {
+      sizes.add(Integer.parseInt(size.trim()));
+    }
+    List<Entrant> entrants = new ArrayList<>();
+    for (int i = 4; i < args.length; i++) {
+      entrants.add(Entrant.parse(args[i]));
+    }
+    Tournament tournament = new Tournament(entrants, sizes, Integer.parseInt(args[1]),
+            DEFAULT_OPENING_PLIES, Integer.parseInt(args[2]));
+    TournamentResult result = tournament.run();
+    Path outDir = Paths.get(args[3]);
+    Files.createDirectories(outDir);
+    try (Writer out = Files.newBufferedWriter(outDir.resolve("standings.csv"))) {
+      result.writeStandingsCsv(out);
+    }
+    try (Writer out = Files.newBufferedWriter(outDir.resolve("pairings.csv"))) {
+      result.writePairingsCsv(out);
+    }
+    try (Writer out = Files.newBufferedWriter(outDir.resolve("results.json"))) {
+      result.writeJson(out);
+    }
+    StringBuilder standings = new StringBuilder();
+    result.writeStandingsCsv(standings);
+    System.out.print(standings);
+  }
+}
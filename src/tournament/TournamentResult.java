@@ -0,0 +1,308 @@
+package tournament;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A TournamentResult holds every game a Tournament played and the tables built from
+ * them: wins, losses and draws of each entrant against each other entrant, an Elo
+ * estimate per entrant and the percentiles of how long its moves took. The tables can
+ * be written as CSV or JSON to any Appendable.
+ * Elo ratings are the maximum likelihood fit of all games at once rather than a running
+ * update, so they don't depend on the order games happened to finish in. Each entrant
+ * also gets one virtual draw against a 1500 rated anchor, which keeps the rating of an
+ * entrant that won or lost every game finite.
+ */
+public final class TournamentResult {
+  private static final double BASE_RATING = 1500;
+  private static final int RATING_ITERATIONS = 1000;
+  private static final double[] PERCENTILES = {50, 90, 99};
+
+  private final List<String> names;
+  private final List<GameRecord> games;
+  // wins[i][j] is how many games i won against j, draws[i][j] how many they drew.
+  private final int[][] wins;
+  private final int[][] draws;
+  private final int[] forfeits;
+  private final double[] ratings;
+  private final long[][] latencies;
+
+  /**
+   * Constructor for the results of a set of games.
+   *
+   * @param names the names of the entrants, indexed like the games
+   * @param games the games played
+   */
+  public TournamentResult(List<String> names, List<GameRecord> games) {
+    this.names = new ArrayList<>(names);
+    this.games = new ArrayList<>(games);
+    int count = names.size();
+    this.wins = new int[count][count];
+    this.draws = new int[count][count];
+    this.forfeits = new int[count];
+    List<List<long[]>> moveTimes = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      moveTimes.add(new ArrayList<>());
+    }
+    for (GameRecord game : games) {
+      int winner = game.getWinner();
+      if (winner == -1) {
+        this.draws[game.getBlack()][game.getWhite()]++;
+        this.draws[game.getWhite()][game.getBlack()]++;
+      } else {
+        this.wins[winner][winner == game.getBlack() ? game.getWhite() : game.getBlack()]++;
+      }
+      if (game.getForfeit() == GameRecord.BLACK) {
+        this.forfeits[game.getBlack()]++;
+      } else if (game.getForfeit() == GameRecord.WHITE) {
+        this.forfeits[game.getWhite()]++;
+      }
+      moveTimes.get(game.getBlack()).add(game.getLatencies(game.getBlack()));
+      moveTimes.get(game.getWhite()).add(game.getLatencies(game.getWhite()));
+    }
+    this.latencies = new long[count][];
+    for (int i = 0; i < count; i++) {
+      int total = 0;
+      for (long[] times : moveTimes.get(i)) {
+        total += times.length;
+      }
+      this.latencies[i] = new long[total];
+      total = 0;
+      for (long[] times : moveTimes.get(i)) {
+        System.arraycopy(times, 0, this.latencies[i], total, times.length);
+        total += times.length;
+      }
+      Arrays.sort(this.latencies[i]);
+    }
+    this.ratings = this.fitRatings();
+  }
+
+  // fits Bradley-Terry strengths by minorization-maximization, counting a draw as half a
+  // win for each side, and turns them into Elo ratings around BASE_RATING.
+  private double[] fitRatings() {
+    int count = this.names.size();
+    double[] strength = new double[count];
+    Arrays.fill(strength, 1.0);
+    for (int iteration = 0; iteration < RATING_ITERATIONS; iteration++) {
+      double[] next = new double[count];
+      for (int i = 0; i < count; i++) {
+        // the virtual draw against the anchor, whose strength is 1.
+        double score = 0.5;
+        double expected = 1.0 / (strength[i] + 1.0);
+        for (int j = 0; j < count; j++) {
+          if (i != j) {
+            int played = this.wins[i][j] + this.wins[j][i] + this.draws[i][j];
+            score += this.wins[i][j] + 0.5 * this.draws[i][j];
+            expected += played / (strength[i] + strength[j]);
+          }
+        }
+        next[i] = score / expected;
+      }
+      strength = next;
+    }
+    double[] res = new double[count];
+    for (int i = 0; i < count; i++) {
+      res[i] = BASE_RATING + 400 * Math.log10(strength[i]);
+    }
+    return res;
+  }
+
+  /**
+   * Gets the names of the entrants.
+   */
+  public List<String> getNames() {
+    return new ArrayList<>(this.names);
+  }
+
+  /**
+   * Gets every game played, in the order they were scheduled.
+   */
+  public List<GameRecord> getGames() {
+    return new ArrayList<>(this.games);
+  }
+
+  /**
+   * Gets how many games one entrant won against another.
+   */
+  public int getWins(int entrant, int opponent) {
+    return this.wins[entrant][opponent];
+  }
+
+  /**
+   * Gets how many games one entrant lost against another.
+   */
+  public int getLosses(int entrant, int opponent) {
+    return this.wins[opponent][entrant];
+  }
+
+  /**
+   * Gets how many games two entrants drew.
+   */
+  public int getDraws(int entrant, int opponent) {
+    return this.draws[entrant][opponent];
+  }
+
+  /**
+   * Gets how many games an entrant forfeited by throwing or playing an illegal move.
+   */
+  public int getForfeits(int entrant) {
+    return this.forfeits[entrant];
+  }
+
+  /**
+   * Gets the Elo estimate of an entrant, on a scale where 1500 is the anchor.
+   */
+  public double getRating(int entrant) {
+    return this.ratings[entrant];
+  }
+
+  /**
+   * Gets a percentile of the time an entrant's moves took to choose, by nearest rank.
+   *
+   * @param entrant    the entrant
+   * @param percentile the percentile, from 0 to 100
+   * @return the move time in nanoseconds, or 0 if the entrant never moved
+   */
+  public long getLatencyPercentile(int entrant, double percentile) {
+    long[] times = this.latencies[entrant];
+    if (times.length == 0) {
+      return 0;
+    }
+    int rank = (int) Math.ceil(percentile / 100 * times.length);
+    return times[Math.max(0, Math.min(times.length, rank) - 1)];
+  }
+
+  /**
+   * Writes one CSV row per entrant with its totals, rating and move time percentiles
+   * in milliseconds.
+   *
+   * @param out where to write the table
+   * @throws IOException if out can't be written
+   */
+  public void writeStandingsCsv(Appendable out) throws IOException {
+    out.append("entrant,games,wins,losses,draws,forfeits,elo");
+    for (double percentile : PERCENTILES) {
+      out.append(",p").append(format(percentile, 0)).append("_ms");
+    }
+    out.append(",max_ms\n");
+    for (int i = 0; i < this.names.size(); i++) {
+      int[] totals = this.totals(i);
+      out.append(csv(this.names.get(i))).append(',')
+              .append(String.valueOf(totals[0] + totals[1] + totals[2])).append(',')
+              .append(String.valueOf(totals[0])).append(',')
+              .append(String.valueOf(totals[1])).append(',')
+              .append(String.valueOf(totals[2])).append(',')
+              .append(String.valueOf(this.forfeits[i])).append(',')
+              .append(format(this.ratings[i], 1));
+      for (double percentile : PERCENTILES) {
+        out.append(',').append(millis(this.getLatencyPercentile(i, percentile)));
+      }
+      out.append(',').append(millis(this.getLatencyPercentile(i, 100))).append('\n');
+    }
+  }
+
+  /**
+   * Writes one CSV row per ordered pair of entrants with the games the first won, lost
+   * and drew against the second.
+   *
+   * @param out where to write the table
+   * @throws IOException if out can't be written
+   */
+  public void writePairingsCsv(Appendable out) throws IOException {
+    out.append("entrant,opponent,wins,losses,draws\n");
+    for (int i = 0; i < this.names.size(); i++) {
+      for (int j = 0; j < this.names.size(); j++) {
+        if (i != j) {
+          out.append(csv(this.names.get(i))).append(',').append(csv(this.names.get(j)))
+                  .append(',').append(String.valueOf(this.getWins(i, j)))
+                  .append(',').append(String.valueOf(this.getLosses(i, j)))
+                  .append(',').append(String.valueOf(this.getDraws(i, j))).append('\n');
+        }
+      }
+    }
+  }
+
+  /**
+   * Writes the standings and the pairings as one JSON object.
+   *
+   * @param out where to write the object
+   * @throws IOException if out can't be written
+   */
+  public void writeJson(Appendable out) throws IOException {
+    out.append("{\"games\":").append(String.valueOf(this.games.size()));
+    out.append(",\"entrants\":[");
+    for (int i = 0; i < this.names.size(); i++) {
+      int[] totals = this.totals(i);
+      out.append((i == 0) ? "" : ",")
+              .append("{\"name\":").append(json(this.names.get(i)))
+              .append(",\"wins\":").append(String.valueOf(totals[0]))
+              .append(",\"losses\":").append(String.valueOf(totals[1]))
+              .append(",\"draws\":").append(String.valueOf(totals[2]))
+              .append(",\"forfeits\":").append(String.valueOf(this.forfeits[i]))
+              .append(",\"elo\":").append(format(this.ratings[i], 1))
+              .append(",\"latencyMs\":{");
+      for (double percentile : PERCENTILES) {
+        out.append("\"p").append(format(percentile, 0)).append("\":")
+                .append(millis(this.getLatencyPercentile(i, percentile))).append(',');
+      }
+      out.append("\"max\":").append(millis(this.getLatencyPercentile(i, 100))).append("}}");
+    }
+    out.append("],\"pairings\":[");
+    boolean first = true;
+    for (int i = 0; i < this.names.size(); i++) {
+      for (int j = i + 1; j < this.names.size(); j++) {
+        out.append(first ? "" : ",")
+                .append("{\"entrant\":").append(json(this.names.get(i)))
+                .append(",\"opponent\":").append(json(this.names.get(j)))
+                .append(",\"wins\":").append(String.valueOf(this.getWins(i, j)))
+                .append(",\"losses\":").append(String.valueOf(this.getLosses(i, j)))
+                .append(",\"draws\":").append(String.valueOf(this.getDraws(i, j))).append('}');
+        first = false;
+      }
+    }
+    out.append("]}\n");
+  }
+
+  // the wins, losses and draws of an entrant against everyone.
+  private int[] totals(int entrant) {
+    int[] res = new int[3];
+    for (int j = 0; j < this.names.size(); j++) {
+      res[0] += this.getWins(entrant, j);
+      res[1] += this.getLosses(entrant, j);
+      res[2] += this.getDraws(entrant, j);
+    }
+    return res;
+  }
+
+  private static String format(double value, int decimals) {
+    return String.format(Locale.ROOT, "%." + decimals + "f", value);
+  }
+
+  private static String millis(long nanos) {
+    return format(nanos / 1e6, 3);
+  }
+
+  private static String csv(String value) {
+    if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+      return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+    return value;
+  }
+
+  private static String json(String value) {
+    StringBuilder res = new StringBuilder("\"");
+    for (char c : value.toCharArray()) {
+      if (c == '"' || c == '\\') {
+        res.append('\\').append(c);
+      } else if (c < 0x20) {
+        res.append(String.format(Locale.ROOT, "\\u%04x", (int) c));
+      } else {
+        res.append(c);
+      }
+    }
+    return res.append('"').toString();
+  }
+}
@@ -0,0 +1,229 @@
+package view;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Point;
+import java.awt.image.BufferedImage;
+import java.util.BitSet;
+import java.util.List;
+import javax.swing.JComponent;
+import javax.swing.SwingUtilities;
+
+import controller.ModelEvent;
+import controller.ModelEventSubscriber;
+import model.BoardTopology;
+import model.MoveGenerator;
+import model.ReadOnlyReversiModel;
+
+/**
+ * A HexBoardCanvas paints a whole board on one component. Cells are pointy topped
+ * hexagons in odd-r offset rows, drawn with the icons of a HexIconAtlas into a back
+ * buffer the size of the board, so painting the component is one image copy however
+ * big the board is. Subscribed to a model's event bus it redraws only the cells each
+ * event changed, and a pixel is turned back into its cell with a fixed amount of
+ * arithmetic, so neither the component count nor a click grows with the board.
+ */
+public class HexBoardCanvas extends JComponent implements ModelEventSubscriber {
+  private static final double SQRT3 = Math.sqrt(3);
+
+  private final ReadOnlyReversiModel model;
+  private final HexIconAtlas atlas;
+  private final int size;
+  private final double radius;
+  private final double columnStep;
+  private final double rowStep;
+  private final double originX;
+  private final double originY;
+  private final BufferedImage buffer;
+  // cells changed since the last update, guarded by itself.
+  private final BitSet dirtyCells = new BitSet();
+  private boolean updatePending;
+  private int selectedCell = -1;
+
+  /**
+   * Constructor for a canvas of a started model.
+   *
+   * @param model the model to show
+   * @param scale the width and height in pixels of each cell's icon
+   * @throws IllegalArgumentException if the scale isn't positive
+   */
+  public HexBoardCanvas(ReadOnlyReversiModel model, int scale) {
+    this.model = model;
+    this.atlas = HexIconAtlas.forScale(scale);
+    this.size = model.getDimensions();
+    // a little more than the drawn hexagon, which leaves a gap between cells.
+    this.radius = scale * 0.42;
+    this.columnStep = SQRT3 * this.radius;
+    this.rowStep = 1.5 * this.radius;
+    double margin = scale / 2.0;
+    this.originX = margin;
+    this.originY = margin;
+    int width = (int) Math.ceil(2 * margin + this.columnStep * (this.size - 0.5));
+    int height = (int) Math.ceil(2 * margin + this.rowStep * (this.size - 1));
+    this.buffer = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+    Graphics2D g = this.buffer.createGraphics();
+    g.setColor(Color.DARK_GRAY);
+    g.fillRect(0, 0, width, height);
+    g.dispose();
+    setPreferredSize(new Dimension(width, height));
+    setOpaque(true);
+    setFocusable(true);
+    render();
+  }
+
+  /**
+   * Redraws every cell of the board into the back buffer and repaints the component.
+   */
+  public void render() {
+    Graphics2D g = this.buffer.createGraphics();
+    for (int cell : BoardTopology.forSize(this.size).getPlayableCells()) {
+      this.drawCell(g, cell);
+    }
+    g.dispose();
+    repaint();
+  }
+
+  @Override
+  public void onEvents(List<ModelEvent> modelEvents) {
+    synchronized (this.dirtyCells) {
+      for (ModelEvent modelEvent : modelEvents) {
+        for (int i = 0; i < modelEvent.getChangedCellCount(); i++) {
+          this.dirtyCells.set(modelEvent.getChangedCell(i));
+        }
+      }
+      if (this.dirtyCells.isEmpty() || this.updatePending) {
+        return;
+      }
+      this.updatePending = true;
+    }
+    SwingUtilities.invokeLater(this::renderDirtyCells);
+  }
+
+  // redraws the cells changed since the last update, on the Swing thread.
+  private void renderDirtyCells() {
+    BitSet cells;
+    synchronized (this.dirtyCells) {
+      cells = (BitSet) this.dirtyCells.clone();
+      this.dirtyCells.clear();
+      this.updatePending = false;
+    }
+    Graphics2D g = this.buffer.createGraphics();
+    for (int cell = cells.nextSetBit(0); cell >= 0; cell = cells.nextSetBit(cell + 1)) {
+      this.drawCell(g, cell);
+      this.repaintCell(cell);
+    }
+    g.dispose();
+  }
+
+  private void drawCell(Graphics2D g, int cell) {
+    int x = MoveGenerator.unpackX(cell, this.size);
+    int y = MoveGenerator.unpackY(cell, this.size);
+    int half = this.atlas.getScale() / 2;
+    // the hexagon covers the one drawn before it, so nothing needs clearing first.
+    this.atlas.getIcon(this.model.getDiscAt(x, y).getColor(), cell == this.selectedCell)
+            .paintIcon(this, g, (int) Math.round(this.centerX(x, y)) - half,
+                    (int) Math.round(this.centerY(y)) - half);
+  }
+
+  private void repaintCell(int cell) {
+    Point center = this.getCellCenter(cell);
+    int scale = this.atlas.getScale();
+    repaint(center.x - scale / 2, center.y - scale / 2, scale, scale);
+  }
+
+  @Override
+  protected void paintComponent(Graphics g) {
+    g.drawImage(this.buffer, 0, 0, null);
+  }
+
+  /**
+   * Gets the back buffer the board is drawn into, which is only drawn on the Swing
+   * thread.
+   */
+  public BufferedImage getBuffer() {
+    return this.buffer;
+  }
+
+  /**
+   * Gets the cell under a point of the component.
+   *
+   * @param px the x coordinate of the point in pixels
+   * @param py the y coordinate of the point in pixels
+   * @return the packed cell of the nearest hexagon, or -1 if it isn't on the board
+   */
+  public int getCellAt(int px, int py) {
+    // fractional axial coordinates of the point, rounded to the nearest cube.
+    double dx = px - this.originX;
+    double dy = py - this.originY;
+    double q = (SQRT3 / 3 * dx - dy / 3) / this.radius;
+    double r = (2.0 / 3 * dy) / this.radius;
+    double s = -q - r;
+    long roundQ = Math.round(q);
+    long roundR = Math.round(r);
+    long roundS = Math.round(s);
+    double diffQ = Math.abs(roundQ - q);
+    double diffR = Math.abs(roundR - r);
+    double diffS = Math.abs(roundS - s);
+    if (diffQ > diffR && diffQ > diffS) {
+      roundQ = -roundR - roundS;
+    } else if (diffR > diffS) {
+      roundR = -roundQ - roundS;
+    }
+    long y = roundR;
+    long x = roundQ + (roundR - (roundR & 1)) / 2;
+    if (x < 0 || y < 0 || x >= this.size || y >= this.size
+            || !BoardTopology.forSize(this.size).isPlayable((int) x, (int) y)) {
+      return -1;
+    }
+    return MoveGenerator.pack((int) x, (int) y, this.size);
+  }
+
+  /**
+   * Gets the pixel at the center of a cell.
+   *
+   * @param cell a packed playable cell
+   * @return the center of the cell's hexagon
+   */
+  public Point getCellCenter(int cell) {
+    int x = MoveGenerator.unpackX(cell, this.size);
+    int y = MoveGenerator.unpackY(cell, this.size);
+    return new Point((int) Math.round(this.centerX(x, y)), (int) Math.round(this.centerY(y)));
+  }
+
+  private double centerX(int x, int y) {
+    return this.originX + this.columnStep * (x + 0.5 * (y & 1));
+  }
+
+  private double centerY(int y) {
+    return this.originY + this.rowStep * y;
+  }
+
+  /**
+   * Gets the selected cell.
+   *
+   * @return the packed selected cell, or -1 if no cell is selected
+   */
+  public int getSelectedCell() {
+    return this.selectedCell;
+  }
+
+  /**
+   * Selects a cell, drawing it highlighted, and draws the cell selected before as it is.
+   *
+   * @param cell the packed cell to select, or -1 to select none
+   */
+  public void setSelectedCell(int cell) {
+    int previous = this.selectedCell;
+    this.selectedCell = cell;
+    Graphics2D g = this.buffer.createGraphics();
+    for (int changed : new int[] {previous, cell}) {
+      if (changed >= 0) {
+        this.drawCell(g, changed);
+        this.repaintCell(changed);
+      }
+    }
+    g.dispose();
+  }
+}
@@ -0,0 +1,110 @@
+package view;
+
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.swing.Icon;
+import javax.swing.ImageIcon;
+
+import discs.DiscColor;
+
+/**
+ * A HexIconAtlas holds the hexagon icons a view draws its cells with, rendered once per
+ * scale and shared by every window, so showing a cell never draws an image. There is an
+ * icon for each disc color and one for a highlighted cell, which is drawn the same cyan
+ * whatever is on it. Icons are never changed once drawn, so a view can tell which icon a
+ * cell shows by identity alone and skip cells whose icon is already right.
+ */
+public final class HexIconAtlas {
+  /**
+   * The width and height in pixels of the icons the GUI uses.
+   */
+  public static final int DEFAULT_SCALE = 100;
+
+  private static final Map<Integer, HexIconAtlas> ATLASES = new ConcurrentHashMap<>();
+
+  private final int scale;
+  private final Map<DiscColor, Icon> icons = new EnumMap<>(DiscColor.class);
+  private final Icon highlighted;
+
+  private HexIconAtlas(int scale) {
+    this.scale = scale;
+    this.icons.put(DiscColor.BLACK, drawHexagon(scale, Color.BLACK));
+    this.icons.put(DiscColor.WHITE, drawHexagon(scale, Color.WHITE));
+    this.icons.put(DiscColor.FACEDOWN, drawHexagon(scale, Color.GRAY));
+    this.highlighted = drawHexagon(scale, Color.CYAN);
+  }
+
+  /**
+   * Returns the atlas of a scale, drawing its icons on first use.
+   *
+   * @param scale the width and height of the icons in pixels
+   * @return the shared atlas for that scale
+   * @throws IllegalArgumentException if the scale isn't positive
+   */
+  public static HexIconAtlas forScale(int scale) {
+    if (scale <= 0) {
+      throw new IllegalArgumentException("Scale must be positive");
+    }
+    return ATLASES.computeIfAbsent(scale, HexIconAtlas::new);
+  }
+
+  /**
+   * Gets the width and height of the icons in pixels.
+   */
+  public int getScale() {
+    return this.scale;
+  }
+
+  /**
+   * Gets the icon of a cell.
+   *
+   * @param color       the color of the disc on the cell
+   * @param highlighted whether the cell is selected
+   * @return the shared icon
+   */
+  public Icon getIcon(DiscColor color, boolean highlighted) {
+    return highlighted ? this.highlighted : this.icons.get(color);
+  }
+
+  /**
+   * Determines if an icon is this atlas's highlighted icon.
+   */
+  public boolean isHighlighted(Icon icon) {
+    return icon == this.highlighted;
+  }
+
+  private static Icon drawHexagon(int scale, Color color) {
+    BufferedImage hexImage = new BufferedImage(scale, scale, BufferedImage.TYPE_INT_ARGB);
+    Graphics2D g2 = hexImage.createGraphics();
+    g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+    // the hexagon fills 80% of the icon, pointy side up.
+    double r = scale * 0.4;
+    double center = scale / 2.0;
+    int[] xPoints = new int[6];
+    int[] yPoints = new int[6];
+    double startAngle = Math.PI / 6;
+    for (int i = 0; i < 6; i++) {
+      xPoints[i] = (int) (center + r * Math.cos((i * 2 * Math.PI / 6) + startAngle));
+      yPoints[i] = (int) (center + r * Math.sin((i * 2 * Math.PI / 6) + startAngle));
+    }
+
+    g2.setComposite(AlphaComposite.Clear);
+    g2.fillRect(0, 0, scale, scale);
+
+    g2.setComposite(AlphaComposite.Src);
+    g2.setColor(color);
+    g2.fillPolygon(xPoints, yPoints, 6);
+
+    g2.setColor(Color.BLACK);
+    g2.drawPolygon(xPoints, yPoints, 6);
+    g2.dispose();
+    return new ImageIcon(hexImage);
+  }
+}
@@ -0,0 +1,16 @@
+package view;
+
+import controller.ModelEventSubscriber;
+import controller.PlayerListener;
+
+/**
+ * An `InteractiveReversiView` is a view a player plays through. It follows the model's
+ * events to stay on screen and sends the player's moves and passes to its listeners as
+ * PlayerEvents.
+ */
+public interface InteractiveReversiView extends ReversiView, ModelEventSubscriber {
+  /**
+   * Adds a listener to be sent the player's actions.
+   */
+  void addListener(PlayerListener pl);
+}
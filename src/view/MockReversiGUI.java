@@ -20,8 +20,8 @@ import java.util.List;
 import controller.PlayerListener;
 import controller.PlayerEventType;
 import controller.PlayerEvent;
-import discs.Disc;
 import discs.DiscColor;
+import model.BoardView;
 import model.ReadOnlyReversiModel;
 
 /**
@@ -233,9 +233,9 @@ public class MockReversiGUI extends JFrame implements ReversiView {
    * The Render Method is needed for displaying the view.
    */
   public void render() {
-    Disc[][] board = model.getCurrentBoardState();
-    for (int i = 0; i < board.length; i++) {
-      for (int j = 0; j < board[i].length; j++) {
+    BoardView board = model.getBoardView();
+    for (int i = 0; i < board.getSize(); i++) {
+      for (int j = 0; j < board.getSize(); j++) {
         JButton button = boardButtons[i][j];
         ImageIcon icon = null;
         button.setOpaque(false);
@@ -243,12 +243,12 @@ public class MockReversiGUI extends JFrame implements ReversiView {
         button.setBorderPainted(false);
 
         button.setVisible(true);
-        if (board[i][j] != null) {
-          if (board[i][j].getColor() == DiscColor.WHITE) {
+        if (board.isPlayable(j, i)) {
+          if (board.getColorAt(j, i) == DiscColor.WHITE) {
             icon = newHexagonIcon(Color.WHITE);
-          } else if (board[i][j].getColor() == DiscColor.BLACK) {
+          } else if (board.getColorAt(j, i) == DiscColor.BLACK) {
             icon = newHexagonIcon(Color.BLACK);
-          } else if (board[i][j].getColor() == DiscColor.FACEDOWN) {
+          } else if (board.getColorAt(j, i) == DiscColor.FACEDOWN) {
             icon = newHexagonIcon(Color.GRAY);
           }
           button.setIcon(icon);
@@ -0,0 +1,150 @@
+package view;
+
+import java.awt.Color;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.ArrayList;
+import java.util.List;
+import javax.swing.JFrame;
+import javax.swing.JOptionPane;
+import javax.swing.JScrollPane;
+
+import controller.ModelEvent;
+import controller.PlayerEvent;
+import controller.PlayerEventType;
+import controller.PlayerListener;
+import model.MoveGenerator;
+import model.ReadOnlyReversiModel;
+
+/**
+ * The `ReversiCanvasGUI` class is a window that plays like a ReversiGUI, but draws the
+ * board on a single HexBoardCanvas instead of a button per cell, so it stays quick on
+ * boards far too big for the button grid. A cell is selected by clicking it, and the
+ * space and enter keys pass and move to the selected cell.
+ */
+public class ReversiCanvasGUI extends JFrame implements InteractiveReversiView {
+  /**
+   * The width in pixels the board is scaled to fit when no scale is given.
+   */
+  public static final int DEFAULT_BOARD_WIDTH = 900;
+
+  private static final int MIN_SCALE = 12;
+
+  private final ReadOnlyReversiModel model;
+  private final HexBoardCanvas canvas;
+  private final List<PlayerListener> playerListeners = new ArrayList<>();
+
+  /**
+   * A ReversiCanvasGUI constructor, with cells scaled so the board is about
+   * DEFAULT_BOARD_WIDTH pixels wide.
+   */
+  public ReversiCanvasGUI(ReadOnlyReversiModel model) {
+    this(model, Math.max(MIN_SCALE, Math.min(HexIconAtlas.DEFAULT_SCALE,
+            DEFAULT_BOARD_WIDTH / model.getDimensions())));
+  }
+
+  /**
+   * A ReversiCanvasGUI constructor.
+   *
+   * @param model the model to show
+   * @param scale the width and height in pixels of each cell's icon
+   */
+  public ReversiCanvasGUI(ReadOnlyReversiModel model, int scale) {
+    this.model = model;
+    this.canvas = new HexBoardCanvas(model, scale);
+
+    getContentPane().setBackground(Color.DARK_GRAY);
+    setTitle(model.getType() + " Reversi");
+    setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+
+    this.canvas.addMouseListener(new MouseAdapter() {
+      @Override
+      public void mousePressed(MouseEvent e) {
+        canvas.requestFocusInWindow();
+        selectCellAt(e.getX(), e.getY());
+      }
+    });
+    this.canvas.addKeyListener(new KeyAdapter() {
+      @Override
+      public void keyPressed(KeyEvent e) {
+        if (e.getKeyCode() == KeyEvent.VK_SPACE) {
+          notifyListeners(new PlayerEvent(PlayerEventType.PASS, "", model.currentTurn()));
+          canvas.setSelectedCell(-1);
+        }
+
+        if (e.getKeyCode() == KeyEvent.VK_ENTER) {
+          moveToSelectedCell();
+        }
+      }
+    });
+    add(new JScrollPane(this.canvas));
+    pack();
+    setVisible(true);
+    this.canvas.requestFocusInWindow();
+  }
+
+  // selects the empty cell under a click, or clears the selection if the click is on the
+  // selected cell, an occupied cell or off the board.
+  private void selectCellAt(int px, int py) {
+    int cell = this.canvas.getCellAt(px, py);
+    if (cell < 0) {
+      this.canvas.setSelectedCell(-1);
+      return;
+    }
+    int size = this.model.getDimensions();
+    int x = MoveGenerator.unpackX(cell, size);
+    int y = MoveGenerator.unpackY(cell, size);
+    if (cell == this.canvas.getSelectedCell() || this.model.isDiscFlipped(x, y)) {
+      this.canvas.setSelectedCell(-1);
+    } else {
+      this.canvas.setSelectedCell(cell);
+    }
+  }
+
+  // sends a move to the selected cell. Enter does nothing while no cell is selected.
+  private void moveToSelectedCell() {
+    int cell = this.canvas.getSelectedCell();
+    if (cell < 0) {
+      return;
+    }
+    int size = this.model.getDimensions();
+    int x = MoveGenerator.unpackX(cell, size);
+    int y = MoveGenerator.unpackY(cell, size);
+    this.canvas.setSelectedCell(-1);
+    notifyListeners(new PlayerEvent(PlayerEventType.MOVE, x + " " + y, model.currentTurn()));
+  }
+
+  /**
+   * The addListener method adds relevant listeners.
+   */
+  @Override
+  public void addListener(PlayerListener pl) {
+    this.playerListeners.add(pl);
+  }
+
+  /**
+   * The notifyListeners method notifies relevant listeners.
+   */
+  public void notifyListeners(PlayerEvent playerEvent) {
+    for (PlayerListener pl : this.playerListeners) {
+      pl.update(playerEvent);
+    }
+  }
+
+  @Override
+  public void render() {
+    this.canvas.render();
+  }
+
+  @Override
+  public void onEvents(List<ModelEvent> modelEvents) {
+    this.canvas.onEvents(modelEvents);
+  }
+
+  @Override
+  public void showPopup(String message) {
+    JOptionPane.showMessageDialog(this, message);
+  }
+}
@@ -2,35 +2,39 @@ package view;
 
 import javax.swing.JFrame;
 import javax.swing.JButton;
-import javax.swing.ImageIcon;
 import javax.swing.JOptionPane;
+import javax.swing.SwingUtilities;
 import javax.swing.Icon;
-import java.awt.AlphaComposite;
 import java.awt.Color;
-import java.awt.Graphics2D;
-import java.awt.Image;
-import java.awt.RenderingHints;
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
-import java.awt.image.BufferedImage;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
+import controller.ModelEvent;
 import controller.PlayerListener;
 import controller.PlayerEventType;
 import controller.PlayerEvent;
-import discs.Disc;
 import discs.DiscColor;
+import model.BoardTopology;
+import model.MoveGenerator;
 import model.ReadOnlyReversiModel;
 
 /**
  * The `ReversiGUI` class represents the view component in a Reversi game.
  * It is responsible for rendering and displaying the game state to the players.
+ * Subscribed to a model's event bus, it repaints only the cells each event changed,
+ * gathering the cells changed between two turns of the Swing thread into one update.
  */
-public class ReversiGUI extends JFrame implements ReversiView {
+public class ReversiGUI extends JFrame implements InteractiveReversiView {
   private final ReadOnlyReversiModel model;
   private final JButton[][] boardButtons;
+  private final HexIconAtlas atlas = HexIconAtlas.forScale(HexIconAtlas.DEFAULT_SCALE);
+  // cells changed since the last update, guarded by itself.
+  private final BitSet dirtyCells = new BitSet();
+  private boolean updatePending;
   private int prevX = -1;
   private int prevY = -1;
 
@@ -87,22 +91,17 @@ public class ReversiGUI extends JFrame implements ReversiView {
               prevY = -1;
             }
 
-            if (icon instanceof ImageIcon) {
-              BufferedImage image = convertIconToBufferedImage((ImageIcon) icon);
-
-              int x = image.getWidth() / 2;
-              int y = image.getHeight() / 2;
-              int rgb = image.getRGB(x, y);
-              Color color = new Color(rgb, true);
+            if (icon != null) {
+              boolean highlighted = atlas.isHighlighted(icon);
 
               if (!model.isDiscFlipped(actualJ, actualI)) {
                 if (prevX == -1 && prevY == -1) {
                   prevX = actualJ;
                   prevY = actualI;
-                  button.setIcon(newHexagonIcon(Color.CYAN));
+                  button.setIcon(atlas.getIcon(DiscColor.FACEDOWN, true));
                 } else {
                   discSelectorHelper(boardButtons[prevY][prevX], prevX, prevY);
-                  button.setIcon(newHexagonIcon(Color.CYAN));
+                  button.setIcon(atlas.getIcon(DiscColor.FACEDOWN, true));
                   prevX = actualJ;
                   prevY = actualI;
                 }
@@ -114,7 +113,7 @@ public class ReversiGUI extends JFrame implements ReversiView {
                 }
               }
 
-              if (color.equals(Color.CYAN)) {
+              if (highlighted) {
                 discSelectorHelper(button, actualJ, actualI);
                 prevX = -1;
                 prevY = -1;
@@ -197,25 +196,13 @@ public class ReversiGUI extends JFrame implements ReversiView {
   }
 
   private void discSelectorHelper(JButton button, int x, int y) {
-    DiscColor originalColor = model.getDiscAt(x, y).getColor();
-    switch (originalColor) {
-      case WHITE:
-        button.setIcon(newHexagonIcon(Color.WHITE));
-        break;
-      case BLACK:
-        button.setIcon(newHexagonIcon(Color.BLACK));
-        break;
-      case FACEDOWN:
-        button.setIcon(newHexagonIcon(Color.GRAY));
-
-        break;
-      default:
-    }
+    button.setIcon(atlas.getIcon(model.getDiscAt(x, y).getColor(), false));
   }
 
   /**
    * The addListener method adds relevant listeners.
    */
+  @Override
   public void addListener(PlayerListener pl) {
     playerListeners.add(pl);
   }
@@ -231,72 +218,57 @@ public class ReversiGUI extends JFrame implements ReversiView {
 
   /**
    * The Render Method is needed for displaying the view.
+   * Icons come from the shared atlas, so only cells whose icon changed since the last
+   * render are touched.
    */
   public void render() {
-    Disc[][] board = model.getCurrentBoardState();
-    for (int i = 0; i < board.length; i++) {
-      for (int j = 0; j < board[i].length; j++) {
-        JButton button = boardButtons[i][j];
-        ImageIcon icon = null;
-        button.setOpaque(false);
-        button.setContentAreaFilled(false);
-        button.setBorderPainted(false);
-
-        button.setVisible(true);
-        if (board[i][j] != null) {
-          if (board[i][j].getColor() == DiscColor.WHITE) {
-            icon = newHexagonIcon(Color.WHITE);
-          } else if (board[i][j].getColor() == DiscColor.BLACK) {
-            icon = newHexagonIcon(Color.BLACK);
-          } else if (board[i][j].getColor() == DiscColor.FACEDOWN) {
-            icon = newHexagonIcon(Color.GRAY);
-          }
-          button.setIcon(icon);
-        }
-      }
+    int size = model.getDimensions();
+    for (int cell : BoardTopology.forSize(size).getPlayableCells()) {
+      int i = MoveGenerator.unpackY(cell, size);
+      int j = MoveGenerator.unpackX(cell, size);
+      this.renderCell(j, i);
     }
   }
 
   @Override
-  public void showPopup(String message) {
-    JOptionPane.showMessageDialog(this, message);
+  public void onEvents(List<ModelEvent> modelEvents) {
+    synchronized (this.dirtyCells) {
+      for (ModelEvent modelEvent : modelEvents) {
+        for (int i = 0; i < modelEvent.getChangedCellCount(); i++) {
+          this.dirtyCells.set(modelEvent.getChangedCell(i));
+        }
+      }
+      if (this.dirtyCells.isEmpty() || this.updatePending) {
+        return;
+      }
+      this.updatePending = true;
+    }
+    SwingUtilities.invokeLater(this::renderDirtyCells);
   }
 
-  private BufferedImage convertIconToBufferedImage(ImageIcon icon) {
-    Image image = icon.getImage();
-    BufferedImage buffImage = new BufferedImage(image.getWidth(null),
-            image.getHeight(null), BufferedImage.TYPE_INT_ARGB);
-    Graphics2D buffGraphics = buffImage.createGraphics();
-    buffGraphics.drawImage(image, 0, 0, null);
-    buffGraphics.dispose();
-    return buffImage;
+  // repaints the cells changed since the last update, on the Swing thread.
+  private void renderDirtyCells() {
+    BitSet cells;
+    synchronized (this.dirtyCells) {
+      cells = (BitSet) this.dirtyCells.clone();
+      this.dirtyCells.clear();
+      this.updatePending = false;
+    }
+    int size = model.getDimensions();
+    for (int cell = cells.nextSetBit(0); cell >= 0; cell = cells.nextSetBit(cell + 1)) {
+      this.renderCell(MoveGenerator.unpackX(cell, size), MoveGenerator.unpackY(cell, size));
+    }
   }
 
-  private ImageIcon newHexagonIcon(Color color) {
-    BufferedImage hexImage = new BufferedImage(100, 100, BufferedImage.TYPE_INT_ARGB);
-    Graphics2D g2 = hexImage.createGraphics();
-
-    g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-
-    int r = 40;
-    int[] xPoints = new int[6];
-    int[] yPoints = new int[6];
-    double startAngle = Math.PI / 6;
-    for (int i = 0; i < 6; i++) {
-      xPoints[i] = (int) (50 + r * Math.cos((i * 2 * Math.PI / 6) + startAngle));
-      yPoints[i] = (int) (50 + r * Math.sin((i * 2 * Math.PI / 6) + startAngle));
+  private void renderCell(int x, int y) {
+    Icon icon = atlas.getIcon(model.getDiscAt(x, y).getColor(), false);
+    if (boardButtons[y][x].getIcon() != icon) {
+      boardButtons[y][x].setIcon(icon);
     }
+  }
 
-    g2.setComposite(AlphaComposite.Clear);
-    g2.fillRect(0, 0, 100, 100);
-
-    g2.setComposite(AlphaComposite.Src);
-    g2.setColor(color);
-    g2.fillPolygon(xPoints, yPoints, 6);
-
-    g2.setColor(Color.BLACK);
-    g2.drawPolygon(xPoints, yPoints, 6);
-
-    return new ImageIcon(hexImage);
+  @Override
+  public void showPopup(String message) {
+    JOptionPane.showMessageDialog(this, message);
   }
 }
\ No newline at end of file
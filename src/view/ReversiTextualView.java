@@ -1,19 +1,35 @@
 package view;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
-import discs.Disc;
+import controller.ModelEvent;
+import controller.ModelEventSubscriber;
 import discs.DiscColor;
+import model.BoardView;
+import model.MoveGenerator;
 import model.ReadOnlyReversiModel;
 
 /**
  * Represents a text view for a Reversi game.
+ * Boards are written in a single pass over a BoardView, straight into the Appendable
+ * they go to, with the padding of every row worked out once per board size. The last
+ * board drawn is kept along with where each cell's character is in it. While the model's
+ * position is unchanged it is reused as is, and a view subscribed to the model's event
+ * bus rewrites just the characters of the cells each event changed.
  */
-public class ReversiTextualView implements ReversiView {
+public class ReversiTextualView implements ReversiView, ModelEventSubscriber {
+  // the spaces before and after each row of a board, per board size.
+  private static final Map<Integer, String[]> ROW_PADDING = new ConcurrentHashMap<>();
 
   private final ReadOnlyReversiModel reversiModel;
-  private Appendable appendable;
+  private final Appendable appendable;
+  private char[] frame;
+  private int[] cellOffsets;
+  private long frameKey;
 
   public ReversiTextualView(ReadOnlyReversiModel reversiModel, Appendable appendable) {
     this.reversiModel = reversiModel;
@@ -23,79 +39,115 @@ public class ReversiTextualView implements ReversiView {
 
   @Override
   public String toString() {
-    updateBoard();
-    return this.appendable.toString();
+    long key = this.reversiModel.getPositionKey();
+    if (this.frame == null || key != this.frameKey) {
+      BoardView board = this.reversiModel.getBoardView();
+      int size = board.getSize();
+      StringBuilder sb = new StringBuilder(2 * size * size);
+      this.cellOffsets = new int[size * size];
+      Arrays.fill(this.cellOffsets, -1);
+      try {
+        writeBoard(board, sb, this.cellOffsets);
+      } catch (IOException e) {
+        // a StringBuilder never throws it.
+        throw new IllegalStateException("Can't write to buffer");
+      }
+      this.frame = new char[sb.length()];
+      sb.getChars(0, sb.length(), this.frame, 0);
+      this.frameKey = key;
+    }
+    return new String(this.frame);
   }
 
-  // a method that updates a board.
-  private void updateBoard() {
-    if (!appendable.toString().isEmpty()) {
-      this.appendable = new StringBuilder();
+  @Override
+  public void onEvents(List<ModelEvent> modelEvents) {
+    if (this.frame == null) {
+      return;
     }
-    int nullCount = 0;
-    for (int i = 0; i < this.reversiModel.getDimensions(); i++) {
-      if (i != 0) {
-        this.addToStringBuilder("\n");
-      }
-      for (int j = 0; j < this.reversiModel.getDimensions(); j++) {
-        try {
-          Disc currentDisc = this.reversiModel.getDiscAt(j, i);
-          if (currentDisc.getColor() == DiscColor.BLACK) {
-            this.addToStringBuilder("X ");
-          } else if (currentDisc.getColor() == DiscColor.WHITE) {
-            this.addToStringBuilder("O ");
-          } else if (currentDisc.getColor() == DiscColor.FACEDOWN) {
-            this.addToStringBuilder("- ");
-          }
-        } catch (IllegalArgumentException iae) {
-          nullCount++;
-        }
+    // only the changed cells are read, so this doesn't snapshot the whole board.
+    int size = this.reversiModel.getDimensions();
+    for (ModelEvent modelEvent : modelEvents) {
+      for (int i = 0; i < modelEvent.getChangedCellCount(); i++) {
+        int cell = modelEvent.getChangedCell(i);
+        this.frame[this.cellOffsets[cell]] = discCharacter(this.reversiModel.getDiscAt(
+                MoveGenerator.unpackX(cell, size), MoveGenerator.unpackY(cell, size)).getColor());
       }
     }
-    String boardWithoutExtraSpace = trimOriginalSpaces();
-    this.appendable = new StringBuilder(boardWithoutExtraSpace);
-    String boardAdjusted = addNSpacesToFrontAndBack();
-    this.appendable = new StringBuilder(boardAdjusted);
+    this.frameKey = this.reversiModel.getPositionKey();
   }
 
-  // a method that adjusts a text view by adding the desired amount of
-  // spaces to the front and back
-  private String addNSpacesToFrontAndBack() {
-    StringBuilder res = new StringBuilder();
-    List<String> lines = List.of(this.appendable.toString().split("\n"));
-    for (int i = 0; i < lines.size(); i++) {
-      int spacesToAdd = Math.abs((this.reversiModel.getDimensions() / 2) - i);
-      String spaces = createNSpaces(spacesToAdd);
-      String stringWithSpacesBeginning = spaces.concat(lines.get(i)).replace("\n", "");
-      String stringWithSpacesAtEnd = stringWithSpacesBeginning.concat(spaces);
-      stringWithSpacesAtEnd += "\n";
-      res.append(stringWithSpacesAtEnd);
+  /**
+   * Writes the current board to the end of the view's appendable, so a log of boards
+   * can be built without making a String of each.
+   *
+   * @throws IllegalStateException if the appendable can't be written to
+   */
+  public void writeBoard() {
+    try {
+      writeBoard(this.reversiModel.getBoardView(), this.appendable);
+    } catch (IOException e) {
+      throw new IllegalStateException("Can't write to buffer");
     }
-    return res.toString();
   }
 
-  // helper that creates a string of n spaces.
-  private String createNSpaces(int spacesToAdd) {
-    return " ".repeat(Math.max(0, spacesToAdd));
+  /**
+   * Writes a board as text, a line per row, in one pass. Each row is padded with spaces
+   * on both sides so the hexagon's rows line up, and its cells are X for black, O for
+   * white and - for an empty cell, separated by single spaces.
+   *
+   * @param board the board to write
+   * @param out   where to write it
+   * @throws IOException if out can't be written to
+   */
+  public static void writeBoard(BoardView board, Appendable out) throws IOException {
+    writeBoard(board, out, null);
   }
 
-  // a helper that trims spaces from the end of an unadjusted text view
-  private String trimOriginalSpaces() {
-    StringBuilder res = new StringBuilder();
-    String[] lines = this.appendable.toString().split("\n");
-    for (String l : lines) {
-      res.append(l.trim()).append("\n");
+  // writes a board and, if offsets isn't null, where each cell's character went.
+  private static void writeBoard(BoardView board, Appendable out, int[] offsets)
+          throws IOException {
+    int size = board.getSize();
+    String[] padding = ROW_PADDING.computeIfAbsent(size, ReversiTextualView::rowPadding);
+    int position = 0;
+    for (int y = 0; y < size; y++) {
+      out.append(padding[y]);
+      position += padding[y].length();
+      boolean first = true;
+      for (int x = 0; x < size; x++) {
+        if (board.isPlayable(x, y)) {
+          if (!first) {
+            out.append(' ');
+            position++;
+          }
+          first = false;
+          if (offsets != null) {
+            offsets[MoveGenerator.pack(x, y, size)] = position;
+          }
+          out.append(discCharacter(board.getColorAt(x, y)));
+          position++;
+        }
+      }
+      out.append(padding[y]).append('\n');
+      position += padding[y].length() + 1;
     }
-    return res.toString();
   }
 
-  // a method that appends text to an appendable.
-  private void addToStringBuilder(String text) {
-    try {
-      this.appendable.append(text);
-    } catch (IOException e) {
-      throw new IllegalStateException("Can't write to buffer");
+  // the rows are padded by their distance from the middle row.
+  private static String[] rowPadding(int size) {
+    String[] padding = new String[size];
+    for (int y = 0; y < size; y++) {
+      padding[y] = " ".repeat(Math.abs(size / 2 - y));
+    }
+    return padding;
+  }
+
+  private static char discCharacter(DiscColor color) {
+    if (color == DiscColor.BLACK) {
+      return 'X';
+    } else if (color == DiscColor.WHITE) {
+      return 'O';
     }
+    return '-';
   }
 
   @Override
@@ -107,4 +159,4 @@ public class ReversiTextualView implements ReversiView {
   public void showPopup(String message) {
     // only neccesary for a ReversiGUI
   }
-}
\ No newline at end of file
+}
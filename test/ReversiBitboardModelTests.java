@@ -0,0 +1,218 @@
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+import discs.Disc;
+import discs.DiscColor;
+import model.BoardView;
+import model.GameState;
+import model.ReversiBitboardModel;
+import model.ReversiHexModel;
+import model.ReversiModel;
+import player.PlayerTurn;
+import view.ReversiTextualView;
+
+/**
+ * This class is for testing that ReversiBitboardModel plays exactly like ReversiHexModel.
+ */
+public class ReversiBitboardModelTests {
+  ReversiModel model;
+
+  @Before
+  public void initData() {
+    this.model = new ReversiBitboardModel();
+  }
+
+  @Test
+  public void testStartGameWithInvalidBoardSizes() {
+    Assert.assertThrows(IllegalStateException.class, () -> model.getDimensions());
+    Assert.assertThrows(IllegalArgumentException.class, () -> model.startGame(3));
+    Assert.assertThrows(IllegalArgumentException.class, () -> model.startGame(6));
+    model.startGame(7);
+    Assert.assertThrows(IllegalStateException.class, () -> model.startGame(7));
+  }
+
+  @Test
+  public void testStartingBoardMatchesHexModel() {
+    for (int size = 5; size <= 31; size += 2) {
+      ReversiModel bitboard = new ReversiBitboardModel();
+      ReversiModel hex = new ReversiHexModel();
+      bitboard.startGame(size);
+      hex.startGame(size);
+      assertSameBoard(hex, bitboard);
+      Assert.assertEquals(new ReversiTextualView(hex, new StringBuilder()).toString(),
+              new ReversiTextualView(bitboard, new StringBuilder()).toString());
+    }
+  }
+
+  @Test
+  public void testDiscsAreSharedFlyweights() {
+    model.startGame(7);
+    Disc[][] board = model.getCurrentBoardState();
+    Assert.assertTrue(board[0][3] == model.getDiscAt(3, 0));
+    Assert.assertTrue(board[0][3] == board[6][3]);
+    Assert.assertEquals(DiscColor.FACEDOWN, board[0][3].getColor());
+    Assert.assertEquals(null, board[0][0]);
+  }
+
+  @Test
+  public void testBoardViewsAreSharedUntilTheBoardChanges() {
+    ReversiModel hex = new ReversiHexModel();
+    hex.startGame(7);
+    model.startGame(7);
+    BoardView view = model.getBoardView();
+    Assert.assertSame(view, model.getBoardView());
+    Assert.assertEquals(model.getBoardVersion(), view.getVersion());
+    assertSameView(hex.getBoardView(), view);
+
+    hex.makeMove(5, 2);
+    model.makeMove(5, 2);
+    Assert.assertNotEquals(view.getVersion(), model.getBoardVersion());
+    // the old view still shows the board it was taken from.
+    Assert.assertEquals(DiscColor.FACEDOWN, view.getColorAt(5, 2));
+    Assert.assertEquals(DiscColor.BLACK, model.getBoardView().getColorAt(5, 2));
+    assertSameView(hex.getBoardView(), model.getBoardView());
+
+    // a pass leaves the board, and so its version, alone.
+    long version = model.getBoardVersion();
+    model.pass();
+    Assert.assertEquals(version, model.getBoardVersion());
+    model.undoMove();
+    model.undoMove();
+    hex.undoMove();
+    assertSameView(hex.getBoardView(), model.getBoardView());
+    Assert.assertFalse(view.isPlayable(0, 0));
+    Assert.assertThrows(IllegalArgumentException.class, () -> view.getColorAt(0, 0));
+  }
+
+  @Test
+  public void testMovesFlipAndScore() {
+    model.startGame(7);
+    Assert.assertEquals(3, model.getScore(PlayerTurn.PLAYER1));
+    model.makeMove(5, 2);
+    Assert.assertEquals(5, model.getScore(PlayerTurn.PLAYER1));
+    Assert.assertEquals(2, model.getScore(PlayerTurn.PLAYER2));
+    Assert.assertEquals(PlayerTurn.PLAYER2, model.currentTurn());
+    // an illegal move keeps the turn
+    model.makeMove(0, 0);
+    Assert.assertEquals(PlayerTurn.PLAYER2, model.currentTurn());
+  }
+
+  @Test
+  public void testCopyConstructorCopiesThePosition() {
+    ReversiModel hex = new ReversiHexModel();
+    hex.startGame(9);
+    hex.makeMove(4, 2);
+    hex.pass();
+    ReversiModel copy = new ReversiBitboardModel(hex);
+    Assert.assertEquals(hex.getPositionKey(), copy.getPositionKey());
+    Assert.assertArrayEquals(hex.getCurrentBoardState(), copy.getCurrentBoardState());
+    Assert.assertEquals(hex.currentTurn(), copy.currentTurn());
+    Assert.assertEquals(0, copy.getHistoryMark());
+    copy.makeMove(5, 3);
+    Assert.assertEquals(2, hex.getMoveJournal().size());
+    Assert.assertEquals(DiscColor.FACEDOWN, hex.getDiscAt(5, 3).getColor());
+  }
+
+  @Test
+  public void testTwoPassesEndTheGame() {
+    model.startGame(7);
+    model.pass();
+    Assert.assertFalse(model.isGameOver());
+    model.pass();
+    Assert.assertTrue(model.isGameOver());
+    Assert.assertEquals(GameState.STALEMATE, model.getCurrentGameState());
+  }
+
+  @Test
+  public void testRandomGamesMatchHexModel() {
+    Random random = new Random(42);
+    for (int game = 0; game < 40; game++) {
+      int size = 5 + 2 * random.nextInt(5);
+      ReversiModel bitboard = new ReversiBitboardModel();
+      ReversiModel hex = new ReversiHexModel();
+      bitboard.startGame(size);
+      hex.startGame(size);
+      for (int turn = 0; turn < 400 && !hex.isGameOver(); turn++) {
+        Assert.assertFalse(bitboard.isGameOver());
+        if (random.nextInt(20) == 0) {
+          hex.pass();
+          bitboard.pass();
+        } else {
+          int x = random.nextInt(size);
+          int y = random.nextInt(size);
+          hex.makeMove(x, y);
+          bitboard.makeMove(x, y);
+        }
+        assertSameBoard(hex, bitboard);
+      }
+      Assert.assertEquals(hex.isGameOver(), bitboard.isGameOver());
+      Assert.assertEquals(hex.getCurrentGameState(), bitboard.getCurrentGameState());
+    }
+  }
+
+  @Test
+  public void testUndoMatchesHexModel() {
+    Random random = new Random(7);
+    for (int game = 0; game < 20; game++) {
+      int size = 5 + 2 * random.nextInt(4);
+      ReversiModel bitboard = new ReversiBitboardModel();
+      ReversiModel hex = new ReversiHexModel();
+      bitboard.startGame(size);
+      hex.startGame(size);
+      for (int turn = 0; turn < 300 && !hex.isGameOver(); turn++) {
+        if (random.nextInt(4) == 0 && hex.getHistoryMark() > 0) {
+          hex.undoMove();
+          bitboard.undoMove();
+        } else if (random.nextInt(20) == 0) {
+          hex.pass();
+          bitboard.pass();
+        } else {
+          int x = random.nextInt(size);
+          int y = random.nextInt(size);
+          hex.makeMove(x, y);
+          bitboard.makeMove(x, y);
+        }
+        bitboard.isGameOver();
+        assertSameBoard(hex, bitboard);
+      }
+      hex.unmakeMove(0);
+      bitboard.unmakeMove(0);
+      assertSameBoard(hex, bitboard);
+    }
+  }
+
+  // asserts both models hold identical boards, turns and scores
+  private static void assertSameBoard(ReversiModel expected, ReversiModel actual) {
+    Assert.assertEquals(expected.currentTurn(), actual.currentTurn());
+    Assert.assertEquals(expected.getScore(PlayerTurn.PLAYER1), actual.getScore(PlayerTurn.PLAYER1));
+    Assert.assertEquals(expected.getScore(PlayerTurn.PLAYER2), actual.getScore(PlayerTurn.PLAYER2));
+    Assert.assertEquals(expected.getDiscCount(DiscColor.FACEDOWN),
+            actual.getDiscCount(DiscColor.FACEDOWN));
+    Assert.assertArrayEquals(expected.getCurrentBoardState(), actual.getCurrentBoardState());
+    Assert.assertEquals(expected.getMoveJournal().toText(), actual.getMoveJournal().toText());
+    Assert.assertEquals(expected.getPositionKey(), actual.getPositionKey());
+    int cells = expected.getDimensions() * expected.getDimensions();
+    for (PlayerTurn player : PlayerTurn.values()) {
+      int[] expectedMoves = new int[cells];
+      int[] actualMoves = new int[cells];
+      Assert.assertEquals(expected.getLegalMoves(player, expectedMoves),
+              actual.getLegalMoves(player, actualMoves));
+      Assert.assertArrayEquals(expectedMoves, actualMoves);
+    }
+  }
+
+  private static void assertSameView(BoardView expected, BoardView actual) {
+    Assert.assertEquals(expected.getSize(), actual.getSize());
+    for (int y = 0; y < expected.getSize(); y++) {
+      for (int x = 0; x < expected.getSize(); x++) {
+        Assert.assertEquals(expected.isPlayable(x, y), actual.isPlayable(x, y));
+        if (expected.isPlayable(x, y)) {
+          Assert.assertEquals(expected.getColorAt(x, y), actual.getColorAt(x, y));
+        }
+      }
+    }
+  }
+}
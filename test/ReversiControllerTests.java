@@ -1,15 +1,30 @@
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import controller.EventChannel;
+import controller.EventDelivery;
 import controller.MockReversiController;
+import controller.ModelEvent;
+import controller.ModelEventSubscriber;
 import controller.ModelEventType;
+import controller.PlayerEvent;
 import controller.PlayerEventType;
 import discs.DiscColor;
 import model.GameState;
+import model.BoardTopology;
+import model.MoveGenerator;
 import model.ReversiHexModel;
+import model.ReversiBitboardModel;
 import model.ReversiHexModelAI;
+import model.ReversiModel;
 import player.Player;
 import player.PlayerTurn;
+import server.FeedMessage;
+import server.GameServer;
+import server.LocalSocketTransport;
+import server.Match;
+import server.SpectatorFeed;
+import server.SpectatorTransport;
 import strategy.StrategyType;
 import view.MockReversiGUI;
 import controller.PlayerListener;
@@ -18,6 +33,19 @@ import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import javax.swing.JButton;
 
 /**
@@ -397,4 +425,291 @@ public class ReversiControllerTests {
     Assert.assertTrue(aiModel.isGameOver());
     Assert.assertEquals(GameState.PLAYER2WIN, aiModel.getCurrentGameState());
   }
+
+  @Test
+  public void gameServerPlaysMatchesFromSubmittedActions() throws Exception {
+    GameServer server = new GameServer();
+    Match idle = null;
+    try {
+      Match match = server.createMatch(7);
+      for (int i = 0; i < 100; i++) {
+        idle = server.createMatch(7);
+      }
+      Assert.assertEquals(101, server.getActiveMatches());
+      // not player 2's turn, and not a legal move for player 1.
+      Assert.assertFalse(server.submitAction(match.getId(), new PlayerEvent(
+              PlayerEventType.MOVE, "2 2", PlayerTurn.PLAYER2)).get(5, TimeUnit.SECONDS));
+      Assert.assertFalse(server.submitAction(match.getId(), new PlayerEvent(
+              PlayerEventType.MOVE, "3 3", PlayerTurn.PLAYER1)).get(5, TimeUnit.SECONDS));
+      Assert.assertEquals(0, match.getMoveCount());
+
+      // play the match out alongside a local model, always taking the first legal move.
+      ReversiHexModel local = new ReversiHexModel();
+      local.startGame(7);
+      int[] moves = new int[49];
+      while (!local.isGameOver()) {
+        local.getLegalMoves(local.currentTurn(), moves);
+        int x = MoveGenerator.unpackX(moves[0], 7);
+        int y = MoveGenerator.unpackY(moves[0], 7);
+        Assert.assertTrue(server.submitAction(match.getId(), new PlayerEvent(
+                PlayerEventType.MOVE, x + " " + y, local.currentTurn()))
+                .get(5, TimeUnit.SECONDS));
+        local.makeMove(x, y);
+      }
+      Assert.assertSame(match, match.getCompletion().get(5, TimeUnit.SECONDS));
+      Assert.assertEquals(local.getScore(PlayerTurn.PLAYER1), match.getScore(PlayerTurn.PLAYER1));
+      Assert.assertEquals(local.getScore(PlayerTurn.PLAYER2), match.getScore(PlayerTurn.PLAYER2));
+      Assert.assertFalse(server.submitAction(match.getId(), new PlayerEvent(
+              PlayerEventType.PASS, "", local.currentTurn())).get(5, TimeUnit.SECONDS));
+    } finally {
+      server.close();
+    }
+    // matches still waiting when the server closes end exceptionally.
+    try {
+      idle.getCompletion().get(5, TimeUnit.SECONDS);
+      Assert.fail("A match stopped by close shouldn't complete normally");
+    } catch (ExecutionException ee) {
+      Assert.assertEquals(0, idle.getMoveCount());
+    }
+  }
+
+  @Test
+  public void testListenersAreBoundedChannelsThatCanBeWaitedOn() throws Exception {
+    PlayerListener listener = new PlayerListener(4);
+    Assert.assertNull(listener.poll(10, TimeUnit.MILLISECONDS));
+    CompletableFuture<PlayerEvent> next = listener.nextEvent();
+    Assert.assertFalse(next.isDone());
+    PlayerEvent pass = new PlayerEvent(PlayerEventType.PASS, "", PlayerTurn.PLAYER1);
+    listener.update(pass);
+    // the waiting future consumes the event, but it is still the most recent one.
+    Assert.assertSame(pass, next.get(1, TimeUnit.SECONDS));
+    Assert.assertSame(pass, listener.getMostRecentEvent());
+    Assert.assertNull(listener.poll(0, TimeUnit.MILLISECONDS));
+
+    // a controller thread blocked waiting for a move wakes up when the player acts.
+    PlayerEvent[] taken = new PlayerEvent[1];
+    Thread waiter = new Thread(() -> {
+      try {
+        taken[0] = listener.takeMostRecentEvent();
+      } catch (InterruptedException ie) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    waiter.start();
+    PlayerEvent move = new PlayerEvent(PlayerEventType.MOVE, "2 2", PlayerTurn.PLAYER1);
+    listener.update(move);
+    waiter.join(1000);
+    Assert.assertSame(move, taken[0]);
+    Assert.assertNull(listener.getMostRecentEvent());
+
+    // a full channel drops its oldest events instead of growing.
+    EventChannel<Integer> channel = new EventChannel<>(3);
+    for (int i = 0; i < 10; i++) {
+      channel.publish(i);
+    }
+    Assert.assertEquals(3, channel.size());
+    Assert.assertEquals(7, channel.getDropped());
+    Assert.assertEquals(7, (int) channel.take());
+    Assert.assertEquals(9, (int) channel.getLatest());
+
+    ModelListener modelListener = new ModelListener(2);
+    Assert.assertEquals(ModelEventType.PLAYER1TURN, modelListener.take().getModelEventType());
+    modelListener.update(new ModelEvent(ModelEventType.PLAYER2TURN, "It's Your Turn Player 2"));
+    Assert.assertEquals(ModelEventType.PLAYER2TURN,
+            modelListener.nextEvent().get(1, TimeUnit.SECONDS).getModelEventType());
+    Assert.assertEquals(ModelEventType.PLAYER2TURN,
+            modelListener.getMostRecentEvent().getModelEventType());
+  }
+
+  @Test
+  public void testModelEventBusBatchesEachOperation() throws Exception {
+    model.startGame(5);
+    List<List<ModelEvent>> batches = new ArrayList<>();
+    ModelEventSubscriber recorder = batches::add;
+    model.getEventBus().subscribe(recorder);
+
+    // an illegal move reports itself and whose turn it still is in one dispatch.
+    model.makeMove(2, 2);
+    Assert.assertEquals(1, batches.size());
+    Assert.assertEquals(ModelEventType.ILLEGALMOVE, batches.get(0).get(0).getModelEventType());
+    Assert.assertEquals(ModelEventType.PLAYER1TURN, batches.get(0).get(1).getModelEventType());
+    model.pass();
+    Assert.assertEquals(2, batches.size());
+    Assert.assertEquals(1, batches.get(1).size());
+    Assert.assertTrue(model.getEventBus().unsubscribe(recorder));
+    model.pass();
+    Assert.assertEquals(2, batches.size());
+
+    // a coalescing subscriber that hasn't run yet only ever sees the newest batch.
+    List<Runnable> tasks = new ArrayList<>();
+    List<List<ModelEvent>> coalesced = new ArrayList<>();
+    model.getEventBus().subscribe(coalesced::add, EventDelivery.COALESCING, tasks::add);
+    model.pass();
+    model.makeMove(2, 2);
+    Assert.assertEquals(1, tasks.size());
+    Assert.assertTrue(coalesced.isEmpty());
+    tasks.get(0).run();
+    Assert.assertEquals(1, coalesced.size());
+    Assert.assertEquals(ModelEventType.ILLEGALMOVE,
+            coalesced.get(0).get(0).getModelEventType());
+
+    // an asynchronous subscriber gets every batch, in order, off the model's thread.
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      ModelListener listener = new ModelListener();
+      model.getEventBus().subscribe(listener, EventDelivery.ASYNCHRONOUS, executor);
+      Assert.assertEquals(ModelEventType.PLAYER1TURN, listener.take().getModelEventType());
+      model.pass();
+      model.pass();
+      Assert.assertEquals(ModelEventType.PLAYER1TURN,
+              listener.poll(1, TimeUnit.SECONDS).getModelEventType());
+      Assert.assertEquals(ModelEventType.PLAYER2TURN,
+              listener.poll(1, TimeUnit.SECONDS).getModelEventType());
+    } finally {
+      executor.shutdownNow();
+    }
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> model.getEventBus().subscribe(recorder, EventDelivery.ASYNCHRONOUS, null));
+  }
+
+  @Test
+  public void spectatorFeedRebuildsTheBoardForLateJoiners() throws Exception {
+    model.startGame(7);
+    Path socket = Files.createTempDirectory("spectators").resolve("game.sock");
+    LocalSocketTransport transport = new LocalSocketTransport(socket);
+    SpectatorFeed feed = new SpectatorFeed(model, transport, 4);
+    feed.start();
+    int[] moves = new int[49];
+    SocketChannel spectator = null;
+    try {
+      while (!model.isGameOver()) {
+        model.getLegalMoves(model.currentTurn(), moves);
+        model.makeMove(MoveGenerator.unpackX(moves[0], 7), MoveGenerator.unpackY(moves[0], 7));
+        if (spectator == null && model.getMoveJournal().size() == 6) {
+          spectator = LocalSocketTransport.connect(socket);
+          while (transport.getSpectatorCount() == 0) {
+            Thread.sleep(1);
+          }
+        }
+      }
+      Assert.assertNotNull(spectator);
+      // a late joiner starts from a snapshot and then sees every move exactly once.
+      byte[] board = new byte[49];
+      FeedMessage message = FeedMessage.read(spectator);
+      Assert.assertEquals(FeedMessage.SNAPSHOT, message.getKind());
+      message.applyTo(board);
+      int sequence = message.getSequence();
+      while (!message.isGameOver()) {
+        message = FeedMessage.read(spectator);
+        if (message.getKind() == FeedMessage.DELTA) {
+          Assert.assertEquals(sequence + 1, message.getSequence());
+        }
+        message.applyTo(board);
+        sequence = message.getSequence();
+      }
+      Assert.assertEquals(model.getMoveJournal().size(), sequence);
+      Assert.assertEquals(model.getDiscCount(DiscColor.BLACK), message.getBlackScore());
+      Assert.assertEquals(model.getDiscCount(DiscColor.WHITE), message.getWhiteScore());
+      for (int cell : BoardTopology.forSize(7).getPlayableCells()) {
+        DiscColor color = model.getDiscAt(MoveGenerator.unpackX(cell, 7),
+                MoveGenerator.unpackY(cell, 7)).getColor();
+        Assert.assertEquals(color == DiscColor.BLACK ? FeedMessage.BLACK
+                : color == DiscColor.WHITE ? FeedMessage.WHITE : FeedMessage.EMPTY, board[cell]);
+      }
+    } finally {
+      feed.close();
+      if (spectator != null) {
+        spectator.close();
+      }
+    }
+    Assert.assertFalse(Files.exists(socket));
+  }
+
+  @Test
+  public void spectatorFeedFollowsUndoneMoves() throws Exception {
+    model.startGame(7);
+    List<byte[]> frames = new ArrayList<>();
+    SpectatorFeed feed = new SpectatorFeed(model, collectFrames(frames));
+    feed.start();
+    int[] moves = new int[49];
+    int count = model.getLegalMoves(model.currentTurn(), moves);
+    model.makeMove(MoveGenerator.unpackX(moves[0], 7), MoveGenerator.unpackY(moves[0], 7));
+    model.undoMove();
+    int last = moves[count - 1];
+    model.makeMove(MoveGenerator.unpackX(last, 7), MoveGenerator.unpackY(last, 7));
+    feed.close();
+    assertSpectatorSees(frames, model, 1);
+  }
+
+  @Test
+  public void spectatorFeedTakesTheMoverFromTheModel() throws Exception {
+    // a copy of a game with white to move starts its journal on a white move.
+    model.startGame(7);
+    model.makeMove(2, 4);
+    ReversiModel copy = new ReversiBitboardModel(model);
+    List<byte[]> frames = new ArrayList<>();
+    SpectatorFeed feed = new SpectatorFeed(copy, collectFrames(frames));
+    feed.start();
+    int[] moves = new int[49];
+    copy.getLegalMoves(copy.currentTurn(), moves);
+    copy.makeMove(MoveGenerator.unpackX(moves[0], 7), MoveGenerator.unpackY(moves[0], 7));
+    feed.close();
+    assertSpectatorSees(frames, copy, 1);
+
+    // an AI game sends the human's pass and the AI's reply in one batch of events.
+    ReversiHexModelAI aiModel = new ReversiHexModelAI(StrategyType.MAXIMIZE);
+    aiModel.startGame(7);
+    List<byte[]> aiFrames = new ArrayList<>();
+    SpectatorFeed aiFeed = new SpectatorFeed(aiModel, collectFrames(aiFrames));
+    aiFeed.start();
+    aiModel.pass();
+    aiFeed.close();
+    assertSpectatorSees(aiFrames, aiModel, 2);
+  }
+
+  // a transport with one spectator that keeps every frame it is sent.
+  private static SpectatorTransport collectFrames(List<byte[]> frames) {
+    return new SpectatorTransport() {
+      @Override
+      public void open(SpectatorFeed feed) {
+        feed.join(frames::addAll);
+      }
+
+      @Override
+      public void broadcast(byte[] frame) {
+        frames.add(frame);
+      }
+
+      @Override
+      public int getSpectatorCount() {
+        return 1;
+      }
+
+      @Override
+      public void close() {
+        // nothing to release.
+      }
+    };
+  }
+
+  // rebuilds the spectator's board from every frame sent and checks it matches the model.
+  private static void assertSpectatorSees(List<byte[]> frames, ReversiModel model,
+                                          int sequence) throws IOException {
+    int size = model.getDimensions();
+    byte[] board = new byte[size * size];
+    FeedMessage message = null;
+    for (byte[] frame : frames) {
+      message = FeedMessage.read(Channels.newChannel(new ByteArrayInputStream(frame)));
+      message.applyTo(board);
+    }
+    Assert.assertEquals(sequence, message.getSequence());
+    Assert.assertEquals(model.getDiscCount(DiscColor.BLACK), message.getBlackScore());
+    Assert.assertEquals(model.getDiscCount(DiscColor.WHITE), message.getWhiteScore());
+    for (int cell : BoardTopology.forSize(size).getPlayableCells()) {
+      DiscColor color = model.getDiscAt(MoveGenerator.unpackX(cell, size),
+              MoveGenerator.unpackY(cell, size)).getColor();
+      Assert.assertEquals(color == DiscColor.BLACK ? FeedMessage.BLACK
+              : color == DiscColor.WHITE ? FeedMessage.WHITE : FeedMessage.EMPTY, board[cell]);
+    }
+  }
 }
\ No newline at end of file
@@ -0,0 +1,79 @@
+import org.junit.Assert;
+import org.junit.Test;
+
+import discs.DiscColor;
+import java.awt.Color;
+import java.awt.Point;
+import java.awt.image.BufferedImage;
+import javax.swing.Icon;
+import javax.swing.SwingUtilities;
+import model.BoardTopology;
+import model.MoveGenerator;
+import model.ReversiHexModel;
+import model.ReversiModel;
+import view.HexBoardCanvas;
+import view.HexIconAtlas;
+
+/**
+ * Test class for the drawing behind the Reversi GUIs.
+ */
+public class ReversiGUITests {
+
+  @Test
+  public void testHexIconAtlasSharesIconsPerScale() {
+    HexIconAtlas atlas = HexIconAtlas.forScale(HexIconAtlas.DEFAULT_SCALE);
+    Assert.assertSame(atlas, HexIconAtlas.forScale(HexIconAtlas.DEFAULT_SCALE));
+    Assert.assertSame(atlas.getIcon(DiscColor.BLACK, false),
+            atlas.getIcon(DiscColor.BLACK, false));
+    Assert.assertNotSame(atlas.getIcon(DiscColor.BLACK, false),
+            atlas.getIcon(DiscColor.WHITE, false));
+    // a selected cell looks the same whatever is on it.
+    Assert.assertSame(atlas.getIcon(DiscColor.FACEDOWN, true),
+            atlas.getIcon(DiscColor.BLACK, true));
+    Assert.assertTrue(atlas.isHighlighted(atlas.getIcon(DiscColor.FACEDOWN, true)));
+    Assert.assertFalse(atlas.isHighlighted(atlas.getIcon(DiscColor.FACEDOWN, false)));
+
+    HexIconAtlas small = HexIconAtlas.forScale(40);
+    Icon gray = small.getIcon(DiscColor.FACEDOWN, false);
+    Assert.assertEquals(40, gray.getIconWidth());
+    Assert.assertEquals(40, gray.getIconHeight());
+    BufferedImage image = new BufferedImage(40, 40, BufferedImage.TYPE_INT_ARGB);
+    gray.paintIcon(null, image.getGraphics(), 0, 0);
+    Assert.assertEquals(Color.GRAY.getRGB(), image.getRGB(20, 20));
+    Assert.assertEquals(0, image.getRGB(0, 0));
+    Assert.assertThrows(IllegalArgumentException.class, () -> HexIconAtlas.forScale(0));
+  }
+
+  @Test
+  public void testHexBoardCanvasFindsTheCellUnderEveryPixel() throws Exception {
+    ReversiModel model = new ReversiHexModel();
+    model.startGame(51);
+    HexBoardCanvas canvas = new HexBoardCanvas(model, 20);
+    model.getEventBus().subscribe(canvas);
+    for (int cell : BoardTopology.forSize(51).getPlayableCells()) {
+      Point center = canvas.getCellCenter(cell);
+      Assert.assertEquals(cell, canvas.getCellAt(center.x, center.y));
+      Assert.assertEquals(cell, canvas.getCellAt(center.x + 3, center.y - 3));
+    }
+    // the corners of the board's bounding box are off the board.
+    Assert.assertEquals(-1, canvas.getCellAt(0, 0));
+    Assert.assertEquals(-1, canvas.getCellAt(canvas.getPreferredSize().width - 1,
+            canvas.getPreferredSize().height - 1));
+    Assert.assertEquals(-1, canvas.getCellAt(-500, 40));
+
+    int[] moves = new int[51 * 51];
+    model.getLegalMoves(model.currentTurn(), moves);
+    int placed = moves[0];
+    Point center = canvas.getCellCenter(placed);
+    Assert.assertEquals(Color.GRAY.getRGB(), canvas.getBuffer().getRGB(center.x, center.y));
+    model.makeMove(MoveGenerator.unpackX(placed, 51), MoveGenerator.unpackY(placed, 51));
+    SwingUtilities.invokeAndWait(() -> { });
+    Assert.assertEquals(Color.BLACK.getRGB(), canvas.getBuffer().getRGB(center.x, center.y));
+
+    canvas.setSelectedCell(placed);
+    Assert.assertEquals(Color.CYAN.getRGB(), canvas.getBuffer().getRGB(center.x, center.y));
+    canvas.setSelectedCell(-1);
+    Assert.assertEquals(Color.BLACK.getRGB(), canvas.getBuffer().getRGB(center.x, center.y));
+  }
+}
+
@@ -1,19 +1,39 @@
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
 
 import discs.DiscColor;
 import model.GameState;
+import model.HexSymmetry;
 import model.MoveDirection;
 import model.MoveRules;
+import model.ReversiBitboardModel;
 import model.ReversiHexModel;
 import model.ReversiHexModelAI;
 import model.ReversiModel;
+import player.PlayerTurn;
+import strategy.AlphaBetaStrategy;
 import strategy.CornerStrategyMock;
+import strategy.EndgameSolverStrategy;
+import strategy.MaximizeCaptureStrategy;
 import strategy.MaximizeCaptureStrategyMock;
+import strategy.MonteCarloStrategy;
+import strategy.OpeningBook;
+import strategy.OpeningBookBuilder;
+import strategy.OpeningBookStrategy;
 import strategy.StrategyType;
+import strategy.TranspositionTable;
+import tournament.Entrant;
+import tournament.GameRecord;
+import tournament.Tournament;
+import tournament.TournamentResult;
 import view.ReversiGUI;
 
 /**
@@ -303,6 +323,37 @@ public class ReversiHexModelAiTests {
     Assert.assertEquals(GameState.STALEMATE, model.getCurrentGameState());
   }
 
+  @Test
+  public void undoAfterAHumanPassTakesBackTheAiReplyFirst() {
+    ReversiHexModelAI aiModel = new ReversiHexModelAI(StrategyType.MAXIMIZE);
+    aiModel.startGame(7);
+    aiModel.pass();
+    // the journal holds the human's pass, then the AI's reply
+    Assert.assertEquals(2, aiModel.getMoveJournal().size());
+    Assert.assertTrue(aiModel.getMoveJournal().isPass(0));
+    Assert.assertFalse(aiModel.getMoveJournal().isPass(1));
+    Assert.assertEquals(PlayerTurn.PLAYER1, aiModel.currentTurn());
+
+    aiModel.undoMove();
+    Assert.assertEquals(1, aiModel.getMoveJournal().size());
+    Assert.assertEquals(PlayerTurn.PLAYER2, aiModel.currentTurn());
+    Assert.assertEquals(3, aiModel.getDiscCount(DiscColor.BLACK));
+    Assert.assertEquals(3, aiModel.getDiscCount(DiscColor.WHITE));
+    aiModel.undoMove();
+    Assert.assertEquals(PlayerTurn.PLAYER1, aiModel.currentTurn());
+  }
+
+  @Test
+  public void bookAiSearchesWhenThereIsNoBookToOpen() {
+    Assert.assertFalse(Files.exists(OpeningBook.DEFAULT_FILE));
+    ReversiHexModelAI aiModel = new ReversiHexModelAI(StrategyType.BOOK);
+    aiModel.startGame(7);
+    aiModel.pass();
+    Assert.assertEquals(2, aiModel.getMoveJournal().size());
+    Assert.assertFalse(aiModel.getMoveJournal().isPass(1));
+    Assert.assertEquals(PlayerTurn.PLAYER1, aiModel.currentTurn());
+  }
+
   @Test
   public void testAvoidCornerStrategyFunctionality() {
     ReversiHexModelAI aiModel = new ReversiHexModelAI(StrategyType.AVOIDCORNER);
@@ -490,4 +541,316 @@ public class ReversiHexModelAiTests {
     Assert.assertTrue(aiModel.getDiscAt(3, 4).getColor() == DiscColor.WHITE);
     Assert.assertTrue(aiModel.getDiscAt(2, 3).getColor() == DiscColor.WHITE);
   }
+
+  @Test
+  public void alphaBetaPicksALegalMoveWithoutChangingTheGame() {
+    ReversiModel model = new ReversiHexModel();
+    model.startGame(9);
+    model.makeMove(4, 2);
+    AlphaBetaStrategy alphaBeta = new AlphaBetaStrategy(model, PlayerTurn.PLAYER2, 200);
+    List<Integer> move = alphaBeta.executeStrategy();
+    Assert.assertTrue(model.isLegalMove(PlayerTurn.PLAYER2, move.get(0), move.get(1)));
+    Assert.assertTrue(alphaBeta.getDepthReached() >= 1);
+    Assert.assertTrue(alphaBeta.getNodesSearched() > 0);
+    // the search ran on its own copy of the board
+    Assert.assertEquals(1, model.getMoveJournal().size());
+    Assert.assertEquals(PlayerTurn.PLAYER2, model.currentTurn());
+    Assert.assertEquals(5, model.getScore(PlayerTurn.PLAYER1));
+    Assert.assertEquals(StrategyType.ALPHABETA, alphaBeta.getStrategyType());
+  }
+
+  @Test
+  public void alphaBetaRejectsANonPositiveBudget() {
+    ReversiModel model = new ReversiHexModel();
+    model.startGame(7);
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> new AlphaBetaStrategy(model, PlayerTurn.PLAYER1, 0));
+  }
+
+  @Test
+  public void parallelAlphaBetaPicksALegalMove() {
+    ReversiModel model = new ReversiHexModel();
+    model.startGame(11);
+    model.makeMove(7, 4);
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> new AlphaBetaStrategy(model, PlayerTurn.PLAYER2, 100, 0));
+    AlphaBetaStrategy alphaBeta = new AlphaBetaStrategy(model, PlayerTurn.PLAYER2, 200, 4);
+    List<Integer> move = alphaBeta.executeStrategy();
+    Assert.assertTrue(model.isLegalMove(PlayerTurn.PLAYER2, move.get(0), move.get(1)));
+    Assert.assertTrue(alphaBeta.getDepthReached() >= 1);
+    Assert.assertEquals(1, model.getMoveJournal().size());
+  }
+
+  @Test
+  public void alphaBetaEndsTheGameWhenThePlayerToMoveIsStuck() {
+    // small endgames are searched to the end, so alpha-beta has to pick a move as good
+    // as a plain negamax that stops the game where the model does. Some of these lines
+    // leave one player stuck while the other can still move.
+    int checked = 0;
+    for (long seed = 1; seed <= 6; seed++) {
+      ReversiModel endgame = randomEndgame(7, 10, seed);
+      if (endgame == null) {
+        continue;
+      }
+      checked++;
+      int exact = negamax(endgame);
+      AlphaBetaStrategy alphaBeta = new AlphaBetaStrategy(endgame, endgame.currentTurn(),
+          2000);
+      List<Integer> best = alphaBeta.executeStrategy();
+      endgame.makeMove(best.get(0), best.get(1));
+      Assert.assertEquals(exact, -negamax(endgame));
+    }
+    Assert.assertTrue(checked >= 4);
+  }
+
+  @Test
+  public void monteCarloRunsItsPlayoutBudgetAndReusesItsTree() {
+    ReversiModel model = new ReversiHexModel();
+    model.startGame(7);
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> new MonteCarloStrategy(model, PlayerTurn.PLAYER1, 0, false, 1));
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> new MonteCarloStrategy(model, PlayerTurn.PLAYER1, 100, false, 0));
+    MonteCarloStrategy monteCarlo = new MonteCarloStrategy(model, PlayerTurn.PLAYER1,
+        500, false, 1, 7);
+    List<Integer> move = monteCarlo.executeStrategy();
+    Assert.assertTrue(model.isLegalMove(PlayerTurn.PLAYER1, move.get(0), move.get(1)));
+    Assert.assertEquals(500, monteCarlo.getPlayouts());
+    Assert.assertEquals(StrategyType.MCTS, monteCarlo.getStrategyType());
+    // the search ran on its own copy of the board
+    Assert.assertEquals(0, model.getMoveJournal().size());
+
+    model.makeMove(move.get(0), move.get(1));
+    int[] replies = new int[49];
+    model.getLegalMoves(PlayerTurn.PLAYER2, replies);
+    model.makeMove(replies[0] % 7, replies[0] / 7);
+    monteCarlo.executeStrategy();
+    Assert.assertEquals(500, monteCarlo.getPlayouts());
+    // the second search started from the subtree it had already grown, so it ends up
+    // with more nodes than a fresh search of the same position
+    MonteCarloStrategy fresh = new MonteCarloStrategy(model, PlayerTurn.PLAYER1,
+        500, false, 1, 7);
+    fresh.executeStrategy();
+    Assert.assertTrue(monteCarlo.getTreeNodes() > fresh.getTreeNodes());
+
+    // the same seed picks the same move
+    ReversiModel other = new ReversiHexModel();
+    other.startGame(7);
+    Assert.assertEquals(move, new MonteCarloStrategy(other, PlayerTurn.PLAYER1,
+        500, false, 1, 7).executeStrategy());
+  }
+
+  @Test
+  public void endgameSolverPlaysPerfectlyBelowItsThreshold() {
+    ReversiModel model = new ReversiHexModel();
+    model.startGame(5);
+    MaximizeCaptureStrategy maximize = new MaximizeCaptureStrategy(model, PlayerTurn.PLAYER1);
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> new EndgameSolverStrategy(model, PlayerTurn.PLAYER1, null));
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> new EndgameSolverStrategy(model, PlayerTurn.PLAYER1, maximize, 0));
+
+    // 13 cells are facedown, more than this solver takes on
+    EndgameSolverStrategy waiting = new EndgameSolverStrategy(model, PlayerTurn.PLAYER1,
+        maximize, 12);
+    Assert.assertEquals(maximize.executeStrategy(), waiting.executeStrategy());
+    Assert.assertFalse(waiting.isSolved());
+
+    EndgameSolverStrategy solver = new EndgameSolverStrategy(model, PlayerTurn.PLAYER1,
+        maximize);
+    List<Integer> move = solver.executeStrategy();
+    Assert.assertTrue(solver.isSolved());
+    Assert.assertEquals(StrategyType.ENDGAME, solver.getStrategyType());
+    Assert.assertTrue(model.isLegalMove(PlayerTurn.PLAYER1, move.get(0), move.get(1)));
+    Assert.assertEquals(0, model.getMoveJournal().size());
+    int differential = solver.getDifferential();
+
+    // the best reply to the solver's move leaves it exactly what it predicted
+    model.makeMove(move.get(0), move.get(1));
+    EndgameSolverStrategy opponent = new EndgameSolverStrategy(model, PlayerTurn.PLAYER2,
+        maximize);
+    Assert.assertEquals(-differential, opponent.solve());
+    model.undoMove();
+    // no other first move does better
+    int[] moves = new int[25];
+    int count = model.getLegalMoves(PlayerTurn.PLAYER1, moves);
+    for (int i = 0; i < count; i++) {
+      model.makeMove(moves[i] % 5, moves[i] / 5);
+      Assert.assertTrue(-opponent.solve() <= differential);
+      model.undoMove();
+    }
+
+    // small endgames of random games, checked against a plain negamax over every line
+    int checked = 0;
+    for (long seed = 1; seed <= 6; seed++) {
+      ReversiModel endgame = randomEndgame(5, 8, seed);
+      if (endgame == null) {
+        continue;
+      }
+      checked++;
+      int exact = negamax(endgame);
+      EndgameSolverStrategy endgameSolver = new EndgameSolverStrategy(endgame,
+          endgame.currentTurn(), new MaximizeCaptureStrategy(endgame, endgame.currentTurn()));
+      Assert.assertEquals(exact, endgameSolver.solve());
+      List<Integer> best = endgameSolver.executeStrategy();
+      Assert.assertEquals(exact, endgameSolver.getDifferential());
+      endgame.makeMove(best.get(0), best.get(1));
+      Assert.assertEquals(exact, -negamax(endgame));
+    }
+    Assert.assertTrue(checked >= 4);
+  }
+
+  // plays random legal moves, passing when only the opponent can move, until at most
+  // empties cells are facedown. Returns null if neither player can move first.
+  private static ReversiModel randomEndgame(int size, int empties, long seed) {
+    Random random = new Random(seed);
+    ReversiModel model = new ReversiBitboardModel();
+    model.startGame(size);
+    int[] moves = new int[size * size];
+    while (model.getDiscCount(DiscColor.FACEDOWN) > empties) {
+      int count = model.getLegalMoves(model.currentTurn(), moves);
+      if (count == 0) {
+        if (model.getLegalMoves(model.getOpponent(model.currentTurn()), moves) == 0) {
+          return null;
+        }
+        model.pass();
+        continue;
+      }
+      int cell = moves[random.nextInt(count)];
+      model.makeMove(cell % size, cell / size);
+    }
+    return model.getLegalMoves(model.currentTurn(), moves) == 0 ? null : model;
+  }
+
+  // the final disc differential for the player to move under perfect play, by trying
+  // every line. The game ends when the player to move has no legal move.
+  private static int negamax(ReversiModel model) {
+    int size = model.getDimensions();
+    PlayerTurn mover = model.currentTurn();
+    int[] moves = new int[size * size];
+    int count = model.getLegalMoves(mover, moves);
+    if (count == 0) {
+      return model.getScore(mover) - model.getScore(model.getOpponent(mover));
+    }
+    int best = -Integer.MAX_VALUE;
+    for (int i = 0; i < count; i++) {
+      model.makeMove(moves[i] % size, moves[i] / size);
+      best = Math.max(best, -negamax(model));
+      model.undoMove();
+    }
+    return best;
+  }
+
+  @Test
+  public void openingBookPlaysRecordedMovesInEveryImage() throws IOException {
+    ReversiModel model = new ReversiHexModel();
+    model.startGame(7);
+    model.makeMove(2, 2);
+    OpeningBookBuilder builder = new OpeningBookBuilder(7);
+    builder.record(model, 1, 2);
+    builder.selfPlay(MaximizeCaptureStrategy::new, 20, 4, 0.5, 11);
+    Path file = Files.createTempFile("opening", ".book");
+    try {
+      builder.write(file);
+      OpeningBook book = OpeningBook.open(file);
+      Assert.assertEquals(7, book.getSize());
+      Assert.assertEquals(builder.getPositionCount(), book.getEntryCount());
+      Assert.assertEquals(16 + 12 * book.getEntryCount(), Files.size(file));
+      Assert.assertEquals(15, book.lookup(model));
+
+      // a 120 degree turn keeps the starting discs in place, so the turned first move
+      // reaches an image of the recorded position
+      HexSymmetry symmetry = HexSymmetry.forSize(7);
+      ReversiModel turned = new ReversiHexModel();
+      turned.startGame(7);
+      int first = symmetry.transformCell(2, 16);
+      turned.makeMove(first % 7, first / 7);
+      Assert.assertEquals(symmetry.transformCell(2, 15), book.lookup(turned));
+
+      OpeningBookStrategy strategy = new OpeningBookStrategy(turned, PlayerTurn.PLAYER2,
+          book, new MaximizeCaptureStrategy(turned, PlayerTurn.PLAYER2));
+      Assert.assertEquals(Arrays.asList(symmetry.transformCell(2, 15) % 7,
+          symmetry.transformCell(2, 15) / 7), strategy.executeStrategy());
+      Assert.assertTrue(strategy.isFromBook());
+
+      ReversiModel other = new ReversiHexModel();
+      other.startGame(9);
+      Assert.assertEquals(-1, book.lookup(other));
+      Files.write(file, new byte[]{1, 2, 3});
+      Assert.assertThrows(IOException.class, () -> OpeningBook.open(file));
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test
+  public void tournamentPlaysEveryPairingWithBothColors() throws Exception {
+    List<Entrant> entrants = Arrays.asList(Entrant.parse("maximize"),
+        Entrant.parse("goforcorner"), Entrant.parse("alphabeta:5"));
+    Assert.assertThrows(IllegalArgumentException.class, () -> Entrant.parse("greedy"));
+    Assert.assertThrows(IllegalArgumentException.class, () -> Entrant.parse("mcts:0"));
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> new Tournament(entrants.subList(0, 1), Arrays.asList(5), 1, 0, 1));
+
+    TournamentResult result = new Tournament(entrants, Arrays.asList(5, 7), 2, 1, 2).run();
+    // 3 pairings, 2 sizes, 2 seeds and 2 colors
+    Assert.assertEquals(24, result.getGames().size());
+    for (int i = 0; i < 3; i++) {
+      for (int j = 0; j < 3; j++) {
+        if (i != j) {
+          Assert.assertEquals(8, result.getWins(i, j) + result.getLosses(i, j)
+              + result.getDraws(i, j));
+          Assert.assertEquals(result.getWins(i, j), result.getLosses(j, i));
+        }
+      }
+      Assert.assertEquals(0, result.getForfeits(i));
+      Assert.assertTrue(result.getLatencyPercentile(i, 50)
+          <= result.getLatencyPercentile(i, 99));
+    }
+    StringBuilder standings = new StringBuilder();
+    result.writeStandingsCsv(standings);
+    Assert.assertEquals(4, standings.toString().split("\n").length);
+    Assert.assertTrue(standings.toString().startsWith("entrant,games,wins,losses,draws"));
+    StringBuilder json = new StringBuilder();
+    result.writeJson(json);
+    Assert.assertTrue(json.toString().startsWith("{\"games\":24,\"entrants\":[{\"name\""));
+  }
+
+  @Test
+  public void tournamentRatingsFollowResults() {
+    long[] noMoves = new long[0];
+    List<GameRecord> games = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      games.add(new GameRecord(5, i, 0, 1, 10, 5, GameRecord.NO_FORFEIT, noMoves, noMoves));
+    }
+    games.add(new GameRecord(5, 3, 1, 0, 10, 5, GameRecord.BLACK, noMoves, noMoves));
+    TournamentResult result = new TournamentResult(Arrays.asList("strong", "weak"), games);
+    Assert.assertEquals(4, result.getWins(0, 1));
+    Assert.assertEquals(1, result.getForfeits(1));
+    // winning every game still gives a finite rating, mirrored around the anchor
+    Assert.assertTrue(result.getRating(0) > 1500 && result.getRating(0) < 2500);
+    Assert.assertEquals(3000, result.getRating(0) + result.getRating(1), 0.01);
+    Assert.assertEquals(0, result.getLatencyPercentile(0, 50));
+  }
+
+  @Test
+  public void transpositionTableKeepsDeeperEntries() {
+    TranspositionTable table = new TranspositionTable(1024);
+    Assert.assertEquals(TranspositionTable.MISS, table.probe(42L));
+    table.store(42L, 5, TranspositionTable.LOWER, -17, 30);
+    long entry = table.probe(42L);
+    Assert.assertEquals(5, TranspositionTable.depthOf(entry));
+    Assert.assertEquals(TranspositionTable.LOWER, TranspositionTable.boundOf(entry));
+    Assert.assertEquals(-17, TranspositionTable.scoreOf(entry));
+    Assert.assertEquals(30, TranspositionTable.moveOf(entry));
+    // a shallower search of the same position doesn't replace it
+    table.store(42L, 3, TranspositionTable.EXACT, 8, -1);
+    Assert.assertEquals(-17, TranspositionTable.scoreOf(table.probe(42L)));
+    // another position in the same slot does, and the first one is then a miss
+    table.store(42L + 1024, 1, TranspositionTable.EXACT, 8, -1);
+    Assert.assertEquals(TranspositionTable.MISS, table.probe(42L));
+    Assert.assertEquals(-1, TranspositionTable.moveOf(table.probe(42L + 1024)));
+    table.clear();
+    Assert.assertEquals(TranspositionTable.MISS, table.probe(42L + 1024));
+  }
 }
\ No newline at end of file
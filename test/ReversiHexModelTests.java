@@ -2,11 +2,23 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
 import discs.Disc;
 import discs.DiscColor;
 import discs.DiscType;
 import discs.GameDisc;
+import model.BoardTopology;
+import model.CanonicalPosition;
 import model.GameState;
+import model.HexSymmetry;
+import model.MoveGenerator;
+import model.MoveJournal;
 import model.ReversiHexModel;
 import model.ReversiModel;
 import player.PlayerTurn;
@@ -230,6 +242,22 @@ public class ReversiHexModelTests {
     Assert.assertEquals(GameState.STALEMATE, model.getCurrentGameState());
   }
 
+  @Test
+  public void testMockBoardWithEmptyCellsHasLegalMoves() {
+    Disc[][] mockBoard = new Disc[5][5];
+    mockBoard[2][1] = new GameDisc(DiscType.HEXDISC, DiscColor.BLACK);
+    mockBoard[2][2] = new GameDisc(DiscType.HEXDISC, DiscColor.WHITE);
+    mockBoard[2][3] = new GameDisc(DiscType.HEXDISC, DiscColor.FACEDOWN);
+    mockBoard[2][4] = new GameDisc(DiscType.HEXDISC, DiscColor.FACEDOWN);
+    ReversiModel model = new ReversiHexModel(mockBoard);
+    Assert.assertTrue(model.isLegalMove(PlayerTurn.PLAYER1, 3, 2));
+    Assert.assertFalse(model.isLegalMove(PlayerTurn.PLAYER1, 4, 2));
+    model.makeMove(3, 2);
+    Assert.assertEquals(DiscColor.BLACK, model.getDiscAt(2, 2).getColor());
+    Assert.assertEquals(DiscColor.BLACK, model.getDiscAt(3, 2).getColor());
+    Assert.assertEquals(DiscColor.FACEDOWN, model.getDiscAt(4, 2).getColor());
+  }
+
   // Tests that no disc is unintentionally captured when making a move.
   // Tests this by making a move and then checking that all discs
   // that should not be captured are unaffected.
@@ -387,4 +415,216 @@ public class ReversiHexModelTests {
 
     Assert.assertEquals(36 + 2, 499 - 461);
   }
+
+  // Tests that the legal moves the model keeps up to date after every move
+  // always match a full search of the board.
+  @Test
+  public void testLegalMovesMatchFullSearch() {
+    Random random = new Random(11);
+    for (int game = 0; game < 20; game++) {
+      int size = 5 + 2 * random.nextInt(4);
+      ReversiModel model = new ReversiHexModel();
+      model.startGame(size);
+      for (int turn = 0; turn < 300 && !model.isGameOver(); turn++) {
+        for (PlayerTurn player : PlayerTurn.values()) {
+          for (int x = 0; x < size; x++) {
+            for (int y = 0; y < size; y++) {
+              boolean expected = model.checkValidCoordinates(x, y)
+                      && !model.isDiscFlipped(x, y)
+                      && MoveGenerator.isLegal(model, x, y, model.getPlayerColor(player));
+              Assert.assertEquals(expected, model.isLegalMove(player, x, y));
+            }
+          }
+        }
+        Assert.assertEquals(model.getLegalMoves(model.currentTurn(), new int[size * size]) > 0,
+                model.doesPlayerHaveLegalMove());
+        model.makeMove(random.nextInt(size), random.nextInt(size));
+      }
+    }
+  }
+
+  // Tests that the disc counts the model keeps always match the board.
+  @Test
+  public void testDiscCountsMatchBoard() {
+    Random random = new Random(5);
+    model.startGame(9);
+    for (int turn = 0; turn < 300 && !model.isGameOver(); turn++) {
+      int[] counts = new int[DiscColor.values().length];
+      for (Disc[] row : model.getCurrentBoardState()) {
+        for (Disc disc : row) {
+          if (disc != null) {
+            counts[disc.getColor().ordinal()]++;
+          }
+        }
+      }
+      for (DiscColor color : DiscColor.values()) {
+        Assert.assertEquals(counts[color.ordinal()], model.getDiscCount(color));
+      }
+      Assert.assertEquals(counts[DiscColor.BLACK.ordinal()], model.getScore(player1));
+      Assert.assertEquals(counts[DiscColor.WHITE.ordinal()], model.getScore(player2));
+      model.makeMove(random.nextInt(9), random.nextInt(9));
+    }
+  }
+
+  @Test
+  public void testMoveJournalRecordsMovesAndPasses() {
+    model.startGame(7);
+    MoveJournal journal = model.getMoveJournal();
+    Assert.assertEquals(0, journal.size());
+    model.makeMove(5, 2);
+    model.pass();
+    Assert.assertEquals(2, journal.size());
+    Assert.assertEquals(MoveGenerator.pack(5, 2, 7), journal.getMoveCell(0));
+    Assert.assertEquals(1, journal.getFlipCount(0));
+    int[] flips = new int[49];
+    Assert.assertEquals(1, journal.getFlips(0, flips));
+    Assert.assertEquals(DiscColor.BLACK, model.getDiscAt(MoveGenerator.unpackX(flips[0], 7),
+            MoveGenerator.unpackY(flips[0], 7)).getColor());
+    Assert.assertTrue(journal.isPass(1));
+    Assert.assertFalse(journal.lastEntriesArePasses(2));
+    String nl = System.lineSeparator();
+    Assert.assertEquals("5 2 " + nl + MoveGenerator.unpackX(flips[0], 7) + " "
+            + MoveGenerator.unpackY(flips[0], 7) + " " + nl + "pass" + nl, journal.toText());
+    model.pass();
+    Assert.assertTrue(journal.lastEntriesArePasses(2));
+    Assert.assertThrows(IndexOutOfBoundsException.class, () -> journal.getMoveCell(3));
+  }
+
+  @Test
+  public void testUnmakeMoveRestoresEveryPosition() {
+    Random random = new Random(11);
+    model.startGame(9);
+    Assert.assertThrows(IllegalStateException.class, () -> model.undoMove());
+    List<String> boards = new ArrayList<>();
+    List<PlayerTurn> turns = new ArrayList<>();
+    for (int turn = 0; turn < 300 && !model.isGameOver(); turn++) {
+      if (model.getHistoryMark() == boards.size()) {
+        boards.add(new ReversiTextualView(model, new StringBuilder()).toString());
+        turns.add(model.currentTurn());
+      }
+      if (random.nextInt(30) == 0) {
+        model.pass();
+      } else {
+        model.makeMove(random.nextInt(9), random.nextInt(9));
+      }
+    }
+    Assert.assertThrows(IllegalArgumentException.class,
+            () -> model.unmakeMove(model.getHistoryMark() + 1));
+    for (int mark = boards.size() - 1; mark >= 0; mark--) {
+      model.unmakeMove(mark);
+      Assert.assertEquals(mark, model.getHistoryMark());
+      Assert.assertEquals(boards.get(mark),
+              new ReversiTextualView(model, new StringBuilder()).toString());
+      Assert.assertEquals(turns.get(mark), model.currentTurn());
+      Assert.assertEquals(GameState.ONGOING, model.getCurrentGameState());
+    }
+    ReversiModel fresh = new ReversiHexModel();
+    fresh.startGame(9);
+    int[] expected = new int[81];
+    int[] actual = new int[81];
+    for (PlayerTurn player : PlayerTurn.values()) {
+      Assert.assertEquals(fresh.getLegalMoves(player, expected),
+              model.getLegalMoves(player, actual));
+      Assert.assertArrayEquals(expected, actual);
+    }
+    Assert.assertEquals(fresh.getScore(player1), model.getScore(player1));
+    Assert.assertEquals(fresh.getScore(player2), model.getScore(player2));
+  }
+
+  @Test
+  public void testPositionKeyFollowsBoardAndTurn() {
+    Assert.assertThrows(IllegalStateException.class, () -> model.getPositionKey());
+    model.startGame(7);
+    long start = model.getPositionKey();
+    model.pass();
+    Assert.assertNotEquals(start, model.getPositionKey());
+    model.pass();
+    // same discs and same player to move again
+    Assert.assertEquals(start, model.getPositionKey());
+    model.makeMove(5, 2);
+    long afterMove = model.getPositionKey();
+    Assert.assertNotEquals(start, afterMove);
+    model.undoMove();
+    Assert.assertEquals(start, model.getPositionKey());
+
+    Random random = new Random(5);
+    Map<String, Long> keys = new HashMap<>();
+    for (int turn = 0; turn < 300 && !model.isGameOver(); turn++) {
+      if (random.nextInt(3) == 0 && model.getHistoryMark() > 0) {
+        model.undoMove();
+      } else {
+        model.makeMove(random.nextInt(7), random.nextInt(7));
+      }
+      String position = new ReversiTextualView(model, new StringBuilder()).toString()
+              + model.currentTurn();
+      Long key = keys.putIfAbsent(position, model.getPositionKey());
+      if (key != null) {
+        Assert.assertEquals(key.longValue(), model.getPositionKey());
+      }
+    }
+  }
+
+  @Test
+  public void testSymmetriesMapTheBoardOntoItself() {
+    for (int size : new int[]{5, 7, 11}) {
+      BoardTopology topology = BoardTopology.forSize(size);
+      HexSymmetry symmetry = HexSymmetry.forSize(size);
+      for (int transform = 0; transform < HexSymmetry.TRANSFORMS; transform++) {
+        for (int cell : topology.getPlayableCells()) {
+          int image = symmetry.transformCell(transform, cell);
+          Assert.assertTrue(topology.isPlayable(image));
+          Assert.assertEquals(cell, symmetry.inverseCell(transform, image));
+        }
+      }
+    }
+    model.startGame(7);
+    HexSymmetry symmetry = HexSymmetry.forSize(7);
+    Assert.assertEquals(model.getPositionKey(), symmetry.getKey(model, 0));
+    // a 120 degree turn keeps the starting discs where they are
+    Assert.assertEquals(model.getPositionKey(), symmetry.getKey(model, 2));
+    Assert.assertNotEquals(model.getPositionKey(), symmetry.getKey(model, 1));
+
+    // playing the image of every move plays the image of the game
+    ReversiModel image = new ReversiHexModel();
+    image.startGame(7);
+    Random random = new Random(3);
+    int[] moves = new int[49];
+    for (int turn = 0; turn < 12 && !model.isGameOver(); turn++) {
+      int count = model.getLegalMoves(model.currentTurn(), moves);
+      int cell = moves[random.nextInt(count)];
+      int imageCell = symmetry.transformCell(2, cell);
+      Assert.assertTrue(image.isLegalMove(image.currentTurn(),
+              MoveGenerator.unpackX(imageCell, 7), MoveGenerator.unpackY(imageCell, 7)));
+      model.makeMove(MoveGenerator.unpackX(cell, 7), MoveGenerator.unpackY(cell, 7));
+      image.makeMove(MoveGenerator.unpackX(imageCell, 7), MoveGenerator.unpackY(imageCell, 7));
+      Assert.assertEquals(symmetry.getKey(model, 2), image.getPositionKey());
+      Assert.assertEquals(symmetry.getCanonicalKey(model), symmetry.getCanonicalKey(image));
+      CanonicalPosition canonical = symmetry.canonicalize(model);
+      Assert.assertEquals(symmetry.getCanonicalKey(model), canonical.getKey());
+      Assert.assertEquals(canonical.getKey(), symmetry.getKey(model, canonical.getTransform()));
+    }
+  }
+
+  @Test
+  public void testSymmetryTransformsComposeAndInvert() {
+    HexSymmetry symmetry = HexSymmetry.forSize(7);
+    int[] cells = BoardTopology.forSize(7).getPlayableCells();
+    for (int first = 0; first < HexSymmetry.TRANSFORMS; first++) {
+      for (int second = 0; second < HexSymmetry.TRANSFORMS; second++) {
+        int both = HexSymmetry.compose(first, second);
+        for (int cell : cells) {
+          Assert.assertEquals(symmetry.transformCell(second, symmetry.transformCell(first, cell)),
+                  symmetry.transformCell(both, cell));
+        }
+      }
+      Assert.assertEquals(0, HexSymmetry.compose(first, HexSymmetry.invert(first)));
+    }
+    // a 60 degree turn moves the cell right of the center to its lower right
+    Assert.assertEquals(Arrays.asList(4, 4), symmetry.transformCoordinate(1, 4, 3));
+    Assert.assertEquals(Arrays.asList(4, 3), symmetry.inverseCoordinate(1, 4, 4));
+    // every symmetry keeps the center in place
+    Assert.assertEquals(Arrays.asList(3, 3), symmetry.transformCoordinate(7, 3, 3));
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> symmetry.transformCoordinate(1, 0, 0));
+  }
 }
\ No newline at end of file
@@ -2,6 +2,9 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import controller.ModelEvent;
+import controller.ModelListener;
+import java.io.IOException;
 import model.ReversiHexModel;
 import model.ReversiModel;
 import view.ReversiTextualView;
@@ -155,6 +158,50 @@ public class ReversiTextualViewTests {
             "            - - - - - - - - - - - - -            \n", textualView.toString());
     textualView.render();
   }
+
+  @Test
+  public void testViewRedrawsOnlyTheCellsEachEventChanged() {
+    model.startGame(7);
+    ModelListener listener = new ModelListener();
+    model.getEventBus().subscribe(listener);
+    model.getEventBus().subscribe(textualView);
+    String start = textualView.toString();
+
+    model.makeMove(2, 2);
+    ModelEvent move = listener.getMostRecentEvent();
+    Assert.assertEquals(2, move.getChangedCellCount());
+    Assert.assertEquals(2 * 7 + 2, move.getChangedCell(0));
+    Assert.assertEquals(3 * 7 + 2, move.getChangedCell(1));
+    model.makeMove(5, 2);
+    Assert.assertEquals(new ReversiTextualView(model, new StringBuilder()).toString(),
+            textualView.toString());
+
+    model.undoMove();
+    ModelEvent undo = listener.getMostRecentEvent();
+    Assert.assertEquals(2, undo.getChangedCellCount());
+    Assert.assertEquals(2 * 7 + 5, undo.getChangedCell(0));
+    model.undoMove();
+    Assert.assertEquals(start, textualView.toString());
+  }
+
+  @Test
+  public void testWriteBoardAppendsEachBoardToTheAppendable() throws IOException {
+    model.startGame(7);
+    String start = textualView.toString();
+    textualView.writeBoard();
+    Assert.assertEquals(start, sb.toString());
+    model.makeMove(2, 2);
+    textualView.writeBoard();
+    Assert.assertEquals(start + textualView.toString(), sb.toString());
+
+    ReversiModel big = new ReversiHexModel();
+    big.startGame(51);
+    StringBuilder out = new StringBuilder();
+    ReversiTextualView.writeBoard(big.getBoardView(), out);
+    Assert.assertEquals(new ReversiTextualView(big, new StringBuilder()).toString(),
+            out.toString());
+    Assert.assertEquals(51 * (2 * 51), out.length());
+  }
 }
 
 